@@ -19,8 +19,8 @@ class LoanService {
         return await client.post<Loan>(`/loan/repay`, { amount });
     }
 
-    async getLoanAnalytics(): Promise<ApiResponse<LoanAnalytics>> {
-        return await client.get<LoanAnalytics>(API_ENDPOINTS.LOAN.ANALYTICS);
+    async getLoanAnalytics(includeBreakdown = false): Promise<ApiResponse<LoanAnalytics>> {
+        return await client.get<LoanAnalytics>(API_ENDPOINTS.LOAN.ANALYTICS, { includeBreakdown });
     }
 
     async getLoanProducts(): Promise<ApiResponse<LoanProduct[]>> {
@@ -100,7 +100,7 @@ export default function AdminDashboard() {
                     {projects.map((p, i) => (
                         <View key={p.name} className="mb-2">
                             <Text className="font-semibold text-gray-700">{p.name}</Text>
-                            <Text className="text-xs text-gray-500 mb-1">{p.user.firstName}</Text>
+                            <Text className="text-xs text-gray-500 mb-1">{p.userFirstName}</Text>
                             <View className="w-full h-2 bg-gray-200 rounded-full overflow-hidden">
                                 {/* <View className={`h-2  rounded-full`} style={{ width: `${p.goals.}%` }} /> */}
                             </View>
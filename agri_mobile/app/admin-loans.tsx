@@ -2,7 +2,7 @@ import { useAdmin } from '@/contexts/AdminContext';
 import { Loan } from '@/types';
 import { MaterialIcons } from '@expo/vector-icons';
 import { useRouter } from 'expo-router';
-import { useState } from 'react';
+import { useEffect, useState } from 'react';
 import { Platform, ScrollView, Text, TextInput, TouchableOpacity, View } from 'react-native';
 
 
@@ -136,7 +136,7 @@ function LoanTable({ loans, page, rowsPerPage, setPage, setRowsPerPage }: LoanTa
 
 
 export default function AdminLoans() {
-    const { loans } = useAdmin();
+    const { loans, hasMoreLoans, loadMoreLoans } = useAdmin();
     const [search, setSearch] = useState('');
     const [filter, setFilter] = useState('All');
     const [page, setPage] = useState(1);
@@ -166,6 +166,11 @@ export default function AdminLoans() {
         return matchesSearch && matchesStatus;
     });
 
+    // Loans arrive a server page at a time; fetch the next one once the table reaches the last loaded rows
+    useEffect(() => {
+        if (hasMoreLoans && page * rowsPerPage >= filteredLoans.length) loadMoreLoans();
+    }, [page, rowsPerPage, filteredLoans.length, hasMoreLoans]);
+
     return (
         <View className="flex-1 bg-gray-50">
             <View className="px-4 pt-8 pb-2 flex-row items-center justify-between">
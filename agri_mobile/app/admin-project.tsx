@@ -3,7 +3,7 @@ import { AdminProject } from '@/types';
 import { ProjectStatus } from '@/types/project';
 import { MaterialIcons } from '@expo/vector-icons';
 import { useRouter } from 'expo-router';
-import { useMemo, useState } from 'react';
+import { useEffect, useMemo, useState } from 'react';
 import { Modal, Platform, ScrollView, Text, TextInput, TouchableOpacity, TouchableWithoutFeedback, View } from 'react-native';
 
 const statusColors = {
@@ -15,7 +15,7 @@ const filters = ['All', 'IN_PROGRESS', 'COMPLETED', 'NOT_STARTED'];
 const statusOptions = ['IN_PROGRESS', 'COMPLETED', 'NOT_STARTED'];
 
 export default function AdminProjectScreen() {
-    const { projects } = useAdmin();
+    const { projects, hasMoreProjects, loadMoreProjects } = useAdmin();
     const [search, setSearch] = useState('');
     const [filter, setFilter] = useState('All');
     const [page, setPage] = useState(1);
@@ -31,7 +31,7 @@ export default function AdminProjectScreen() {
     const summary = useMemo(() => {
         const total = projects.length;
         const completed = projects.filter(p => p.status === 'COMPLETED').length;
-        const goals = projects.reduce((sum, p) => sum + (p.goals?.length || 0), 0);
+        const goals = projects.reduce((sum, p) => sum + p.totalGoals, 0);
         const progress = total ? Math.round(projects.reduce((sum, p) => sum + (p.progress || 0), 0) / total) : 0;
         return [
             { label: 'Projects', value: total, sub: `${completed} Completed`, icon: <MaterialIcons name="check-circle" size={16} color="#22c55e" /> },
@@ -43,7 +43,7 @@ export default function AdminProjectScreen() {
     // Filtering
     const filteredProjects = useMemo(() => {
         return projects.filter(p => {
-            const ownerName = p.user ? `${p.user.firstName} ${p.user.lastName}` : '';
+            const ownerName = `${p.userFirstName} ${p.userLastName}`;
             const matchesSearch = p.name.toLowerCase().includes(search.toLowerCase()) || ownerName.toLowerCase().includes(search.toLowerCase());
             const matchesFilter = filter === 'All' ? true : p.status === filter;
             return matchesSearch && matchesFilter;
@@ -52,11 +52,16 @@ export default function AdminProjectScreen() {
     const totalPages = Math.ceil(filteredProjects.length / rowsPerPage);
     const pagedProjects = filteredProjects.slice((page - 1) * rowsPerPage, page * rowsPerPage);
 
+    // Projects arrive a server page at a time; fetch the next one once the table reaches the last loaded rows
+    useEffect(() => {
+        if (hasMoreProjects && page * rowsPerPage >= filteredProjects.length) loadMoreProjects();
+    }, [page, rowsPerPage, filteredProjects.length, hasMoreProjects]);
+
     // Validation
     const validateEdit = () => {
         const errs: { [k: string]: string } = {};
         if (!editValues.name) errs.name = 'Project name is required';
-        if (!editValues.user || !editValues.user.firstName || !editValues.user.lastName) errs.owner = 'Owner is required';
+        if (!editValues.userFirstName || !editValues.userLastName) errs.owner = 'Owner is required';
         if (!editValues.createdAt) errs.start = 'Start date is required';
         if (!editValues.status) errs.status = 'Status is required';
         setEditErrors(errs);
@@ -144,7 +149,7 @@ export default function AdminProjectScreen() {
                             pagedProjects.map((p) => (
                                 <View key={p.id} className="flex-row border-b border-gray-100 items-center py-2">
                                     <Text className="w-40 px-2 text-gray-800" numberOfLines={1}>{p.name}</Text>
-                                    <Text className="w-32 px-2 text-gray-800" numberOfLines={1}>{p.user ? `${p.user.firstName} ${p.user.lastName}` : ''}</Text>
+                                    <Text className="w-32 px-2 text-gray-800" numberOfLines={1}>{`${p.userFirstName} ${p.userLastName}`}</Text>
                                     <Text className="w-28 px-2 text-gray-800 text-xs">{p.createdAt?.slice(0,10)}</Text>
                                     <Text className="w-28 px-2 text-gray-800 text-xs">{p.targetDate?.slice(0,10) || ''}</Text>
                                     <View className="w-24 px-2">
@@ -211,22 +216,10 @@ export default function AdminProjectScreen() {
                                     <Text style={{ fontSize: 13, color: '#a1a1aa', marginBottom: 4, fontFamily: Platform.OS === 'ios' ? 'System' : 'sans-serif' }}>Owner</Text>
                                     <TextInput
                                         style={{ borderWidth: 1, borderColor: editErrors.owner ? '#ef4444' : '#e5e7eb', borderRadius: 8, paddingHorizontal: 12, paddingVertical: 8, fontSize: 15, fontFamily: Platform.OS === 'ios' ? 'System' : 'sans-serif' }}
-                                        value={editValues.user ? `${editValues.user.firstName} ${editValues.user.lastName}` : ''}
+                                        value={[editValues.userFirstName, editValues.userLastName].filter(Boolean).join(' ')}
                                         onChangeText={v => {
                                             const [firstName, ...rest] = v.split(' ');
-                                            setEditValues(ev => ({
-                                                ...ev,
-                                                user: {
-                                                    id: ev.user?.id || '',
-                                                    firstName,
-                                                    lastName: rest.join(' '),
-                                                    email: ev.user?.email || '',
-                                                    role: ev.user?.role || 'USER',
-                                                    status: ev.user?.status || 'ACTIVE',
-                                                    createdAt: ev.user?.createdAt || '',
-                                                    workers: ev.user?.workers || [],
-                                                }
-                                            }));
+                                            setEditValues(ev => ({ ...ev, userFirstName: firstName, userLastName: rest.join(' ') }));
                                         }}
                                     />
                                     {editErrors.owner && <Text style={{ color: '#ef4444', fontSize: 12, marginTop: 2, fontFamily: Platform.OS === 'ios' ? 'System' : 'sans-serif' }}>{editErrors.owner}</Text>}
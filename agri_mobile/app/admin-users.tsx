@@ -6,7 +6,7 @@ import { useEffect, useState } from 'react';
 import { FlatList, Modal, Pressable, Text, TextInput, TouchableOpacity, View } from 'react-native';
 
 export default function AdminUsers() {
-    const { users } = useAdmin();
+    const { users, hasMoreUsers, loadMoreUsers } = useAdmin();
     const [search, setSearch] = useState('');
     const [filter, setFilter] = useState('all');
     const [modalUser, setModalUser] = useState<User | null>(null);
@@ -59,6 +59,7 @@ export default function AdminUsers() {
             <FlatList
                 data={filteredUsers}
                 keyExtractor={item => item.email}
+                onEndReached={() => { if (hasMoreUsers) loadMoreUsers() }}
                 contentContainerStyle={{ padding: 16, paddingBottom: 40 }}
                 renderItem={({ item }) => (
                     <Pressable onPress={() => setModalUser(item)} style={{ marginBottom: 18 }}>
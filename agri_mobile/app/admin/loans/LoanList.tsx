@@ -11,6 +11,7 @@ export default function LoanList() {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const [refreshing, setRefreshing] = useState(false);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [statusFilter, setStatusFilter] = useState<LoanStatus | 'all'>('all');
 
   const statusOptions: { label: string; value: LoanStatus | 'all' }[] = [
@@ -28,7 +29,8 @@ export default function LoanList() {
       const filters = statusFilter !== 'all' ? { status: statusFilter } : {};
       const response = await adminService.getLoans(filters);
       if (response.success) {
-        setLoans(response.data.data);
+        setLoans(response.data.items);
+        setNextCursor(response.data.nextCursor);
       } else {
         setError(response.message || 'Failed to load loans');
       }
@@ -50,6 +52,20 @@ export default function LoanList() {
     loadLoans();
   };
 
+  const loadMoreLoans = async () => {
+    if (!nextCursor) return;
+    try {
+      const filters = statusFilter !== 'all' ? { status: statusFilter } : {};
+      const response = await adminService.getLoans({ ...filters, cursor: nextCursor });
+      if (response.success) {
+        setLoans(prev => [...prev, ...response.data.items]);
+        setNextCursor(response.data.nextCursor);
+      }
+    } catch (err) {
+      console.error(err);
+    }
+  };
+
   const getStatusColor = (status: LoanStatus) => {
     switch (status) {
       case 'approved':
@@ -185,6 +201,7 @@ export default function LoanList() {
         keyExtractor={(item) => item.id}
         refreshing={refreshing}
         onRefresh={handleRefresh}
+        onEndReached={loadMoreLoans}
         ListHeaderComponent={
           <View className="px-4 py-3 bg-gray-50">
             <Text className="text-sm text-gray-500">
@@ -1,5 +1,5 @@
 import React, { createContext, useContext, useState, useEffect, ReactNode } from 'react';
-import { AdminProject, AdminProjectStats, Loan, LoanProduct, LoanStats, Summary, User } from '@/types';
+import { AdminProject, AdminProjectStats, ApiResponse, CursorPage, Loan, LoanProduct, LoanStats, PageParams, Summary, User } from '@/types';
 import { adminService } from '@/api/admin';
 
 type AdminContextType = {
@@ -13,8 +13,33 @@ type AdminContextType = {
     users: User[]
     loans: Loan[]
     projects: AdminProject[]
+    hasMoreUsers: boolean
+    hasMoreLoans: boolean
+    hasMoreProjects: boolean
+    loadMoreUsers: () => Promise<void>
+    loadMoreLoans: () => Promise<void>
+    loadMoreProjects: () => Promise<void>
 };
 
+// Appends the page that follows `cursor` to a keyset-paged list
+async function appendPage<T>(
+    fetchPage: (params: PageParams) => Promise<ApiResponse<CursorPage<T>>>,
+    cursor: string | null,
+    setItems: React.Dispatch<React.SetStateAction<T[]>>,
+    setCursor: (cursor: string | null) => void
+) {
+    if (!cursor) return
+    try {
+        const res = await fetchPage({ cursor })
+        if (res.success) {
+            setItems(prev => [...prev, ...res.data.items])
+            setCursor(res.data.nextCursor)
+        }
+    } catch (error) {
+        console.error(error)
+    }
+}
+
 const AdminContext = createContext<AdminContextType | undefined>(undefined);
 
 export const AdminProvider = ({ children }: { children: ReactNode }) => {
@@ -24,6 +49,9 @@ export const AdminProvider = ({ children }: { children: ReactNode }) => {
     const [loans, setLoans] = useState<Loan[]>([])
     const [projects, setProjects] = useState<AdminProject[]>([])
     const [users, setUsers] = useState<User[]>([])
+    const [loansCursor, setLoansCursor] = useState<string | null>(null)
+    const [projectsCursor, setProjectsCursor] = useState<string | null>(null)
+    const [usersCursor, setUsersCursor] = useState<string | null>(null)
     const [loanProducts, setLoanProducts] = useState<LoanProduct[]>([]);
     const [projectStats, setProjectStats] = useState<AdminProjectStats | null>(null);
     const [summary, setSummary] = useState<Summary[]>([])
@@ -39,7 +67,10 @@ export const AdminProvider = ({ children }: { children: ReactNode }) => {
         const fetchLoans = async () => {
             try {
                 const res = await adminService.getLoans()
-                if (res.success) setLoans(res.data)
+                if (res.success) {
+                    setLoans(res.data.items)
+                    setLoansCursor(res.data.nextCursor)
+                }
             } catch (error) {
                 console.error(error)
             }
@@ -49,8 +80,10 @@ export const AdminProvider = ({ children }: { children: ReactNode }) => {
         const fetchProjects = async () => {
             try {
                 const res = await adminService.getProjects()
-                if (res.success) setProjects(res.data)
-
+                if (res.success) {
+                    setProjects(res.data.items)
+                    setProjectsCursor(res.data.nextCursor)
+                }
             } catch (error) {
                 console.error(error)
             }
@@ -59,8 +92,10 @@ export const AdminProvider = ({ children }: { children: ReactNode }) => {
         const fetchUsers = async () => {
             try {
                 const res = await adminService.getUsers()
-                if (res.success) setUsers(res.data)
-
+                if (res.success) {
+                    setUsers(res.data.items)
+                    setUsersCursor(res.data.nextCursor)
+                }
             } catch (error) {
                 console.error(error)
             }
@@ -202,6 +237,11 @@ export const AdminProvider = ({ children }: { children: ReactNode }) => {
     }, [projects, loans, users])
 
 
+    const loadMoreUsers = () => appendPage(p => adminService.getUsers(p), usersCursor, setUsers, setUsersCursor)
+    const loadMoreLoans = () => appendPage(p => adminService.getLoans(p), loansCursor, setLoans, setLoansCursor)
+    const loadMoreProjects = () =>
+        appendPage(p => adminService.getProjects(p), projectsCursor, setProjects, setProjectsCursor)
+
     return (
         <AdminContext.Provider
             value={{
@@ -214,7 +254,13 @@ export const AdminProvider = ({ children }: { children: ReactNode }) => {
                 summary,
                 users,
                 loans,
-                projects
+                projects,
+                hasMoreUsers: usersCursor !== null,
+                hasMoreLoans: loansCursor !== null,
+                hasMoreProjects: projectsCursor !== null,
+                loadMoreUsers,
+                loadMoreLoans,
+                loadMoreProjects
             }}
         >
             {children}
@@ -35,7 +35,8 @@ function LoanProvider({ children }: { children: ReactNode }) {
 
         const fetchLoanAnalytics = async () => {
             try {
-                const res = await loanService.getLoanAnalytics()
+                // The analytics tab charts the remaining balance per loan
+                const res = await loanService.getLoanAnalytics(true)
                 if (res.success) {
                     setLoanAnalytics(res.data)
                     return res.data
@@ -73,16 +74,6 @@ function LoanProvider({ children }: { children: ReactNode }) {
                 Toast.show({ type: 'error', text1: 'Error', text2: error?.message || 'Unknown error' })
             }
         }
-        const fetchAnalytics = async () => {
-            try {
-                const res = await loanService.getLoanAnalytics()
-                if (res.success) {
-                    setLoanAnalytics(res.data)
-                }
-            } catch (error) {
-                console.error(error)
-            }
-        }
         const fetchLoanProducts = async () => {
             try {
                 const res = await loanService.getLoanProducts()
@@ -98,7 +89,6 @@ function LoanProvider({ children }: { children: ReactNode }) {
         fetchLoanProducts()
         fetchCurrentLoan()
         fetchLoans()
-        fetchAnalytics()
         fetchLoanAnalytics()
     }, [])
 
@@ -1,5 +1,5 @@
 import { LoanStatus, Loan } from "./loan"
-import { Project } from "./project"
+import { Goal, ProjectStatus } from "./project"
 import { User, UserRole, UserStatus } from "./user"
 
 export interface Summary {
@@ -26,8 +26,24 @@ export interface UserAdmin extends User {
     updatedAt: string
 }
 
-export interface AdminProject extends Project {
+// Row of the admin project list: the owner is flattened and goals are only sent with includeGoals=true
+export interface AdminProject {
+    id: string
+    userId: string
+    userEmail: string
+    userFirstName: string
+    userLastName: string
+    name: string
+    description: string
+    status: ProjectStatus
+    createdAt: string
+    updatedAt: string
+    targetDate?: string
+    completedAt?: string
+    totalGoals: number
+    completedGoals: number
     progress: number
+    goals?: Goal[]
 }
 
 export interface CreateUser {
@@ -80,6 +96,17 @@ export interface LoanFilters extends UserFilters {
     endDate?: string
 }
 
+// One page of a keyset-paged admin listing; nextCursor is null on the last page
+export interface CursorPage<T> {
+    items: T[]
+    nextCursor: string | null
+}
+
+export interface PageParams {
+    cursor?: string
+    size?: number
+}
+
 export interface PaginatedResult<T> {
     data: T[]
     total: number
@@ -11,13 +11,15 @@ import type {
     LoanProduct,
     LoanProductRequest,
     AdminProjectStats,
-    AdminProject
+    AdminProject,
+    CursorPage,
+    PageParams
 } from '@/types';
 
 class AdminService {
     // User Management
-    async getUsers(): Promise<ApiResponse<User[]>> {
-        return await client.get<User[]>(API_ENDPOINTS.ADMIN.USER.ALL);
+    async getUsers(params?: PageParams): Promise<ApiResponse<CursorPage<User>>> {
+        return await client.get<CursorPage<User>>(API_ENDPOINTS.ADMIN.USER.ALL, { ...params });
     }
 
     async getUserById(id: string): Promise<ApiResponse<User>> {
@@ -38,8 +40,8 @@ class AdminService {
     }
 
     // Loan Management
-    async getLoans(): Promise<ApiResponse<Loan[]>> {
-        return await client.get<Loan[]>(API_ENDPOINTS.ADMIN.LOAN.ALL);
+    async getLoans(params?: PageParams & { status?: string }): Promise<ApiResponse<CursorPage<Loan>>> {
+        return await client.get<CursorPage<Loan>>(API_ENDPOINTS.ADMIN.LOAN.ALL, { ...params });
     }
 
     async getLoanById(id: string): Promise<ApiResponse<Loan>> {
@@ -64,8 +66,8 @@ class AdminService {
     }
 
     // Project Management
-    async getProjects(): Promise<ApiResponse<AdminProject[]>> {
-        return await client.get<AdminProject[]>(API_ENDPOINTS.ADMIN.PROJECT.ALL);
+    async getProjects(params?: PageParams): Promise<ApiResponse<CursorPage<AdminProject>>> {
+        return await client.get<CursorPage<AdminProject>>(API_ENDPOINTS.ADMIN.PROJECT.ALL, { ...params });
     }
 
     async getProjectById(id: string): Promise<ApiResponse<AdminProject>> {
@@ -1,6 +1,5 @@
 import { useAdmin } from '@/hooks/useAdmin';
 import { AdminProject, ProjectStatus } from '@/types';
-import { User } from '@/types/user';
 import { MaterialIcons } from '@expo/vector-icons';
 import { useRouter } from 'expo-router';
 import {  useState } from 'react';
@@ -47,7 +46,7 @@ export default function AdminProjectScreen() {
         },
         { 
             label: 'Goals', 
-            value: projects?.reduce((acc, p) => acc + (p.goals?.length || 0), 0) || 0, 
+            value: projects?.reduce((acc, p) => acc + p.totalGoals, 0) || 0, 
             sub: '', 
             color: 'bg-white', 
             text: 'text-green-700', 
@@ -65,8 +64,8 @@ export default function AdminProjectScreen() {
 
     const filteredProjects = projects?.filter(p => {
         const matchesSearch = p.name.toLowerCase().includes(search.toLowerCase()) || 
-                            p.user?.firstName?.toLowerCase().includes(search.toLowerCase()) ||
-                            p.user?.lastName?.toLowerCase().includes(search.toLowerCase());
+                            p.userFirstName?.toLowerCase().includes(search.toLowerCase()) ||
+                            p.userLastName?.toLowerCase().includes(search.toLowerCase());
         const matchesFilter = filter === 'All' ? true : p.status === filter;
         return matchesSearch && matchesFilter;
     }) || [];
@@ -77,7 +76,7 @@ export default function AdminProjectScreen() {
     const validateEdit = () => {
         const errs: { [k: string]: string } = {};
         if (!editValues.name?.trim()) errs.name = 'Project name is required';
-        if (!editValues.user?.id) errs.owner = 'Owner is required';
+        if (!editValues.userId) errs.owner = 'Owner is required';
         if (!editValues.targetDate) errs.targetDate = 'Target date is required';
         if (!editValues.status) errs.status = 'Status is required';
         setEditErrors(errs);
@@ -114,8 +113,8 @@ export default function AdminProjectScreen() {
         });
     };
     
-    const getOwnerName = (user: User) => {
-        return [user.firstName, user.lastName].filter(Boolean).join(' ') || 'Unknown User';
+    const getOwnerName = (project: AdminProject) => {
+        return [project.userFirstName, project.userLastName].filter(Boolean).join(' ') || 'Unknown User';
     };
 
     if (loading) {
@@ -193,7 +192,7 @@ export default function AdminProjectScreen() {
                         {pagedProjects.map((p, idx) => (
                             <View key={p.name} className="flex-row border-b border-gray-100 items-center py-2">
                                 <Text className="w-40 px-2 text-gray-800" numberOfLines={1}>{p.name}</Text>
-                                <Text className="w-32 px-2 text-gray-800" numberOfLines={1}>{p.user ? getOwnerName(p.user) : 'Unknown User'}</Text>
+                                <Text className="w-32 px-2 text-gray-800" numberOfLines={1}>{getOwnerName(p)}</Text>
                                 <Text className="w-28 px-2 text-gray-800 text-xs">{formatDate(p.createdAt)}</Text>
                                 <Text className="w-28 px-2 text-gray-800 text-xs">{formatDate(p.targetDate)}</Text>
                                 <View className="w-24 px-2">
@@ -273,7 +272,7 @@ export default function AdminProjectScreen() {
                                     <Text className="text-xs text-gray-500 mb-1">Owner</Text>
                                     <TextInput
                                         className={`border ${editErrors.owner ? 'border-red-500' : 'border-gray-300'} rounded px-3 py-2`}
-                                        value={editValues?.user?.firstName || ''}
+                                        value={editValues?.userFirstName || ''}
                                         onChangeText={v => setEditValues(ev => ({ ...ev, owner: v }))}
                                     />
                                     {editErrors.owner && <Text className="text-red-500 text-xs mt-1">{editErrors.owner}</Text>}
@@ -11,6 +11,7 @@ export default function LoanList() {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const [refreshing, setRefreshing] = useState(false);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [statusFilter, setStatusFilter] = useState<LoanStatus | 'all'>('all');
 
   const statusOptions: { label: string; value: LoanStatus | 'all' }[] = [
@@ -25,10 +26,8 @@ export default function LoanList() {
     try {
       setLoading(true);
       const response = await adminService.getLoans();
-      // Handle different response formats
-      const loansData = Array.isArray(response) ? response :
-        (response?.data ? (Array.isArray(response.data) ? response.data : []) : []);
-      setLoans(loansData);
+      setLoans(response.success ? response.data.items : []);
+      setNextCursor(response.success ? response.data.nextCursor : null);
       setError(null);
     } catch (err) {
       setError('Failed to load loans. Please try again.');
@@ -48,6 +47,19 @@ export default function LoanList() {
     loadLoans();
   };
 
+  const loadMoreLoans = async () => {
+    if (!nextCursor) return;
+    try {
+      const response = await adminService.getLoans({ cursor: nextCursor });
+      if (response.success) {
+        setLoans(prev => [...prev, ...response.data.items]);
+        setNextCursor(response.data.nextCursor);
+      }
+    } catch (err) {
+      console.error('Error loading more loans:', err);
+    }
+  };
+
   const filteredLoans = statusFilter === 'all'
     ? loans
     : loans.filter(loan => loan.status === statusFilter);
@@ -192,6 +204,7 @@ export default function LoanList() {
         keyExtractor={(item) => item.id}
         renderItem={renderItem}
         contentContainerClassName="p-4"
+        onEndReached={loadMoreLoans}
         refreshControl={
           <RefreshControl
             refreshing={refreshing}
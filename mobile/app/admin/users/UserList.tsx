@@ -11,13 +11,15 @@ export default function UserList() {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const [refreshing, setRefreshing] = useState(false);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
 
   const loadUsers = async () => {
     try {
       setError(null);
       const response = await adminService.getUsers();
       if (response.success) {
-        setUsers(response.data);
+        setUsers(response.data.items);
+        setNextCursor(response.data.nextCursor);
       } else {
         setError(response.message || 'Failed to load users');
       }
@@ -39,6 +41,19 @@ export default function UserList() {
     loadUsers();
   };
 
+  const loadMoreUsers = async () => {
+    if (!nextCursor) return;
+    try {
+      const response = await adminService.getUsers({ cursor: nextCursor });
+      if (response.success) {
+        setUsers(prev => [...prev, ...response.data.items]);
+        setNextCursor(response.data.nextCursor);
+      }
+    } catch (err) {
+      console.error(err);
+    }
+  };
+
   const renderUserItem = ({ item }: { item: User }) => (
     <TouchableOpacity 
       className="bg-white p-4 border-b border-gray-100"
@@ -119,6 +134,7 @@ export default function UserList() {
         keyExtractor={(item) => item.id}
         refreshing={refreshing}
         onRefresh={handleRefresh}
+        onEndReached={loadMoreUsers}
         ListEmptyComponent={
           <View className="flex-1 justify-center items-center p-8">
             <MaterialIcons name="people-outline" size={48} color="#9CA3AF" />
@@ -8,8 +8,11 @@ import {
     Loan,
     User,
     AdminProject,
+    ApiResponse,
+    CursorPage,
+    PageParams,
 } from '@/types';
-import { useEffect, useState } from "react";
+import { Dispatch, SetStateAction, useEffect, useState } from "react";
 
 interface UseAdminReturn {
     // Existing state
@@ -21,8 +24,14 @@ interface UseAdminReturn {
     loanStats: LoanStats;
     projectStats: AdminProjectStats | null;
     loanProducts: LoanProduct[];
+    hasMoreLoans: boolean;
+    hasMoreProjects: boolean;
+    hasMoreUsers: boolean;
 
     // Methods
+    loadMoreLoans: () => Promise<void>;
+    loadMoreProjects: () => Promise<void>;
+    loadMoreUsers: () => Promise<void>;
     getProjectById: (id: string) => Promise<AdminProject | null>;
     getProjectStats: () => Promise<AdminProjectStats | null>;
     getLoanProducts: () => Promise<LoanProduct[]>;
@@ -32,11 +41,33 @@ interface UseAdminReturn {
     deleteLoanProduct: (id: string) => Promise<boolean>;
 }
 
+// Appends the page that follows `cursor` to a keyset-paged list
+async function appendPage<T>(
+    fetchPage: (params: PageParams) => Promise<ApiResponse<CursorPage<T>>>,
+    cursor: string | null,
+    setItems: Dispatch<SetStateAction<T[]>>,
+    setCursor: (cursor: string | null) => void
+) {
+    if (!cursor) return
+    try {
+        const res = await fetchPage({ cursor })
+        if (res.success) {
+            setItems(prev => [...prev, ...res.data.items])
+            setCursor(res.data.nextCursor)
+        }
+    } catch (error) {
+        console.error(error)
+    }
+}
+
 export function useAdmin(): UseAdminReturn {
 
     const [loans, setLoans] = useState<Loan[]>([])
     const [projects, setProjects] = useState<AdminProject[]>([])
     const [users, setUsers] = useState<User[]>([])
+    const [loansCursor, setLoansCursor] = useState<string | null>(null)
+    const [projectsCursor, setProjectsCursor] = useState<string | null>(null)
+    const [usersCursor, setUsersCursor] = useState<string | null>(null)
     const [summary, setSummary] = useState<Summary[]>([])
     const [loading, setLoading] = useState(false);
     const [loanProducts, setLoanProducts] = useState<LoanProduct[]>([]);
@@ -51,7 +82,10 @@ export function useAdmin(): UseAdminReturn {
         const fetchLoans = async () => {
             try {
                 const res = await adminService.getLoans()
-                if (res.success) setLoans(res.data)
+                if (res.success) {
+                    setLoans(res.data.items)
+                    setLoansCursor(res.data.nextCursor)
+                }
             } catch (error) {
                 console.error(error)
             }
@@ -61,8 +95,10 @@ export function useAdmin(): UseAdminReturn {
         const fetchProjects = async () => {
             try {
                 const res = await adminService.getProjects()
-                if (res.success) setProjects(res.data)
-
+                if (res.success) {
+                    setProjects(res.data.items)
+                    setProjectsCursor(res.data.nextCursor)
+                }
             } catch (error) {
                 console.error(error)
             }
@@ -71,8 +107,10 @@ export function useAdmin(): UseAdminReturn {
         const fetchUsers = async () => {
             try {
                 const res = await adminService.getUsers()
-                if (res.success) setUsers(res.data)
-
+                if (res.success) {
+                    setUsers(res.data.items)
+                    setUsersCursor(res.data.nextCursor)
+                }
             } catch (error) {
                 console.error(error)
             }
@@ -262,9 +300,24 @@ export function useAdmin(): UseAdminReturn {
             setLoading(true);
             try {
                 await Promise.all([
-                    adminService.getLoans().then(res => res.success && setLoans(res.data)),
-                    adminService.getProjects().then(res => res.success && setProjects(res.data)),
-                    adminService.getUsers().then(res => res.success && setUsers(res.data)),
+                    adminService.getLoans().then(res => {
+                        if (res.success) {
+                            setLoans(res.data.items)
+                            setLoansCursor(res.data.nextCursor)
+                        }
+                    }),
+                    adminService.getProjects().then(res => {
+                        if (res.success) {
+                            setProjects(res.data.items)
+                            setProjectsCursor(res.data.nextCursor)
+                        }
+                    }),
+                    adminService.getUsers().then(res => {
+                        if (res.success) {
+                            setUsers(res.data.items)
+                            setUsersCursor(res.data.nextCursor)
+                        }
+                    }),
                     adminService.getLoanProducts().then(res => res.success && setLoanProducts(res.data)),
                     adminService.getProjectStats().then(res => res.success && setProjectStats(res.data)),
                 ]);
@@ -278,6 +331,11 @@ export function useAdmin(): UseAdminReturn {
         loadInitialData();
     }, []);
 
+    const loadMoreLoans = () => appendPage(p => adminService.getLoans(p), loansCursor, setLoans, setLoansCursor)
+    const loadMoreProjects = () =>
+        appendPage(p => adminService.getProjects(p), projectsCursor, setProjects, setProjectsCursor)
+    const loadMoreUsers = () => appendPage(p => adminService.getUsers(p), usersCursor, setUsers, setUsersCursor)
+
     return {
         loans,
         projects,
@@ -287,6 +345,12 @@ export function useAdmin(): UseAdminReturn {
         loanStats,
         projectStats,
         loanProducts,
+        hasMoreLoans: loansCursor !== null,
+        hasMoreProjects: projectsCursor !== null,
+        hasMoreUsers: usersCursor !== null,
+        loadMoreLoans,
+        loadMoreProjects,
+        loadMoreUsers,
         getProjectById,
         getProjectStats,
         getLoanProducts,
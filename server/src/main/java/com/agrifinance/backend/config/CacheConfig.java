@@ -0,0 +1,39 @@
+package com.agrifinance.backend.config;
+
+import com.agrifinance.backend.service.loan.LoanQuoteService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    // Cache names are declared in application.properties, or registered below, so the actuator binds their
+    // metrics at startup
+    public static final String LOAN_ANALYTICS = "loanAnalytics";
+    public static final String PROJECT_DASHBOARD = "projectDashboard";
+    public static final String LOAN_PRODUCT_TERMS = "loanProductTerms";
+    public static final String LOAN_QUOTES = "loanQuotes";
+    public static final String REPAYMENT_RECORDS = "repaymentRecords";
+
+    // Quote schedules vary in length, so their cache is bounded by installments held rather than entries
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> loanQuotesCache(
+            @Value("${loans.quote.cache.max-installments:200000}") long maxInstallments) {
+        return cacheManager -> cacheManager.registerCustomCache(LOAN_QUOTES, Caffeine.newBuilder()
+                .maximumWeight(maxInstallments)
+                .weigher((Object key, Object value) -> value instanceof LoanQuoteService.QuotedSchedule schedule
+                        ? schedule.installments().size() + 1
+                        : 1)
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .recordStats()
+                .build());
+    }
+}
@@ -1,45 +1,153 @@
 package com.agrifinance.backend.controller.admin;
 
+import com.agrifinance.backend.dto.admin.AdminDashboardStats;
+import com.agrifinance.backend.dto.admin.AdminLoanDTO;
 import com.agrifinance.backend.dto.admin.AdminProjectDTO;
+import com.agrifinance.backend.dto.admin.ApplicantSearchResult;
+import com.agrifinance.backend.dto.admin.BulkLoanDecisionRequest;
+import com.agrifinance.backend.dto.admin.BulkLoanDecisionResult;
+import com.agrifinance.backend.dto.admin.KpiTimeseries;
+import com.agrifinance.backend.dto.admin.LoanFilter;
+import com.agrifinance.backend.dto.admin.LoanRiskAssessment;
+import com.agrifinance.backend.dto.admin.PaymentImportReport;
+import com.agrifinance.backend.dto.admin.ProjectFilter;
+import com.agrifinance.backend.dto.admin.ReconciliationReport;
+import com.agrifinance.backend.dto.admin.RiskRescoreResult;
+import com.agrifinance.backend.dto.admin.StressTestRequest;
+import com.agrifinance.backend.dto.admin.StressTestResult;
+import com.agrifinance.backend.dto.admin.UserFilter;
 import com.agrifinance.backend.dto.common.ApiResponse;
+import com.agrifinance.backend.dto.common.CursorPage;
 import com.agrifinance.backend.dto.loan.LoanDTO;
 import com.agrifinance.backend.dto.loan.LoanProductDTO;
 import com.agrifinance.backend.dto.user.UserDTO;
+import com.agrifinance.backend.model.enums.KpiGrain;
 import com.agrifinance.backend.service.admin.AdminService;
+import com.agrifinance.backend.service.admin.ApplicantSearchService;
+import com.agrifinance.backend.service.admin.DashboardStreamService;
+import com.agrifinance.backend.service.admin.LoanDecisionService;
+import com.agrifinance.backend.service.admin.LoanExportService;
+import com.agrifinance.backend.service.admin.LoanKpiService;
+import com.agrifinance.backend.service.admin.PaymentImportService;
+import com.agrifinance.backend.service.admin.PortfolioStressTestService;
+import com.agrifinance.backend.service.loan.LoanReconciliationService;
+import com.agrifinance.backend.service.loan.LoanRiskService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/admin")
 @RequiredArgsConstructor
 public class AdminController {
     private final AdminService adminService;
+    private final PaymentImportService paymentImportService;
+    private final LoanReconciliationService loanReconciliationService;
+    private final PortfolioStressTestService portfolioStressTestService;
+    private final LoanExportService loanExportService;
+    private final LoanDecisionService loanDecisionService;
+    private final LoanKpiService loanKpiService;
+    private final DashboardStreamService dashboardStreamService;
+    private final ApplicantSearchService applicantSearchService;
+    private final LoanRiskService loanRiskService;
+
+    @GetMapping("/dashboard")
+    public ResponseEntity<ApiResponse<AdminDashboardStats>> getDashboard() {
+        AdminDashboardStats stats = adminService.getAdminDashboard();
+        ApiResponse<AdminDashboardStats> apiResponse = new ApiResponse<>(true, stats, "Dashboard loaded successfully");
+        return ResponseEntity.ok(apiResponse);
+    }
 
     @GetMapping("/users")
-    public ResponseEntity<ApiResponse<List<UserDTO>>> getAllUsers() {
-        List<UserDTO> users = adminService.getAllUsers();
-        ApiResponse<List<UserDTO>> apiResponse = new ApiResponse<>(true, users, "User loaded successfully");
+    public ResponseEntity<ApiResponse<CursorPage<UserDTO>>> getUsers(@ModelAttribute UserFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        CursorPage<UserDTO> users = adminService.getUsers(filter, cursor, size);
+        ApiResponse<CursorPage<UserDTO>> apiResponse = new ApiResponse<>(true, users, "User loaded successfully");
         return ResponseEntity.ok(apiResponse);
     }
 
     @GetMapping("/projects")
-    public ResponseEntity<ApiResponse<List<AdminProjectDTO>>> getAllProjects() {
-        List<AdminProjectDTO> projects = adminService.getAllProjects();
-        ApiResponse<List<AdminProjectDTO>> apiResponse = new ApiResponse<>(true, projects, "User loaded successfully");
+    public ResponseEntity<ApiResponse<CursorPage<AdminProjectDTO>>> getProjects(@ModelAttribute ProjectFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean includeGoals) {
+        CursorPage<AdminProjectDTO> projects = adminService.getProjects(filter, cursor, size, includeGoals);
+        ApiResponse<CursorPage<AdminProjectDTO>> apiResponse = new ApiResponse<>(true, projects, "Projects loaded successfully");
         return ResponseEntity.ok(apiResponse);
     }
 
     @GetMapping("/loans")
-    public ResponseEntity<ApiResponse<List<LoanDTO>>> getAllLoans() {
-        List<LoanDTO> loans = adminService.getAllLoans();
-        ApiResponse<List<LoanDTO>> apiResponse = new ApiResponse<>(true, loans, "Loans loaded successfully");
+    public ResponseEntity<ApiResponse<CursorPage<AdminLoanDTO>>> getLoans(@ModelAttribute LoanFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        CursorPage<AdminLoanDTO> loans = adminService.getLoans(filter, cursor, size);
+        ApiResponse<CursorPage<AdminLoanDTO>> apiResponse = new ApiResponse<>(true, loans, "Loans loaded successfully");
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @GetMapping("/loans/export")
+    public ResponseEntity<StreamingResponseBody> exportLoans(
+            @RequestParam(defaultValue = "NDJSON") LoanExportService.Format format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        String filename = "loans-" + LocalDate.now() + "." + format.extension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> loanExportService.export(out, format, gzip);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : format.mediaType())
+                .body(body);
+    }
+
+    @GetMapping("/kpis/timeseries")
+    public ResponseEntity<ApiResponse<KpiTimeseries>> getKpiTimeseries(
+            @RequestParam(defaultValue = "DAY") KpiGrain grain,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        KpiTimeseries timeseries = loanKpiService.timeseries(grain, from, to);
+        ApiResponse<KpiTimeseries> apiResponse = new ApiResponse<>(true, timeseries, "KPIs loaded successfully");
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @GetMapping("/applicants/search")
+    public ResponseEntity<ApiResponse<ApplicantSearchResult>> searchApplicants(@RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        ApplicantSearchResult result = applicantSearchService.search(q, limit);
+        ApiResponse<ApplicantSearchResult> apiResponse = new ApiResponse<>(true, result, "Applicants found");
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @PostMapping("/applicants/search/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildApplicantSearch() {
+        int indexed = applicantSearchService.rebuild();
+        ApiResponse<Integer> apiResponse = new ApiResponse<>(true, indexed, "Applicant search index rebuilt");
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @GetMapping(value = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboard() {
+        return dashboardStreamService.subscribe();
+    }
+
+    @PostMapping("/kpis/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildKpiRollups() {
+        int rows = loanKpiService.rebuild();
+        ApiResponse<Integer> apiResponse = new ApiResponse<>(true, rows, "KPI rollups rebuilt");
         return ResponseEntity.ok(apiResponse);
     }
 
@@ -64,6 +172,28 @@ public class AdminController {
         return ResponseEntity.ok(apiResponse);
     }
 
+    @PostMapping("/loans/decisions")
+    public ResponseEntity<ApiResponse<BulkLoanDecisionResult>> decideLoans(
+            @Valid @RequestBody BulkLoanDecisionRequest request) {
+        BulkLoanDecisionResult result = loanDecisionService.decide(request.decisions());
+        ApiResponse<BulkLoanDecisionResult> apiResponse = new ApiResponse<>(true, result, "Loan decisions applied");
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @PostMapping("/loans/{id}/risk-score")
+    public ResponseEntity<ApiResponse<LoanRiskAssessment>> scoreLoan(@PathVariable UUID id) {
+        LoanRiskAssessment assessment = loanRiskService.score(id);
+        ApiResponse<LoanRiskAssessment> apiResponse = new ApiResponse<>(true, assessment, "Loan risk scored");
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @PostMapping("/loans/risk-scores/rescore")
+    public ResponseEntity<ApiResponse<RiskRescoreResult>> rescorePendingLoans() {
+        RiskRescoreResult result = loanRiskService.rescorePending();
+        ApiResponse<RiskRescoreResult> apiResponse = new ApiResponse<>(true, result, "Pending loans re-scored");
+        return ResponseEntity.ok(apiResponse);
+    }
+
     @PutMapping("/loans/approve/{id}")
     public ResponseEntity<ApiResponse<LoanDTO>> approveLoan(@PathVariable String id) {
         LoanDTO updatedLoan = adminService.approveLoan(UUID.fromString(id));
@@ -78,6 +208,41 @@ public class AdminController {
         return ResponseEntity.ok(apiResponse);
     }
 
+    @PostMapping("/loan-summaries/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildLoanSummaries() {
+        int rebuilt = adminService.rebuildLoanSummaries();
+        ApiResponse<Integer> apiResponse = new ApiResponse<>(true, rebuilt, "Loan summaries rebuilt successfully");
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @PostMapping(value = "/payments/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<PaymentImportReport>> importPayments(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) PaymentImportService.Format format) throws IOException {
+        PaymentImportService.Format resolved = format != null ? format
+                : PaymentImportService.Format.fromFilename(file.getOriginalFilename());
+        PaymentImportReport report = paymentImportService.importPayments(file.getInputStream(), resolved);
+        ApiResponse<PaymentImportReport> apiResponse = new ApiResponse<>(true, report, "Payment file processed");
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @PostMapping("/loans/reconciliation")
+    public ResponseEntity<ApiResponse<ReconciliationReport>> reconcileLoanBalances(
+            @RequestParam(defaultValue = "false") boolean correct) {
+        ReconciliationReport report = loanReconciliationService.reconcile(correct);
+        ApiResponse<ReconciliationReport> apiResponse = new ApiResponse<>(true, report, "Loan balances reconciled");
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @PostMapping("/loans/stress-test")
+    public ResponseEntity<ApiResponse<StressTestResult>> stressTestPortfolio(
+            @RequestBody(required = false) StressTestRequest request) {
+        StressTestResult result = portfolioStressTestService.run(
+                request != null ? request : new StressTestRequest(null, null, null, null, null, null));
+        ApiResponse<StressTestResult> apiResponse = new ApiResponse<>(true, result, "Portfolio stress test completed");
+        return ResponseEntity.ok(apiResponse);
+    }
+
     @PutMapping("/loan-products/{id}")
     public ResponseEntity<ApiResponse<LoanProductDTO>> updateLoanProduct(
             @PathVariable String id,
@@ -1,21 +1,27 @@
 package com.agrifinance.backend.controller.loan;
 
 import com.agrifinance.backend.dto.common.ApiResponse;
+import com.agrifinance.backend.dto.loan.LoanAnalytics;
 import com.agrifinance.backend.dto.loan.LoanDTO;
 import com.agrifinance.backend.dto.loan.LoanRequest;
+import com.agrifinance.backend.dto.loan.PaymentHistoryPage;
 import com.agrifinance.backend.dto.loan.PaymentRequest;
+import com.agrifinance.backend.dto.loan.PayoffQuote;
+import com.agrifinance.backend.service.loan.LoanPaymentService;
 import com.agrifinance.backend.model.user.User;
+import com.agrifinance.backend.service.loan.LoanPayoffService;
 import com.agrifinance.backend.service.loan.LoanService;
 import com.agrifinance.backend.service.user.UserService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -24,6 +30,8 @@ import java.util.UUID;
 public class LoanController {
     private final LoanService loanService;
     private final UserService userService;
+    private final LoanPaymentService loanPaymentService;
+    private final LoanPayoffService loanPayoffService;
 
     private UUID getUserId(Principal principal) {
         String token = principal.getName();
@@ -39,11 +47,32 @@ public class LoanController {
     }
 
     @GetMapping("/analytics")   
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getAnalytics(Principal principal) {
-        Map<String, Object> data = loanService.getLoanAnalytics(getUserId(principal));
+    public ResponseEntity<ApiResponse<LoanAnalytics>> getAnalytics(Principal principal,
+            @RequestParam(defaultValue = "false") boolean includeBreakdown) {
+        UUID userId = getUserId(principal);
+        LoanAnalytics data = includeBreakdown
+                ? loanService.getLoanAnalyticsWithBreakdown(userId)
+                : loanService.getLoanAnalytics(userId);
         return ResponseEntity.ok(new ApiResponse<>(true, data, "Loan analytics fetched successfully"));
     }
 
+    @GetMapping("/payments/history")
+    public ResponseEntity<ApiResponse<PaymentHistoryPage>> getPaymentHistory(Principal principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        PaymentHistoryPage data = loanPaymentService.getPaymentHistory(getUserId(principal), cursor, size);
+        return ResponseEntity.ok(new ApiResponse<>(true, data, "Payment history fetched successfully"));
+    }
+
+    @GetMapping("/{loanId}/payoff-quote")
+    public ResponseEntity<ApiResponse<PayoffQuote>> getPayoffQuote(Principal principal,
+            @PathVariable UUID loanId,
+            @RequestParam(required = false) Double prepayment,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        PayoffQuote data = loanPayoffService.quote(getUserId(principal), loanId, prepayment, asOf);
+        return ResponseEntity.ok(new ApiResponse<>(true, data, "Payoff quote calculated"));
+    }
+
     @PostMapping("/apply")
     public ResponseEntity<ApiResponse<LoanDTO>> apply(Principal principal,@Valid @RequestBody LoanRequest dto) {
         LoanDTO data = loanService.applyForLoan(getUserId(principal), dto);
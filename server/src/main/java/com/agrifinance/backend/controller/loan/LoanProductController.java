@@ -1,12 +1,15 @@
 package com.agrifinance.backend.controller.loan;
 
 import com.agrifinance.backend.service.loan.LoanProductService;
+import com.agrifinance.backend.service.loan.LoanQuoteService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
 import com.agrifinance.backend.dto.common.ApiResponse;
 import com.agrifinance.backend.dto.loan.LoanProductDTO;
+import com.agrifinance.backend.dto.loan.LoanQuote;
+import com.agrifinance.backend.model.enums.LoanTermType;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,6 +22,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class LoanProductController {
     private final LoanProductService loanProductService;
+    private final LoanQuoteService loanQuoteService;
 
     @GetMapping
     public ResponseEntity<ApiResponse<List<LoanProductDTO>>> getAllLoanProducts() {
@@ -32,6 +36,16 @@ public class LoanProductController {
         return ResponseEntity.ok(new ApiResponse<>(true, loanProduct, "Loan product found"));
     }
 
+    @GetMapping("/{id}/quote")
+    public ResponseEntity<ApiResponse<LoanQuote>> quote(
+            @PathVariable UUID id,
+            @RequestParam double amount,
+            @RequestParam(required = false) Integer term,
+            @RequestParam(required = false) LoanTermType termType) {
+        LoanQuote quote = loanQuoteService.quote(id, amount, term, termType);
+        return ResponseEntity.ok(new ApiResponse<>(true, quote, "Loan quote calculated"));
+    }
+
     @PostMapping
     public ResponseEntity<ApiResponse<LoanProductDTO>> createLoanProduct(@Valid @RequestBody LoanProductDTO loanProduct) {
         LoanProductDTO data = loanProductService.createLoanProduct(loanProduct);
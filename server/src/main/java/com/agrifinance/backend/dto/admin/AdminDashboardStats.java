@@ -2,6 +2,8 @@ package com.agrifinance.backend.dto.admin;
 
 import lombok.Data;
 
+import java.util.List;
+
 @Data
 public class AdminDashboardStats {
     private Integer totalUsers;
@@ -12,5 +14,5 @@ public class AdminDashboardStats {
     private Double rejectedLoans;
     private Double totalLoanAmount;
     private Double totalRepaid;
-    private LoanStatusDistribution loanStatusDistribution;
+    private List<LoanStatusDistribution> loanStatusDistribution;
 }
\ No newline at end of file
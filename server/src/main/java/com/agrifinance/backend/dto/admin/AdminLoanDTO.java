@@ -0,0 +1,21 @@
+package com.agrifinance.backend.dto.admin;
+
+import com.agrifinance.backend.dto.loan.LoanDTO;
+import com.agrifinance.backend.model.enums.RiskGrade;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the admin loan list: the loan plus its internal risk assessment,
+ * which applicants never see.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class AdminLoanDTO extends LoanDTO {
+    private Integer riskScore;
+    private RiskGrade riskGrade;
+    private LocalDateTime riskScoredAt;
+}
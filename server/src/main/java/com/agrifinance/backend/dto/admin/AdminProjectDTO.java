@@ -1,12 +1,36 @@
 package com.agrifinance.backend.dto.admin;
 
-import com.agrifinance.backend.dto.project.ProjectDTO;
+import com.agrifinance.backend.dto.project.GoalDTO;
+import com.agrifinance.backend.model.enums.ProjectStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import lombok.Data;
-import lombok.EqualsAndHashCode;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Row of the admin project list. Carries the owner's identity and goal
+ * counts rather than the full user and goal graph; {@code goals} is only
+ * filled when the caller asks for it.
+ */
 @Data
-@EqualsAndHashCode(callSuper = true)
-public class AdminProjectDTO extends ProjectDTO {
+public class AdminProjectDTO {
+    private String id;
+    private String userId;
+    private String userEmail;
+    private String userFirstName;
+    private String userLastName;
+    private String name;
+    private String description;
+    private ProjectStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime targetDate;
+    private LocalDateTime completedAt;
+    private long totalGoals;
+    private long completedGoals;
     private Integer progress;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<GoalDTO> goals;
 }
@@ -0,0 +1,28 @@
+package com.agrifinance.backend.dto.admin;
+
+import com.agrifinance.backend.model.enums.LoanStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record ApplicantSearchResult(
+        String query,
+        int total,
+        long tookMicros,
+        List<Hit> hits) {
+
+    public record Hit(
+            UUID loanId,
+            UUID userId,
+            String firstName,
+            String lastName,
+            String idNumber,
+            String city,
+            String state,
+            String farmType,
+            LoanStatus status,
+            Double amount,
+            LocalDateTime createdAt) {
+    }
+}
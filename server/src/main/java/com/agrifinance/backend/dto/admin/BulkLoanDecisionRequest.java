@@ -0,0 +1,18 @@
+package com.agrifinance.backend.dto.admin;
+
+import com.agrifinance.backend.model.enums.LoanStatus;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Decisions taken on a batch of applications; {@code decision} is
+ * {@code APPROVED} or {@code REJECTED}.
+ */
+public record BulkLoanDecisionRequest(@NotEmpty List<Decision> decisions) {
+
+    public record Decision(UUID loanId, LoanStatus decision) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.agrifinance.backend.dto.admin;
+
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BulkLoanDecisionResult(
+        int requested,
+        int approved,
+        int rejected,
+        int skipped,
+        long durationMs,
+        List<Outcome> results) {
+
+    /**
+     * What happened to one requested id. {@code currentStatus} is the loan's
+     * status when it was not pending and so left unchanged.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Outcome(UUID loanId, LoanStatus decision, String outcome, LoanStatus currentStatus) {
+        public static final String APPLIED = "APPLIED";
+        public static final String NOT_PENDING = "NOT_PENDING";
+        public static final String NOT_FOUND = "NOT_FOUND";
+        public static final String DUPLICATE = "DUPLICATE";
+        public static final String INVALID_DECISION = "INVALID_DECISION";
+        public static final String FAILED = "FAILED";
+    }
+}
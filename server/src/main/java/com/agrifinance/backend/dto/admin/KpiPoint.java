@@ -0,0 +1,11 @@
+package com.agrifinance.backend.dto.admin;
+
+import java.time.LocalDate;
+
+public record KpiPoint(
+        LocalDate periodStart,
+        long applications,
+        long approvals,
+        double disbursed,
+        double repaid) {
+}
@@ -0,0 +1,13 @@
+package com.agrifinance.backend.dto.admin;
+
+import com.agrifinance.backend.model.enums.KpiGrain;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One point per period from {@code from} to {@code to}, both normalized to
+ * period starts; periods without activity are zero.
+ */
+public record KpiTimeseries(KpiGrain grain, LocalDate from, LocalDate to, List<KpiPoint> points) {
+}
@@ -0,0 +1,37 @@
+package com.agrifinance.backend.dto.admin;
+
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.LoanTermType;
+import com.agrifinance.backend.model.enums.PaymentStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One loan with its installments, written as a single NDJSON line of the
+ * loan book export.
+ */
+public record LoanExportLine(
+        UUID id,
+        String userEmail,
+        String product,
+        LoanStatus status,
+        Double amount,
+        Double interest,
+        Integer term,
+        LoanTermType termType,
+        Double paidAmount,
+        String purpose,
+        LocalDateTime createdAt,
+        List<Installment> payments) {
+
+    public record Installment(
+            UUID id,
+            LocalDateTime dueDate,
+            Double amount,
+            Double paidAmount,
+            PaymentStatus status,
+            LocalDateTime paidDate) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.agrifinance.backend.dto.admin;
+
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.RiskGrade;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Admin loan listing criteria; every field is optional. Dates are
+ * {@code createdFrom} inclusive and {@code createdTo} exclusive.
+ */
+public record LoanFilter(
+        LoanStatus status,
+        Double minAmount,
+        Double maxAmount,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+        String product,
+        UUID userId,
+        RiskGrade riskGrade) {
+}
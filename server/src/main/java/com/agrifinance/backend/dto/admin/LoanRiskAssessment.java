@@ -0,0 +1,23 @@
+package com.agrifinance.backend.dto.admin;
+
+import com.agrifinance.backend.model.enums.RiskGrade;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A loan's risk score with the features behind it. A factor's impact is its
+ * contribution to the log-odds of default: positive makes the loan riskier.
+ */
+public record LoanRiskAssessment(
+        UUID loanId,
+        int score,
+        RiskGrade grade,
+        double probabilityOfDefault,
+        LocalDateTime scoredAt,
+        List<Factor> factors) {
+
+    public record Factor(String name, double impact) {
+    }
+}
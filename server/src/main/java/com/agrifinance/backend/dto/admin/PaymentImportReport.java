@@ -0,0 +1,12 @@
+package com.agrifinance.backend.dto.admin;
+
+import java.util.List;
+
+public record PaymentImportReport(
+        int totalRows,
+        int appliedRows,
+        int failedRows,
+        double totalApplied,
+        long durationMs,
+        List<PaymentImportRowResult> rows) {
+}
@@ -0,0 +1,18 @@
+package com.agrifinance.backend.dto.admin;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PaymentImportRowResult(
+        long line,
+        String loanId,
+        String reference,
+        Double amount,
+        String status,
+        Double amountApplied,
+        Double amountUnapplied,
+        String error) {
+
+    public static final String APPLIED = "APPLIED";
+    public static final String FAILED = "FAILED";
+}
@@ -0,0 +1,18 @@
+package com.agrifinance.backend.dto.admin;
+
+import com.agrifinance.backend.model.enums.ProjectStatus;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Admin project listing criteria; every field is optional.
+ */
+public record ProjectFilter(
+        ProjectStatus status,
+        UUID userId,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+}
@@ -0,0 +1,11 @@
+package com.agrifinance.backend.dto.admin;
+
+public record ReconciliationReport(
+        long loansScanned,
+        long mismatches,
+        long corrected,
+        long legacyMismatches,
+        boolean autoCorrect,
+        String reportFile,
+        long durationMs) {
+}
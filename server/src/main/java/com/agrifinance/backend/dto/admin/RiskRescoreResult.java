@@ -0,0 +1,15 @@
+package com.agrifinance.backend.dto.admin;
+
+/**
+ * Outcome of re-scoring the pending queue. Skipped loans were decided while
+ * the run was underway or have no product terms to score; failed loans were
+ * in a batch whose transaction failed and keep their previous score.
+ */
+public record RiskRescoreResult(
+        int pending,
+        int scored,
+        int skipped,
+        int failed,
+        int batches,
+        long durationMs) {
+}
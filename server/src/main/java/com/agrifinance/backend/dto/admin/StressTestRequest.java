@@ -0,0 +1,14 @@
+package com.agrifinance.backend.dto.admin;
+
+/**
+ * Parameters for a portfolio stress test; any omitted value takes the
+ * configured default.
+ */
+public record StressTestRequest(
+        Integer scenarios,
+        Double baseDefaultRate,
+        Double droughtMultiplier,
+        Double correlation,
+        Double recoveryRate,
+        Long seed) {
+}
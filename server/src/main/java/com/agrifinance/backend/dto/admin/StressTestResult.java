@@ -0,0 +1,16 @@
+package com.agrifinance.backend.dto.admin;
+
+public record StressTestResult(
+        int loans,
+        double totalExposure,
+        int scenarios,
+        long seed,
+        double expectedLoss,
+        double p50Loss,
+        double p90Loss,
+        double p95Loss,
+        double p99Loss,
+        double p999Loss,
+        double maxLoss,
+        long durationMs) {
+}
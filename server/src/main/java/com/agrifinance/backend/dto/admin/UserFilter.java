@@ -0,0 +1,19 @@
+package com.agrifinance.backend.dto.admin;
+
+import com.agrifinance.backend.model.enums.Role;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Admin user listing criteria; every field is optional. {@code email}
+ * matches by prefix.
+ */
+public record UserFilter(
+        Role role,
+        String status,
+        String email,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+}
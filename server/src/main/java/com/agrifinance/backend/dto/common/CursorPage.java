@@ -0,0 +1,10 @@
+package com.agrifinance.backend.dto.common;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is an opaque
+ * cursor for the following page, or null on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
@@ -0,0 +1,21 @@
+package com.agrifinance.backend.dto.loan;
+
+import java.util.List;
+
+/**
+ * Loan dashboard for one user, as returned by {@code GET /api/loans/analytics}.
+ */
+public record LoanAnalytics(
+        int totalLoans,
+        long activeLoans,
+        double totalAmountBorrowed,
+        double totalAmountRepaid,
+        double totalInterestPaid,
+        String nextPaymentDueDate,
+        Double nextPaymentAmount,
+        String nextPaymentLoanId,
+        List<LoanBreakdown> loanBreakdown,
+        List<PaymentHistoryEntry> paymentHistory,
+        double outstandingBalance,
+        double repaymentProgress) {
+}
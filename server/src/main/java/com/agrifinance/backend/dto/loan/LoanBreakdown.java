@@ -0,0 +1,17 @@
+package com.agrifinance.backend.dto.loan;
+
+import com.agrifinance.backend.model.loan.LoanProduct;
+
+/**
+ * Repayment figures for a single loan within {@link LoanAnalytics}.
+ */
+public record LoanBreakdown(
+        String loanId,
+        LoanProduct type,
+        double amount,
+        double interest,
+        String status,
+        String createdAt,
+        double repaidAmount,
+        double remainingAmount) {
+}
@@ -0,0 +1,28 @@
+package com.agrifinance.backend.dto.loan;
+
+import com.agrifinance.backend.model.enums.LoanTermType;
+
+import java.util.List;
+
+/**
+ * Repayment quote for borrowing {@code amount} under a loan product.
+ */
+public record LoanQuote(
+        String productId,
+        double amount,
+        int term,
+        LoanTermType termType,
+        double interestRate,
+        double installment,
+        double totalInterest,
+        double totalPayable,
+        List<QuoteInstallment> schedule) {
+
+    public record QuoteInstallment(
+            int period,
+            double payment,
+            double principal,
+            double interest,
+            double balance) {
+    }
+}
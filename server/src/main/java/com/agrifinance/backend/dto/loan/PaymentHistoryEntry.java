@@ -0,0 +1,14 @@
+package com.agrifinance.backend.dto.loan;
+
+/**
+ * One installment in a user's payment history. {@code status} is the display
+ * label ("Paid", "Overdue" or "Upcoming").
+ */
+public record PaymentHistoryEntry(
+        String paymentId,
+        String loanId,
+        Double amount,
+        String dueDate,
+        String paidDate,
+        String status) {
+}
@@ -0,0 +1,10 @@
+package com.agrifinance.backend.dto.loan;
+
+import java.util.List;
+
+/**
+ * A page of payment history. {@code nextCursor} is an opaque cursor for the
+ * next (older) page, or null when there are no more payments.
+ */
+public record PaymentHistoryPage(List<PaymentHistoryEntry> items, String nextCursor) {
+}
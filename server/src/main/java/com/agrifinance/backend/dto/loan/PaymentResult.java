@@ -0,0 +1,17 @@
+package com.agrifinance.backend.dto.loan;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Outcome of applying a payment across a loan's pending installments.
+ */
+public record PaymentResult(
+        List<ProcessedPayment> processedPayments,
+        double totalPaid,
+        double remainingBalance,
+        boolean isLoanFullyPaid,
+        boolean paymentComplete,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String message) {
+}
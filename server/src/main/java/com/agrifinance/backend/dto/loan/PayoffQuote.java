@@ -0,0 +1,29 @@
+package com.agrifinance.backend.dto.loan;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * What settling a loan, or prepaying part of it, would cost on a given date.
+ * With a prepayment, {@code schedule} re-amortizes the remaining balance over
+ * the installments not yet due; for a full payoff it is empty.
+ */
+public record PayoffQuote(
+        String loanId,
+        LocalDateTime asOf,
+        double payoffAmount,
+        double outstandingPrincipal,
+        double accruedInterest,
+        double interestSaved,
+        Double prepayment,
+        double balanceAfterPrepayment,
+        List<ScheduledInstallment> schedule) {
+
+    public record ScheduledInstallment(
+            LocalDateTime dueDate,
+            double payment,
+            double principal,
+            double interest,
+            double balance) {
+    }
+}
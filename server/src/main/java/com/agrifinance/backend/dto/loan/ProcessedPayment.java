@@ -0,0 +1,18 @@
+package com.agrifinance.backend.dto.loan;
+
+import com.agrifinance.backend.model.enums.PaymentStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+/**
+ * How much of a payment went to one installment. {@code remainingAmount} is
+ * only set when the installment was partially paid.
+ */
+public record ProcessedPayment(
+        UUID paymentId,
+        Double originalDue,
+        Double amountPaid,
+        PaymentStatus status,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Double remainingAmount) {
+}
@@ -0,0 +1,46 @@
+package com.agrifinance.backend.event;
+
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A change the admin dashboard shows as it happens; pushed to connected
+ * dashboards as is, after the change commits.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DashboardDeltaEvent(
+        String type,
+        UUID loanId,
+        UUID userId,
+        LoanStatus status,
+        Double amount,
+        Integer count,
+        LocalDateTime at) {
+
+    public static final String LOAN_APPLIED = "loan-applied";
+    public static final String LOAN_STATUS_CHANGED = "loan-status-changed";
+    public static final String LOANS_DECIDED = "loans-decided";
+    public static final String PAYMENT_RECEIVED = "payment-received";
+
+    public static DashboardDeltaEvent loanApplied(UUID loanId, UUID userId, Double amount, LocalDateTime at) {
+        return new DashboardDeltaEvent(LOAN_APPLIED, loanId, userId, LoanStatus.PENDING, amount, null, at);
+    }
+
+    public static DashboardDeltaEvent statusChanged(UUID loanId, UUID userId, LoanStatus status,
+            LocalDateTime at) {
+        return new DashboardDeltaEvent(LOAN_STATUS_CHANGED, loanId, userId, status, null, null, at);
+    }
+
+    // One delta per bulk decision rather than one per loan, so a large batch cannot overflow dashboard buffers
+    public static DashboardDeltaEvent loansDecided(LoanStatus status, int count, LocalDateTime at) {
+        return new DashboardDeltaEvent(LOANS_DECIDED, null, null, status, null, count, at);
+    }
+
+    public static DashboardDeltaEvent paymentReceived(UUID loanId, UUID userId, LoanStatus status, double amount,
+            LocalDateTime at) {
+        return new DashboardDeltaEvent(PAYMENT_RECEIVED, loanId, userId, status, amount, null, at);
+    }
+}
@@ -0,0 +1,24 @@
+package com.agrifinance.backend.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Loan activity to add to the KPI rollups of the period containing
+ * {@code at}. Negative values undo earlier activity, such as an approval
+ * that is reversed.
+ */
+public record LoanActivityEvent(LocalDateTime at, long applications, long approvals, double disbursed,
+        double repaid) {
+
+    public static LoanActivityEvent applied(LocalDateTime at) {
+        return new LoanActivityEvent(at, 1, 0, 0, 0);
+    }
+
+    public static LoanActivityEvent approved(LocalDateTime at, long loans, double amount) {
+        return new LoanActivityEvent(at, 0, loans, amount, 0);
+    }
+
+    public static LoanActivityEvent repaid(LocalDateTime at, double amount) {
+        return new LoanActivityEvent(at, 0, 0, 0, amount);
+    }
+}
@@ -0,0 +1,12 @@
+package com.agrifinance.backend.event;
+
+import com.agrifinance.backend.model.loan.LoanInfo;
+
+import java.util.UUID;
+
+/**
+ * Published when a new loan application is saved, with the applicant details
+ * it was submitted with.
+ */
+public record LoanAppliedEvent(UUID loanId, LoanInfo info) {
+}
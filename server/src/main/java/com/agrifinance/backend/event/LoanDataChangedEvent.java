@@ -0,0 +1,9 @@
+package com.agrifinance.backend.event;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a user's loans or installments change.
+ */
+public record LoanDataChangedEvent(UUID userId) {
+}
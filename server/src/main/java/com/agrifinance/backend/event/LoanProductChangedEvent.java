@@ -0,0 +1,9 @@
+package com.agrifinance.backend.event;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a loan product's terms change or the product is deleted.
+ */
+public record LoanProductChangedEvent(UUID productId) {
+}
@@ -0,0 +1,9 @@
+package com.agrifinance.backend.event;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a user's projects, goals or tasks change.
+ */
+public record ProjectDataChangedEvent(UUID userId) {
+}
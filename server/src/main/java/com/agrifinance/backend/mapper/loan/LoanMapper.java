@@ -1,7 +1,9 @@
 package com.agrifinance.backend.mapper.loan;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
+import com.agrifinance.backend.dto.admin.AdminLoanDTO;
 import com.agrifinance.backend.dto.loan.LoanDTO;
 import com.agrifinance.backend.model.loan.Loan;
 
@@ -11,10 +13,19 @@ import java.util.List;
 public interface LoanMapper {
     LoanDTO toDTO(Loan loan);
 
+    AdminLoanDTO toAdminDTO(Loan loan);
+
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "approvedAt", ignore = true)
+    @Mapping(target = "riskScore", ignore = true)
+    @Mapping(target = "riskGrade", ignore = true)
+    @Mapping(target = "riskScoredAt", ignore = true)
     Loan toEntity(LoanDTO loanDTO);
 
     List<LoanDTO> toDTOs(List<Loan> loans);
 
+    List<AdminLoanDTO> toAdminDTOs(List<Loan> loans);
+
     List<Loan> toEntities(List<LoanDTO> loanDTOs);
 
 }
\ No newline at end of file
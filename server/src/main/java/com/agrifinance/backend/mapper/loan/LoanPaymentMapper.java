@@ -1,6 +1,7 @@
 package com.agrifinance.backend.mapper.loan;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import com.agrifinance.backend.dto.loan.LoanPaymentDTO;
 import com.agrifinance.backend.model.loan.LoanPayment;
@@ -10,6 +11,14 @@ import java.util.List;
 @Mapper(componentModel = "spring")
 public interface LoanPaymentMapper { 
     LoanPaymentDTO toDTO(LoanPayment loanPayment);
+    @Mapping(target = "paidAmount", ignore = true)
+    @Mapping(target = "principal", ignore = true)
+    @Mapping(target = "interest", ignore = true)
+    @Mapping(target = "activityDate", ignore = true)
+    @Mapping(target = "userId", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "loan.version", ignore = true)
+    @Mapping(target = "loan.approvedAt", ignore = true)
     LoanPayment toEntity(LoanPaymentDTO loanPaymentDTO);
 
     List<LoanPaymentDTO> toDTOs(List<LoanPayment> loanPayments);
@@ -0,0 +1,7 @@
+package com.agrifinance.backend.model.enums;
+
+public enum KpiGrain {
+    DAY,
+    WEEK,
+    MONTH
+}
@@ -4,5 +4,5 @@ public enum PaymentStatus {
     PENDING,
     PAID,
     NOT_PAID,
-    
+    OVERDUE,
 }
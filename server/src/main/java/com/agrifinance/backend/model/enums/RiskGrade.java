@@ -0,0 +1,12 @@
+package com.agrifinance.backend.model.enums;
+
+/**
+ * Risk band of a loan application, from A (lowest risk) to E.
+ */
+public enum RiskGrade {
+    A,
+    B,
+    C,
+    D,
+    E
+}
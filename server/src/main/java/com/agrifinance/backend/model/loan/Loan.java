@@ -1,8 +1,10 @@
 package com.agrifinance.backend.model.loan;
 
 import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.RiskGrade;
 import com.agrifinance.backend.model.user.User;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,8 +19,12 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @Table(indexes = {
-        @Index(name = "idx_loan_user_id", columnList = "user_id"),
-        @Index(name = "idx_loan_status", columnList = "status"),
+        // Also serves lookups by user alone; newest loan first is a backward range scan
+        @Index(name = "idx_loan_user_created", columnList = "user_id, createdAt"),
+        // Status filter of the admin listing, already in (createdAt, id) page order
+        @Index(name = "idx_loan_status_created", columnList = "status, createdAt"),
+        // Officers work the pending queue grade by grade
+        @Index(name = "idx_loan_status_risk_grade", columnList = "status, riskGrade"),
         @Index(name = "idx_loan_created_at", columnList = "createdAt"),
         @Index(name = "idx_loan_product_id", columnList = "loan_product_id")
 })
@@ -47,6 +53,21 @@ public class Loan {
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Set while the loan is approved; dates the approval in the KPI rollups
+    private LocalDateTime approvedAt;
+
+    // Latest automated risk assessment; 100 is the lowest risk
+    private Integer riskScore;
+
+    @Enumerated(EnumType.STRING)
+    private RiskGrade riskGrade;
+
+    private LocalDateTime riskScoredAt;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 
     @PrePersist
     protected void onCreate() {
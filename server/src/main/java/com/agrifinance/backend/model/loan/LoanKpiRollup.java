@@ -0,0 +1,45 @@
+package com.agrifinance.backend.model.loan;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.agrifinance.backend.model.enums.KpiGrain;
+
+/**
+ * Loan activity totals of one day, ISO week or month, so trend charts read a
+ * row per period instead of scanning loans and installments.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "loan_kpi_rollups")
+@IdClass(LoanKpiRollup.Key.class)
+public class LoanKpiRollup {
+    @Id
+    @Enumerated(EnumType.STRING)
+    private KpiGrain grain;
+
+    // First day of the period: the day itself, the Monday of the week or the first of the month
+    @Id
+    private LocalDate periodStart;
+
+    private long applications;
+    private long approvals;
+    private double disbursed;
+    private double repaid;
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private KpiGrain grain;
+        private LocalDate periodStart;
+    }
+}
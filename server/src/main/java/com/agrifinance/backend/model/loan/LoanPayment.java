@@ -2,6 +2,9 @@ package com.agrifinance.backend.model.loan;
 
 import jakarta.persistence.*;
 import lombok.*;
+
+import org.hibernate.annotations.ColumnDefault;
+
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -12,6 +15,11 @@ import com.agrifinance.backend.model.enums.PaymentStatus;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        @Index(name = "idx_payment_loan_activity", columnList = "loan_id, activityDate, id"),
+        @Index(name = "idx_payment_user_activity", columnList = "user_id, activityDate, id"),
+        @Index(name = "idx_payment_status_due", columnList = "status, dueDate")
+})
 public class LoanPayment {
     @Id
     @GeneratedValue
@@ -21,9 +29,40 @@ public class LoanPayment {
     @JoinColumn(name = "loan_id")
     private Loan loan;
 
+    // Owner of the loan, copied here so a user's payment history is paged by index without joining loans
+    @Column(name = "user_id")
+    private UUID userId;
+
+    // Amount still due; partial payments reduce it
     private Double amount;
+    // Total received against this installment, so partial payments stay accounted for
+    private Double paidAmount;
+    // Scheduled split of the installment; null for schedules created before amortization
+    private Double principal;
+    private Double interest;
     private LocalDateTime dueDate;
     private LocalDateTime paidDate;
     @Enumerated(EnumType.STRING)
     private PaymentStatus status;
+
+    // COALESCE(paidDate, dueDate), stored so payment history can be paged by index
+    private LocalDateTime activityDate;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @PrePersist
+    protected void onCreate() {
+        if (userId == null && loan != null && loan.getUser() != null) {
+            userId = loan.getUser().getId();
+        }
+        onSave();
+    }
+
+    @PreUpdate
+    protected void onSave() {
+        activityDate = paidDate != null ? paidDate : dueDate;
+    }
 }
@@ -0,0 +1,34 @@
+package com.agrifinance.backend.model.loan;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Money received against a loan in one payment, dated when it arrived.
+ * Installments only keep their running total, so this is what repayment
+ * trends are rebuilt from.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "loan_receipts", indexes = {
+        @Index(name = "idx_receipt_loan", columnList = "loan_id"),
+        @Index(name = "idx_receipt_received", columnList = "receivedAt")
+})
+public class LoanReceipt {
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "loan_id")
+    private Loan loan;
+
+    private Double amount;
+    private LocalDateTime receivedAt;
+}
@@ -0,0 +1,43 @@
+package com.agrifinance.backend.model.loan;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Per-user projection of loan totals, kept up to date by the loan workflow so
+ * analytics can read one row instead of recomputing over every loan.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "loan_summaries")
+public class LoanSummary {
+    @Id
+    private UUID userId;
+
+    private Double totalBorrowed;
+    private Double totalRepaid;
+    private Double outstandingBalance;
+    private LocalDateTime nextDueDate;
+    private Integer activeLoans;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer totalLoans;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Double interestPaid;
+
+    private LocalDateTime updatedAt;
+}
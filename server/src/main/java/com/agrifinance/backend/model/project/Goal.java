@@ -15,6 +15,8 @@ import com.agrifinance.backend.model.enums.TaskStatus;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@NamedEntityGraph(name = "Goal.tasks", attributeNodes = @NamedAttributeNode(value = "tasks", subgraph = "task"),
+        subgraphs = @NamedSubgraph(name = "task", attributeNodes = @NamedAttributeNode("worker")))
 @Table(name = "goals")
 public class Goal {
     @Id
@@ -16,7 +16,17 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(indexes = @Index(name = "idx_project_user_id", columnList = "user_id"))
+// The owner and the goals in one join; a goal's tasks are a second bag and come from Goal.tasks
+@NamedEntityGraph(name = "Project.goals", attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("goals")
+})
+@Table(indexes = {
+        // Keyset pages of the admin listing: (createdAt, id) newest first, optionally per user or status
+        @Index(name = "idx_project_user_created", columnList = "user_id, createdAt"),
+        @Index(name = "idx_project_status_created", columnList = "status, createdAt"),
+        @Index(name = "idx_project_created_at", columnList = "createdAt")
+})
 public class Project {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -0,0 +1,29 @@
+package com.agrifinance.backend.model.system;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease that lets exactly one application node run a scheduled job at a
+ * time. A node holds the lock until {@code lockedUntil}, so a crashed holder
+ * can never block the job for longer than one lease.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "scheduler_locks")
+public class SchedulerLock {
+    @Id
+    private String name;
+
+    private LocalDateTime lockedUntil;
+    private LocalDateTime lockedAt;
+    private String lockedBy;
+}
@@ -12,7 +12,7 @@ import com.agrifinance.backend.model.enums.Role;
 import com.agrifinance.backend.model.project.Worker;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_created_at", columnList = "createdAt"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,13 +1,20 @@
 package com.agrifinance.backend.repository;
 
 import com.agrifinance.backend.model.project.Goal;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface GoalRepository extends JpaRepository<Goal, UUID> {
     @Query("SELECT g FROM Goal g JOIN g.tasks t WHERE t.id = :taskId")
     Goal findByTaskId(@Param("taskId") UUID taskId);
+
+    // Goals already in the persistence context get their tasks initialized in place
+    @EntityGraph("Goal.tasks")
+    List<Goal> findWithTasksByIdIn(Collection<UUID> ids);
 }
@@ -0,0 +1,30 @@
+package com.agrifinance.backend.repository;
+
+import com.agrifinance.backend.model.enums.KpiGrain;
+import com.agrifinance.backend.model.loan.LoanKpiRollup;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface LoanKpiRollupRepository extends JpaRepository<LoanKpiRollup, LoanKpiRollup.Key> {
+    List<LoanKpiRollup> findByGrainAndPeriodStartBetweenOrderByPeriodStart(KpiGrain grain, LocalDate from,
+            LocalDate to);
+
+    // Creates the period's row or adds to it in one statement, so concurrent writers never race on the insert
+    @Modifying
+    @Query(value = "INSERT INTO loan_kpi_rollups " +
+            "(grain, period_start, applications, approvals, disbursed, repaid, updated_at) " +
+            "VALUES (:grain, :periodStart, :applications, :approvals, :disbursed, :repaid, :now) " +
+            "ON DUPLICATE KEY UPDATE applications = applications + VALUES(applications), " +
+            "approvals = approvals + VALUES(approvals), disbursed = disbursed + VALUES(disbursed), " +
+            "repaid = repaid + VALUES(repaid), updated_at = VALUES(updated_at)", nativeQuery = true)
+    int addActivity(@Param("grain") String grain, @Param("periodStart") LocalDate periodStart,
+            @Param("applications") long applications, @Param("approvals") long approvals,
+            @Param("disbursed") double disbursed, @Param("repaid") double repaid, @Param("now") LocalDateTime now);
+}
@@ -1,11 +1,154 @@
 package com.agrifinance.backend.repository;
 
+import com.agrifinance.backend.model.enums.PaymentStatus;
 import com.agrifinance.backend.model.loan.LoanPayment;
+import com.agrifinance.backend.repository.projection.LoanExposure;
+import com.agrifinance.backend.repository.projection.LoanPaymentTotals;
+import com.agrifinance.backend.repository.projection.OverduePayment;
+import com.agrifinance.backend.repository.projection.RepaymentHistory;
+import com.agrifinance.backend.repository.projection.UnsplitRepayment;
+import com.agrifinance.backend.repository.projection.UserPaymentTotals;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Collection;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface LoanPaymentRepository extends JpaRepository<LoanPayment, UUID> {
-    List<LoanPayment> findByLoanId(UUID loanId);
+    // Filters on the foreign key column; the derived query outer-joins loan and cannot use the loan_id index
+    @Query("SELECT p FROM LoanPayment p WHERE p.loan.id = :loanId")
+    List<LoanPayment> findByLoanId(@Param("loanId") UUID loanId);
+
+    @Query("SELECT p FROM LoanPayment p WHERE p.loan.id = :loanId AND p.status <> PaymentStatus.PAID " +
+            "ORDER BY p.dueDate, p.id")
+    List<LoanPayment> findOutstandingByLoanId(@Param("loanId") UUID loanId);
+
+    @Query("SELECT p.loan.id AS loanId, " +
+            "COALESCE(SUM(CASE WHEN p.status = PaymentStatus.PAID THEN p.amount ELSE 0 END), 0) AS repaidAmount, " +
+            "COALESCE(SUM(CASE WHEN p.status <> PaymentStatus.PAID THEN p.amount ELSE 0 END), 0) AS remainingAmount, " +
+            "MAX(p.amount) AS maxInstallment, " +
+            "COUNT(p) AS installments, " +
+            "SUM(p.interest) AS scheduledInterest " +
+            "FROM LoanPayment p WHERE p.loan.user.id = :userId GROUP BY p.loan.id")
+    List<LoanPaymentTotals> sumByUserIdGroupByLoan(@Param("userId") UUID userId);
+
+    Optional<LoanPayment> findFirstByLoanUserIdAndStatusNotOrderByDueDateAsc(UUID userId, PaymentStatus status);
+
+    // Served by idx_payment_user_activity
+    @Query("SELECT p FROM LoanPayment p WHERE p.userId = :userId " +
+            "ORDER BY p.activityDate DESC, p.id DESC")
+    List<LoanPayment> findHistoryByUserId(@Param("userId") UUID userId, Limit limit);
+
+    @Query("SELECT p FROM LoanPayment p WHERE p.userId = :userId " +
+            "AND (p.activityDate < :beforeDate OR (p.activityDate = :beforeDate AND p.id < :beforeId)) " +
+            "ORDER BY p.activityDate DESC, p.id DESC")
+    List<LoanPayment> findHistoryByUserIdBefore(
+        @Param("userId") UUID userId,
+        @Param("beforeDate") LocalDateTime beforeDate,
+        @Param("beforeId") UUID beforeId,
+        Limit limit
+    );
+
+    // Served by idx_payment_status_due
+    @Query("SELECT p.id AS paymentId, l.user.id AS userId FROM LoanPayment p JOIN p.loan l " +
+            "WHERE p.status IN :statuses AND p.dueDate < :now AND l.status = LoanStatus.APPROVED")
+    List<OverduePayment> findOverdue(
+        @Param("statuses") Collection<PaymentStatus> statuses,
+        @Param("now") LocalDateTime now,
+        Limit limit
+    );
+
+    @Query("SELECT SUM(p.amount) AS outstanding, " +
+            "SUM(CASE WHEN p.status = PaymentStatus.OVERDUE THEN 1 ELSE 0 END) AS overdueInstallments " +
+            "FROM LoanPayment p JOIN p.loan l " +
+            "WHERE l.status = LoanStatus.APPROVED AND p.status <> PaymentStatus.PAID GROUP BY l.id")
+    List<LoanExposure> findOutstandingExposure();
+
+    // Re-checks the status so an installment paid since it was selected is left alone
+    @Modifying
+    @Query("UPDATE LoanPayment p SET p.status = PaymentStatus.OVERDUE, p.version = p.version + 1 " +
+            "WHERE p.id IN :ids AND p.status IN :statuses")
+    int markOverdue(@Param("ids") Collection<UUID> ids, @Param("statuses") Collection<PaymentStatus> statuses);
+
+    @Modifying
+    @Query("UPDATE LoanPayment p SET p.activityDate = COALESCE(p.paidDate, p.dueDate) WHERE p.activityDate IS NULL")
+    int backfillActivityDates();
+
+    @Modifying
+    @Query("UPDATE LoanPayment p SET p.userId = (SELECT l.user.id FROM Loan l WHERE l.id = p.loan.id) " +
+            "WHERE p.userId IS NULL")
+    int backfillUserIds();
+
+    @Query("SELECT p.loan.user.id AS userId, " +
+            "COALESCE(SUM(CASE WHEN p.status = PaymentStatus.PAID THEN p.amount ELSE 0 END), 0) AS totalRepaid, " +
+            // Received money settles an installment's interest before its principal
+            "COALESCE(SUM(CASE WHEN p.interest IS NULL THEN 0 " +
+            "WHEN COALESCE(p.paidAmount, CASE WHEN p.status = PaymentStatus.PAID THEN p.amount ELSE 0 END) >= p.interest " +
+            "THEN p.interest " +
+            "ELSE COALESCE(p.paidAmount, CASE WHEN p.status = PaymentStatus.PAID THEN p.amount ELSE 0 END) END), 0) " +
+            "AS interestPaid, " +
+            "MIN(CASE WHEN p.status <> PaymentStatus.PAID THEN p.dueDate END) AS nextDueDate " +
+            "FROM LoanPayment p WHERE p.loan.user.id = :userId GROUP BY p.loan.user.id")
+    Optional<UserPaymentTotals> sumByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT p.loan.user.id AS userId, " +
+            "COALESCE(SUM(CASE WHEN p.status = PaymentStatus.PAID THEN p.amount ELSE 0 END), 0) AS totalRepaid, " +
+            // Received money settles an installment's interest before its principal
+            "COALESCE(SUM(CASE WHEN p.interest IS NULL THEN 0 " +
+            "WHEN COALESCE(p.paidAmount, CASE WHEN p.status = PaymentStatus.PAID THEN p.amount ELSE 0 END) >= p.interest " +
+            "THEN p.interest " +
+            "ELSE COALESCE(p.paidAmount, CASE WHEN p.status = PaymentStatus.PAID THEN p.amount ELSE 0 END) END), 0) " +
+            "AS interestPaid, " +
+            "MIN(CASE WHEN p.status <> PaymentStatus.PAID THEN p.dueDate END) AS nextDueDate " +
+            "FROM LoanPayment p GROUP BY p.loan.user.id")
+    List<UserPaymentTotals> sumGroupByUser();
+
+    // Loans whose schedule has no principal/interest split at all
+    @Query("SELECT l.user.id AS userId, l.id AS loanId, MAX(d.amount) AS principal, " +
+            "COALESCE(SUM(CASE WHEN p.status = PaymentStatus.PAID THEN p.amount ELSE 0 END), 0) AS repaid " +
+            "FROM LoanPayment p JOIN p.loan l JOIN l.details d WHERE l.user.id = :userId " +
+            "GROUP BY l.user.id, l.id HAVING COUNT(p.interest) = 0")
+    List<UnsplitRepayment> findUnsplitRepaymentByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT l.user.id AS userId, l.id AS loanId, MAX(d.amount) AS principal, " +
+            "COALESCE(SUM(CASE WHEN p.status = PaymentStatus.PAID THEN p.amount ELSE 0 END), 0) AS repaid " +
+            "FROM LoanPayment p JOIN p.loan l JOIN l.details d " +
+            "GROUP BY l.user.id, l.id HAVING COUNT(p.interest) = 0")
+    List<UnsplitRepayment> findUnsplitRepayment();
+
+    @Query("SELECT COALESCE(SUM(p.amount), 0) FROM LoanPayment p " +
+            "WHERE p.loan.id = :loanId AND p.status = PaymentStatus.PAID")
+    double sumPaidByLoanId(@Param("loanId") UUID loanId);
+
+    // Only granted loans have a repayment record; an installment paid without a date counts as on time
+    @Query("SELECT l.user.id AS userId, " +
+            "SUM(CASE WHEN p.dueDate < :now THEN 1 ELSE 0 END) AS dueInstallments, " +
+            "SUM(CASE WHEN p.status = PaymentStatus.PAID AND (p.paidDate IS NULL OR p.paidDate <= p.dueDate) " +
+            "THEN 1 ELSE 0 END) AS paidOnTime, " +
+            "SUM(CASE WHEN p.status = PaymentStatus.PAID AND p.paidDate > p.dueDate THEN 1 ELSE 0 END) AS paidLate, " +
+            "SUM(CASE WHEN p.status <> PaymentStatus.PAID AND p.dueDate < :now THEN 1 ELSE 0 END) " +
+            "AS overdueInstallments, " +
+            "COUNT(DISTINCT CASE WHEN l.status = LoanStatus.APPROVED THEN l.id END) AS activeLoans, " +
+            "COUNT(DISTINCT CASE WHEN l.status = LoanStatus.PAID THEN l.id END) AS repaidLoans " +
+            "FROM LoanPayment p JOIN p.loan l WHERE l.user.id IN :userIds " +
+            "AND l.status IN (LoanStatus.APPROVED, LoanStatus.PAID) GROUP BY l.user.id")
+    List<RepaymentHistory> summarizeRepaymentByUser(@Param("userIds") Collection<UUID> userIds,
+            @Param("now") LocalDateTime now);
+
+    // Loans that received money before receipts were recorded
+    @Query("SELECT DISTINCT p.loan.id FROM LoanPayment p " +
+            "WHERE (p.paidAmount > 0 OR p.status = PaymentStatus.PAID) " +
+            "AND NOT EXISTS (SELECT r.id FROM LoanReceipt r WHERE r.loan = p.loan)")
+    List<UUID> findLoanIdsWithoutReceipts(Limit limit);
+
+    @Query("SELECT p FROM LoanPayment p JOIN FETCH p.loan " +
+            "WHERE p.loan.id IN :loanIds AND (p.paidAmount > 0 OR p.status = PaymentStatus.PAID)")
+    List<LoanPayment> findReceivedByLoanIds(@Param("loanIds") Collection<UUID> loanIds);
 }
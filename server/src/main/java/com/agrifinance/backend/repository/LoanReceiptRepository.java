@@ -0,0 +1,17 @@
+package com.agrifinance.backend.repository;
+
+import com.agrifinance.backend.model.loan.LoanReceipt;
+import com.agrifinance.backend.repository.projection.DailyTotals;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface LoanReceiptRepository extends JpaRepository<LoanReceipt, UUID> {
+    // Money received per day, on the day each payment arrived
+    @Query("SELECT cast(r.receivedAt as LocalDate) AS day, COUNT(r) AS count, SUM(r.amount) AS amount " +
+            "FROM LoanReceipt r GROUP BY cast(r.receivedAt as LocalDate)")
+    List<DailyTotals> sumReceivedByDay();
+}
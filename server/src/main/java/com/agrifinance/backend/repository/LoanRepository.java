@@ -1,44 +1,189 @@
 package com.agrifinance.backend.repository;
 
 import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.RiskGrade;
 import com.agrifinance.backend.model.loan.Loan;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.agrifinance.backend.repository.projection.ApplicantSearchHit;
+import com.agrifinance.backend.repository.projection.ApplicantSearchRow;
+import com.agrifinance.backend.repository.projection.DailyTotals;
+import com.agrifinance.backend.repository.projection.LoanBalanceCheck;
+import com.agrifinance.backend.repository.projection.LoanDecisionState;
+import com.agrifinance.backend.repository.projection.LoanExportRow;
+import com.agrifinance.backend.repository.projection.LoanRiskInput;
+import com.agrifinance.backend.repository.projection.LoanStatusTotals;
+import com.agrifinance.backend.repository.projection.UserLoanTotals;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface LoanRepository extends JpaRepository<Loan, UUID>, JpaSpecificationExecutor<Loan> {
     List<Loan> findByUserId(UUID userId);
+
+    @Query("SELECT l FROM Loan l JOIN FETCH l.user LEFT JOIN FETCH l.details WHERE l.user.id = :userId")
+    List<Loan> findWithDetailsByUserId(@Param("userId") UUID userId);
+
+    // Served by idx_loan_user_created
+    @Query("SELECT l FROM Loan l JOIN FETCH l.user LEFT JOIN FETCH l.details WHERE l.user.id = :userId " +
+            "ORDER BY l.createdAt DESC, l.id DESC")
+    List<Loan> findLatestWithDetailsByUserId(@Param("userId") UUID userId, Limit limit);
+
+    // Reads only the index, which carries the primary key
+    @Query("SELECT l.id FROM Loan l WHERE l.user.id = :userId ORDER BY l.createdAt DESC, l.id DESC")
+    List<UUID> findLatestIdByUserId(@Param("userId") UUID userId, Limit limit);
+
+    @Query("SELECT l FROM Loan l JOIN FETCH l.user LEFT JOIN FETCH l.details WHERE l.id = :id AND l.user.id = :userId")
+    Optional<Loan> findWithDetailsByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    // Applies a payment only if nobody changed the loan since it was read; returns 0 on a conflict
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Loan l SET l.paidAmount = COALESCE(l.paidAmount, 0) + :amount, l.status = :status, " +
+            "l.updatedAt = :now, l.version = l.version + 1 WHERE l.id = :id AND l.version = :version")
+    int applyPayment(@Param("id") UUID id, @Param("version") Long version, @Param("amount") double amount,
+            @Param("status") LoanStatus status, @Param("now") LocalDateTime now);
     
+    @Query("SELECT l.id FROM Loan l ORDER BY l.id")
+    List<UUID> findIds(Limit limit);
+
+    @Query("SELECT l.id FROM Loan l WHERE l.id > :after ORDER BY l.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Limit limit);
+
+    // Installments paid before per-installment tracking have no paidAmount. Partial payments reduced their
+    // amount in place, so it only bounds what they received from below; they are counted separately.
+    @Query("SELECT l.id AS loanId, l.user.id AS userId, l.version AS version, COALESCE(l.paidAmount, 0) AS recordedPaid, " +
+            "COALESCE(SUM(COALESCE(p.paidAmount, " +
+            "CASE WHEN p.status = PaymentStatus.PAID THEN p.amount ELSE 0 END)), 0) AS installmentPaid, " +
+            "COALESCE(SUM(CASE WHEN p.status = PaymentStatus.PAID AND p.paidAmount IS NULL THEN 1 ELSE 0 END), 0) " +
+            "AS legacyInstallments " +
+            "FROM Loan l LEFT JOIN LoanPayment p ON p.loan = l " +
+            "WHERE l.id IN :ids GROUP BY l.id, l.user.id, l.version, l.paidAmount")
+    List<LoanBalanceCheck> checkBalances(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE Loan l SET l.paidAmount = :paidAmount, l.version = l.version + 1 " +
+            "WHERE l.id = :id AND l.version = :version")
+    int correctPaidAmount(@Param("id") UUID id, @Param("version") Long version,
+            @Param("paidAmount") double paidAmount);
+
+    // Locks the rows so the conditional update below moves exactly the loans reported as pending
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l.id AS id, l.status AS status, l.user.id AS userId FROM Loan l WHERE l.id IN :ids")
+    List<LoanDecisionState> lockDecisionStates(@Param("ids") Collection<UUID> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Loan l SET l.status = :decision, l.approvedAt = :approvedAt, l.updatedAt = :now, " +
+            "l.version = l.version + 1 WHERE l.id IN :ids AND l.status = LoanStatus.PENDING")
+    int decidePending(@Param("ids") Collection<UUID> ids, @Param("decision") LoanStatus decision,
+            @Param("approvedAt") LocalDateTime approvedAt, @Param("now") LocalDateTime now);
+
     @Query("SELECT l FROM Loan l WHERE l.user.id = :userId AND l.status = :status")
     List<Loan> findByUserIdAndStatus(@Param("userId") UUID userId, @Param("status") LoanStatus status);
     
-    @Query("SELECT l FROM Loan l WHERE l.details.name = :name")
-    Page<Loan> findByName(@Param("name") String name, Pageable pageable);
-    
-    @Query("SELECT l FROM Loan l WHERE l.details.amount BETWEEN :minAmount AND :maxAmount")
-    Page<Loan> findByAmountRange(
-        @Param("minAmount") Double minAmount, 
-        @Param("maxAmount") Double maxAmount, 
-        Pageable pageable
-    );
-    
-    @Query("SELECT l FROM Loan l WHERE l.status = :status AND l.createdAt BETWEEN :startDate AND :endDate")
-    List<Loan> findByStatusAndDateRange(
-        @Param("status") LoanStatus status,
-        @Param("startDate") LocalDateTime startDate,
-        @Param("endDate") LocalDateTime endDate
-    );
-    
+    // Forward-only scroll over the loan book, one row per installment and a loan's rows adjacent.
+    // Read in fetch-size batches (MySQL needs useCursorFetch) and never added to the persistence context.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT l.id AS loanId, u.email AS userEmail, d.name AS product, l.status AS status, " +
+            "d.amount AS amount, d.interest AS interest, d.term AS term, d.termType AS termType, " +
+            "l.paidAmount AS paidAmount, l.purpose AS purpose, l.createdAt AS createdAt, " +
+            "p.id AS paymentId, p.dueDate AS dueDate, p.amount AS paymentAmount, " +
+            "p.paidAmount AS paymentPaidAmount, p.status AS paymentStatus, p.paidDate AS paidDate " +
+            "FROM Loan l LEFT JOIN l.user u LEFT JOIN l.details d LEFT JOIN LoanPayment p ON p.loan = l " +
+            "ORDER BY l.id")
+    Stream<LoanExportRow> streamExportRows();
+
+    // Feeds the applicant search index on startup, in insertion order so the newest loans rank first
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT l.id AS loanId, l.info.personal.firstName AS firstName, l.info.personal.lastName AS lastName, " +
+            "l.info.personal.idNumber AS idNumber, l.info.personal.city AS city, l.info.personal.state AS state, " +
+            "l.info.financial.incomeSource AS incomeSource, " +
+            "l.info.financial.employmentStatus AS employmentStatus, l.info.financial.farmType AS farmType, " +
+            "l.info.financial.bankName AS bankName, l.info.financial.bankBranch AS bankBranch, " +
+            "l.info.financial.accountHolderName AS accountHolderName " +
+            "FROM Loan l ORDER BY l.createdAt, l.id")
+    Stream<ApplicantSearchRow> streamApplicantSearchRows();
+
+    @Query("SELECT l.id AS loanId, l.user.id AS userId, l.info.personal.firstName AS firstName, " +
+            "l.info.personal.lastName AS lastName, l.info.personal.idNumber AS idNumber, " +
+            "l.info.personal.city AS city, l.info.personal.state AS state, " +
+            "l.info.financial.farmType AS farmType, l.status AS status, d.amount AS amount, " +
+            "l.createdAt AS createdAt FROM Loan l LEFT JOIN l.details d WHERE l.id IN :ids")
+    List<ApplicantSearchHit> findApplicantSearchHits(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT l.id FROM Loan l WHERE l.status = :status ORDER BY l.id")
+    List<UUID> findIdsByStatus(@Param("status") LoanStatus status);
+
+    @Query("SELECT l.id AS loanId, l.user.id AS userId, l.info.financial.monthlyIncome AS monthlyIncome, " +
+            "l.info.financial.farmingExperience AS farmingExperience, l.info.financial.farmType AS farmType, " +
+            "l.info.financial.employmentStatus AS employmentStatus, d.amount AS amount, " +
+            "d.interest AS interest, d.term AS term, d.termType AS termType " +
+            "FROM Loan l LEFT JOIN l.details d WHERE l.id IN :ids")
+    List<LoanRiskInput> findRiskInputs(@Param("ids") Collection<UUID> ids);
+
+    // Leaves the version alone: a score refresh must not fail an officer's concurrent decision
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Loan l SET l.riskScore = :score, l.riskGrade = :grade, l.riskScoredAt = :scoredAt " +
+            "WHERE l.id IN :ids")
+    int updateRiskScore(@Param("ids") Collection<UUID> ids, @Param("score") int score,
+            @Param("grade") RiskGrade grade, @Param("scoredAt") LocalDateTime scoredAt);
+
+    @Query("SELECT cast(l.createdAt as LocalDate) AS day, COUNT(l) AS count, 0.0 AS amount " +
+            "FROM Loan l WHERE l.createdAt IS NOT NULL GROUP BY cast(l.createdAt as LocalDate)")
+    List<DailyTotals> countApplicationsByDay();
+
+    // Loans approved before approvedAt was recorded fall back to their last update
+    @Query("SELECT cast(COALESCE(l.approvedAt, l.updatedAt) as LocalDate) AS day, COUNT(l) AS count, " +
+            "COALESCE(SUM(d.amount), 0) AS amount FROM Loan l LEFT JOIN l.details d " +
+            "WHERE l.status IN (LoanStatus.APPROVED, LoanStatus.PAID) " +
+            "AND COALESCE(l.approvedAt, l.updatedAt) IS NOT NULL " +
+            "GROUP BY cast(COALESCE(l.approvedAt, l.updatedAt) as LocalDate)")
+    List<DailyTotals> sumApprovalsByDay();
+
+    @Query("SELECT COALESCE(SUM(d.amount), 0) FROM Loan l JOIN l.details d WHERE l.id IN :ids")
+    double sumAmountByIds(@Param("ids") Collection<UUID> ids);
+
     @Query("SELECT COALESCE(SUM(l.details.amount), 0) FROM Loan l WHERE l.status = LoanStatus.APPROVED")
     Double getTotalApprovedLoanAmount();
     
     @Query("SELECT COUNT(l) FROM Loan l WHERE l.status = :status")
     long countByStatus(@Param("status") LoanStatus status);
+
+    // One row per status; covers countByStatus and getTotalApprovedLoanAmount in a single scan
+    @Query("SELECT l.status AS status, COUNT(l) AS loans, COALESCE(SUM(d.amount), 0) AS amount, " +
+            "COALESCE(SUM(l.paidAmount), 0) AS repaid " +
+            "FROM Loan l LEFT JOIN l.details d GROUP BY l.status")
+    List<LoanStatusTotals> sumGroupByStatus();
+
+    @Query("SELECT l.user.id AS userId, COALESCE(SUM(l.details.amount), 0) AS totalBorrowed, " +
+            "SUM(CASE WHEN l.status = LoanStatus.APPROVED THEN 1 ELSE 0 END) AS activeLoans, " +
+            "COUNT(l) AS totalLoans " +
+            "FROM Loan l WHERE l.user.id = :userId GROUP BY l.user.id")
+    Optional<UserLoanTotals> sumByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT l.user.id AS userId, COALESCE(SUM(l.details.amount), 0) AS totalBorrowed, " +
+            "SUM(CASE WHEN l.status = LoanStatus.APPROVED THEN 1 ELSE 0 END) AS activeLoans, " +
+            "COUNT(l) AS totalLoans " +
+            "FROM Loan l GROUP BY l.user.id")
+    List<UserLoanTotals> sumGroupByUser();
 }
@@ -0,0 +1,66 @@
+package com.agrifinance.backend.repository;
+
+import com.agrifinance.backend.model.loan.LoanSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface LoanSummaryRepository extends JpaRepository<LoanSummary, UUID> {
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE LoanSummary s SET " +
+            "s.totalBorrowed = s.totalBorrowed + :borrowed, " +
+            "s.totalRepaid = s.totalRepaid + :repaid, " +
+            "s.outstandingBalance = s.outstandingBalance + :borrowed - :repaid, " +
+            "s.activeLoans = s.activeLoans + :active, " +
+            "s.totalLoans = s.totalLoans + :loans, " +
+            "s.interestPaid = s.interestPaid + :interest, " +
+            "s.updatedAt = :now " +
+            "WHERE s.userId = :userId")
+    int applyDelta(
+        @Param("userId") UUID userId,
+        @Param("borrowed") double borrowed,
+        @Param("repaid") double repaid,
+        @Param("active") int active,
+        @Param("loans") int loans,
+        @Param("interest") double interest,
+        @Param("now") LocalDateTime now
+    );
+
+    /*
+     * Inserts the row derived from the source tables, or adds the delta when
+     * another transaction created it first. The insert of a concurrent first
+     * change blocks on the same key until that transaction commits, and its
+     * derived row cannot have seen this change, so adding the delta is exact.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO loan_summaries (user_id, total_borrowed, total_repaid, outstanding_balance, " +
+            "next_due_date, active_loans, total_loans, interest_paid, updated_at) " +
+            "VALUES (:#{#summary.userId}, :#{#summary.totalBorrowed}, :#{#summary.totalRepaid}, " +
+            ":#{#summary.outstandingBalance}, :#{#summary.nextDueDate}, :#{#summary.activeLoans}, " +
+            ":#{#summary.totalLoans}, :#{#summary.interestPaid}, :now) " +
+            "ON DUPLICATE KEY UPDATE total_borrowed = total_borrowed + :borrowed, " +
+            "total_repaid = total_repaid + :repaid, " +
+            "outstanding_balance = outstanding_balance + :borrowed - :repaid, " +
+            "active_loans = active_loans + :active, total_loans = total_loans + :loans, " +
+            "interest_paid = interest_paid + :interest, updated_at = :now", nativeQuery = true)
+    int insertOrApplyDelta(
+        @Param("summary") LoanSummary summary,
+        @Param("borrowed") double borrowed,
+        @Param("repaid") double repaid,
+        @Param("active") int active,
+        @Param("loans") int loans,
+        @Param("interest") double interest,
+        @Param("now") LocalDateTime now
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE LoanSummary s SET s.nextDueDate = " +
+            "(SELECT MIN(p.dueDate) FROM LoanPayment p " +
+            "WHERE p.loan.user.id = :userId AND p.status <> PaymentStatus.PAID) " +
+            "WHERE s.userId = :userId")
+    int refreshNextDueDate(@Param("userId") UUID userId);
+}
@@ -1,12 +1,16 @@
 package com.agrifinance.backend.repository;
 
 import com.agrifinance.backend.model.project.Project;
+import com.agrifinance.backend.repository.projection.ProjectProgress;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ProjectRepository extends JpaRepository<Project, UUID>, JpaSpecificationExecutor<Project> {
@@ -17,12 +21,21 @@ public interface ProjectRepository extends JpaRepository<Project, UUID>, JpaSpec
                      "LEFT JOIN FETCH p.user u")
        List<Project> findAllWithGoals();
 
-   
-       @Query("SELECT p FROM Project p " +
-                     "LEFT JOIN FETCH p.goals g " +
-                     "LEFT JOIN FETCH g.tasks " +
-                     "WHERE p.id IN :projectIds")
-       List<Project> findProjectsWithGoalsAndTasks(@Param("projectIds") List<UUID> projectIds);
+       // Owner and goals only; tasks are a second bag, read with GoalRepository.findWithTasksByIdIn
+       @EntityGraph("Project.goals")
+       List<Project> findWithGoalsByUserIdOrderByCreatedAtAsc(UUID userId);
+
+       @EntityGraph("Project.goals")
+       Optional<Project> findWithGoalsById(UUID id);
+
+       // Completed goals are those with tasks minus those with an unfinished task, all in one pass
+       @Query("SELECT p.id AS projectId, COUNT(DISTINCT g.id) AS totalGoals, " +
+                     "COUNT(DISTINCT CASE WHEN t.id IS NOT NULL THEN g.id END) - " +
+                     "COUNT(DISTINCT CASE WHEN t.id IS NOT NULL AND (t.status IS NULL " +
+                     "OR t.status <> TaskStatus.COMPLETED) THEN g.id END) AS completedGoals " +
+                     "FROM Project p JOIN p.goals g LEFT JOIN g.tasks t " +
+                     "WHERE p.id IN :projectIds GROUP BY p.id")
+       List<ProjectProgress> findProgress(@Param("projectIds") Collection<UUID> projectIds);
 
        @Query("SELECT p FROM Project p " +
               "LEFT JOIN FETCH p.goals g " +
@@ -0,0 +1,30 @@
+package com.agrifinance.backend.repository.projection;
+
+import com.agrifinance.backend.model.enums.LoanStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface ApplicantSearchHit {
+    UUID getLoanId();
+
+    UUID getUserId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getIdNumber();
+
+    String getCity();
+
+    String getState();
+
+    String getFarmType();
+
+    LoanStatus getStatus();
+
+    Double getAmount();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,32 @@
+package com.agrifinance.backend.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * The searchable applicant fields of one loan application.
+ */
+public interface ApplicantSearchRow {
+    UUID getLoanId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getIdNumber();
+
+    String getCity();
+
+    String getState();
+
+    String getIncomeSource();
+
+    String getEmploymentStatus();
+
+    String getFarmType();
+
+    String getBankName();
+
+    String getBankBranch();
+
+    String getAccountHolderName();
+}
@@ -0,0 +1,14 @@
+package com.agrifinance.backend.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Number of events and their amount on one day.
+ */
+public interface DailyTotals {
+    LocalDate getDay();
+
+    Long getCount();
+
+    Double getAmount();
+}
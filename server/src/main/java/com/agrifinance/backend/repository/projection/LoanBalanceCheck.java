@@ -0,0 +1,22 @@
+package com.agrifinance.backend.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * A loan's recorded paid amount next to the amount received by its
+ * installments. With legacy installments the received amount is only a
+ * lower bound.
+ */
+public interface LoanBalanceCheck {
+    UUID getLoanId();
+
+    UUID getUserId();
+
+    Long getVersion();
+
+    Double getRecordedPaid();
+
+    Double getInstallmentPaid();
+
+    Long getLegacyInstallments();
+}
@@ -0,0 +1,16 @@
+package com.agrifinance.backend.repository.projection;
+
+import com.agrifinance.backend.model.enums.LoanStatus;
+
+import java.util.UUID;
+
+/**
+ * Status and owner of a loan, read under a row lock before a bulk decision.
+ */
+public interface LoanDecisionState {
+    UUID getId();
+
+    LoanStatus getStatus();
+
+    UUID getUserId();
+}
@@ -0,0 +1,48 @@
+package com.agrifinance.backend.repository.projection;
+
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.LoanTermType;
+import com.agrifinance.backend.model.enums.PaymentStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One installment of a loan together with the loan's columns; the payment
+ * columns are null for a loan without a schedule.
+ */
+public interface LoanExportRow {
+    UUID getLoanId();
+
+    String getUserEmail();
+
+    String getProduct();
+
+    LoanStatus getStatus();
+
+    Double getAmount();
+
+    Double getInterest();
+
+    Integer getTerm();
+
+    LoanTermType getTermType();
+
+    Double getPaidAmount();
+
+    String getPurpose();
+
+    LocalDateTime getCreatedAt();
+
+    UUID getPaymentId();
+
+    LocalDateTime getDueDate();
+
+    Double getPaymentAmount();
+
+    Double getPaymentPaidAmount();
+
+    PaymentStatus getPaymentStatus();
+
+    LocalDateTime getPaidDate();
+}
@@ -0,0 +1,10 @@
+package com.agrifinance.backend.repository.projection;
+
+/**
+ * Amount still due on an approved loan and how many of its installments are overdue.
+ */
+public interface LoanExposure {
+    Double getOutstanding();
+
+    Long getOverdueInstallments();
+}
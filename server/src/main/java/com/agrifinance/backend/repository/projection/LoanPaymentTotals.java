@@ -0,0 +1,21 @@
+package com.agrifinance.backend.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Per-loan installment totals computed by a single grouped query.
+ */
+public interface LoanPaymentTotals {
+    UUID getLoanId();
+
+    Double getRepaidAmount();
+
+    Double getRemainingAmount();
+
+    Double getMaxInstallment();
+
+    Long getInstallments();
+
+    // Null when the loan's schedule predates the principal/interest split
+    Double getScheduledInterest();
+}
@@ -0,0 +1,30 @@
+package com.agrifinance.backend.repository.projection;
+
+import com.agrifinance.backend.model.enums.LoanTermType;
+
+import java.util.UUID;
+
+/**
+ * The application columns a loan's risk score is computed from.
+ */
+public interface LoanRiskInput {
+    UUID getLoanId();
+
+    UUID getUserId();
+
+    Double getMonthlyIncome();
+
+    Integer getFarmingExperience();
+
+    String getFarmType();
+
+    String getEmploymentStatus();
+
+    Double getAmount();
+
+    Double getInterest();
+
+    Integer getTerm();
+
+    LoanTermType getTermType();
+}
@@ -0,0 +1,16 @@
+package com.agrifinance.backend.repository.projection;
+
+import com.agrifinance.backend.model.enums.LoanStatus;
+
+/**
+ * Loan count, principal and repaid amount for one loan status.
+ */
+public interface LoanStatusTotals {
+    LoanStatus getStatus();
+
+    Long getLoans();
+
+    Double getAmount();
+
+    Double getRepaid();
+}
@@ -0,0 +1,12 @@
+package com.agrifinance.backend.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * A past-due installment and the user who owes it.
+ */
+public interface OverduePayment {
+    UUID getPaymentId();
+
+    UUID getUserId();
+}
@@ -0,0 +1,15 @@
+package com.agrifinance.backend.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Goal counts of one project; a goal is completed when it has tasks and all
+ * of them are completed.
+ */
+public interface ProjectProgress {
+    UUID getProjectId();
+
+    Long getTotalGoals();
+
+    Long getCompletedGoals();
+}
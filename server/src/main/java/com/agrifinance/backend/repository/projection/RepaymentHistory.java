@@ -0,0 +1,22 @@
+package com.agrifinance.backend.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * How one user has repaid the loans they were granted so far.
+ */
+public interface RepaymentHistory {
+    UUID getUserId();
+
+    Long getDueInstallments();
+
+    Long getPaidOnTime();
+
+    Long getPaidLate();
+
+    Long getOverdueInstallments();
+
+    Long getActiveLoans();
+
+    Long getRepaidLoans();
+}
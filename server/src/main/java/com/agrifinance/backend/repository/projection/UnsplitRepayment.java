@@ -0,0 +1,17 @@
+package com.agrifinance.backend.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Principal and repaid amount of a loan whose schedule predates the
+ * principal/interest split, for the principal-first interest fallback.
+ */
+public interface UnsplitRepayment {
+    UUID getUserId();
+
+    UUID getLoanId();
+
+    Double getPrincipal();
+
+    Double getRepaid();
+}
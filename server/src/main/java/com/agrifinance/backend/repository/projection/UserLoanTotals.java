@@ -0,0 +1,16 @@
+package com.agrifinance.backend.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Borrowed amount, loan count and active loan count for one user.
+ */
+public interface UserLoanTotals {
+    UUID getUserId();
+
+    Double getTotalBorrowed();
+
+    Long getActiveLoans();
+
+    Long getTotalLoans();
+}
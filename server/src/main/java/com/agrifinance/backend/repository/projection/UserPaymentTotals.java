@@ -0,0 +1,18 @@
+package com.agrifinance.backend.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Repaid amount, interest paid and earliest unpaid due date for one user.
+ */
+public interface UserPaymentTotals {
+    UUID getUserId();
+
+    Double getTotalRepaid();
+
+    LocalDateTime getNextDueDate();
+
+    // Over installments that carry the principal/interest split only
+    Double getInterestPaid();
+}
@@ -0,0 +1,45 @@
+package com.agrifinance.backend.repository.specification;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a listing ordered newest first by a timestamp and the id:
+ * (createdAt, id) for the admin listings, (activityDate, id) for payment
+ * history. Pages continue strictly after the last row of the previous page,
+ * so a page costs the same index range scan at any depth, unlike an OFFSET.
+ */
+public record KeysetCursor(LocalDateTime timestamp, UUID id) {
+    public static final Sort ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new KeysetCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String position = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Rows that come after this position in ORDER
+    public <T> Specification<T> after() {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), timestamp),
+                cb.and(cb.equal(root.get("createdAt"), timestamp), cb.lessThan(root.get("id"), id)));
+    }
+}
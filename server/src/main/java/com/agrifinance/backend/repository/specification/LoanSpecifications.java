@@ -0,0 +1,80 @@
+package com.agrifinance.backend.repository.specification;
+
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.RiskGrade;
+import com.agrifinance.backend.model.loan.Loan;
+
+import jakarta.persistence.criteria.JoinType;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Filters for the admin loan listing. Each returns null when its criterion
+ * is absent, so they can be combined with {@link Specification#allOf}.
+ */
+public final class LoanSpecifications {
+    private LoanSpecifications() {
+    }
+
+    // Loads the user and product with the page instead of one select per row
+    public static Specification<Loan> fetchUserAndDetails() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("user", JoinType.LEFT);
+                root.fetch("details", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    public static Specification<Loan> hasStatus(LoanStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Loan> hasRiskGrade(RiskGrade grade) {
+        return grade == null ? null : (root, query, cb) -> cb.equal(root.get("riskGrade"), grade);
+    }
+
+    public static Specification<Loan> belongsTo(UUID userId) {
+        return userId == null ? null : (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Loan> amountBetween(Double min, Double max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            var amount = root.join("details", JoinType.INNER).<Double>get("amount");
+            if (min == null) {
+                return cb.le(amount, max);
+            }
+            return max == null ? cb.ge(amount, min) : cb.between(amount, min, max);
+        };
+    }
+
+    public static Specification<Loan> createdBetween(LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            var createdAt = root.<LocalDateTime>get("createdAt");
+            if (from == null) {
+                return cb.lessThan(createdAt, to);
+            }
+            return to == null ? cb.greaterThanOrEqualTo(createdAt, from)
+                    : cb.and(cb.greaterThanOrEqualTo(createdAt, from), cb.lessThan(createdAt, to));
+        };
+    }
+
+    public static Specification<Loan> productNameContains(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + name.trim().toLowerCase(Locale.ROOT) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.join("details", JoinType.INNER).get("name")), pattern);
+    }
+}
@@ -0,0 +1,50 @@
+package com.agrifinance.backend.repository.specification;
+
+import com.agrifinance.backend.model.enums.ProjectStatus;
+import com.agrifinance.backend.model.project.Project;
+
+import jakarta.persistence.criteria.JoinType;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Filters for the admin project listing; absent criteria return null.
+ */
+public final class ProjectSpecifications {
+    private ProjectSpecifications() {
+    }
+
+    public static Specification<Project> fetchUser() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("user", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    public static Specification<Project> hasStatus(ProjectStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Project> belongsTo(UUID userId) {
+        return userId == null ? null : (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Project> createdBetween(LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            var createdAt = root.<LocalDateTime>get("createdAt");
+            if (from == null) {
+                return cb.lessThan(createdAt, to);
+            }
+            return to == null ? cb.greaterThanOrEqualTo(createdAt, from)
+                    : cb.and(cb.greaterThanOrEqualTo(createdAt, from), cb.lessThan(createdAt, to));
+        };
+    }
+}
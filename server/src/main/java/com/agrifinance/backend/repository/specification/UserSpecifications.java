@@ -0,0 +1,47 @@
+package com.agrifinance.backend.repository.specification;
+
+import com.agrifinance.backend.model.enums.Role;
+import com.agrifinance.backend.model.user.User;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters for the admin user listing; absent criteria return null.
+ */
+public final class UserSpecifications {
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> hasRole(Role role) {
+        return role == null ? null : (root, query, cb) -> cb.equal(root.get("role"), role);
+    }
+
+    public static Specification<User> hasStatus(String status) {
+        return status == null || status.isBlank() ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    // Prefix match so the unique email index can be used
+    public static Specification<User> emailStartsWith(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        String pattern = email.trim() + "%";
+        return (root, query, cb) -> cb.like(root.get("email"), pattern);
+    }
+
+    public static Specification<User> createdBetween(LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            var createdAt = root.<LocalDateTime>get("createdAt");
+            if (from == null) {
+                return cb.lessThan(createdAt, to);
+            }
+            return to == null ? cb.greaterThanOrEqualTo(createdAt, from)
+                    : cb.and(cb.greaterThanOrEqualTo(createdAt, from), cb.lessThan(createdAt, to));
+        };
+    }
+}
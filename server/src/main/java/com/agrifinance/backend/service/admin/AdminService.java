@@ -2,34 +2,52 @@ package com.agrifinance.backend.service.admin;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 import java.util.UUID;
+import java.util.function.Function;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.agrifinance.backend.config.CacheConfig;
 import com.agrifinance.backend.dto.admin.AdminDashboardStats;
+import com.agrifinance.backend.dto.admin.AdminLoanDTO;
 import com.agrifinance.backend.dto.admin.AdminProjectDTO;
+import com.agrifinance.backend.dto.admin.LoanFilter;
+import com.agrifinance.backend.dto.admin.LoanStatusDistribution;
+import com.agrifinance.backend.dto.admin.ProjectFilter;
+import com.agrifinance.backend.dto.admin.UserFilter;
+import com.agrifinance.backend.dto.common.CursorPage;
 import com.agrifinance.backend.dto.loan.LoanDTO;
 import com.agrifinance.backend.dto.loan.LoanProductDTO;
-import com.agrifinance.backend.dto.project.ProjectDTO;
 import com.agrifinance.backend.dto.user.UserDTO;
+import com.agrifinance.backend.event.DashboardDeltaEvent;
+import com.agrifinance.backend.event.LoanActivityEvent;
+import com.agrifinance.backend.event.LoanDataChangedEvent;
+import com.agrifinance.backend.event.LoanProductChangedEvent;
 import com.agrifinance.backend.mapper.loan.LoanMapper;
 import com.agrifinance.backend.mapper.loan.LoanProductMapper;
-import com.agrifinance.backend.mapper.project.ProjectMapper;
+import com.agrifinance.backend.mapper.project.GoalMapper;
 import com.agrifinance.backend.mapper.user.UserMapper;
 import com.agrifinance.backend.model.enums.LoanStatus;
-import com.agrifinance.backend.model.enums.TaskStatus;
 import com.agrifinance.backend.model.loan.Loan;
 import com.agrifinance.backend.model.loan.LoanProduct;
-import com.agrifinance.backend.model.project.Task;
 import com.agrifinance.backend.model.user.User;
 import com.agrifinance.backend.model.project.Project;
-import com.agrifinance.backend.model.project.Goal;
 import com.agrifinance.backend.repository.LoanRepository;
 import com.agrifinance.backend.repository.ProjectRepository;
 import com.agrifinance.backend.repository.UserRepository;
 import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.repository.projection.LoanStatusTotals;
+import com.agrifinance.backend.repository.projection.ProjectProgress;
+import com.agrifinance.backend.repository.specification.KeysetCursor;
+import com.agrifinance.backend.repository.specification.LoanSpecifications;
+import com.agrifinance.backend.repository.specification.ProjectSpecifications;
+import com.agrifinance.backend.repository.specification.UserSpecifications;
+import com.agrifinance.backend.service.loan.LoanSummaryService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -37,112 +55,162 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class AdminService {
+    private static final int MAX_PAGE_SIZE = 200;
 
     private final UserRepository userRepository;
     private final LoanRepository loanRepository;
     private final ProjectRepository projectRepository;
-    private final ProjectMapper projectMapper;
+    private final GoalMapper goalMapper;
     private final LoanMapper loanMapper;
     private final LoanProductRepository loanProductRepository;
     private final LoanProductMapper loanProductMapper;
     private final UserMapper userMapper;
-
-    public List<LoanDTO> getAllLoans() {
-        return loanMapper.toDTOs(loanRepository.findAll());
+    private final LoanSummaryService loanSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CursorPage<AdminLoanDTO> getLoans(LoanFilter filter, String cursor, int size) {
+        Specification<Loan> spec = Specification.allOf(
+                LoanSpecifications.fetchUserAndDetails(),
+                LoanSpecifications.hasStatus(filter.status()),
+                LoanSpecifications.belongsTo(filter.userId()),
+                LoanSpecifications.amountBetween(filter.minAmount(), filter.maxAmount()),
+                LoanSpecifications.createdBetween(filter.createdFrom(), filter.createdTo()),
+                LoanSpecifications.productNameContains(filter.product()),
+                LoanSpecifications.hasRiskGrade(filter.riskGrade()));
+        return page(loanRepository, spec, cursor, size,
+                loan -> new KeysetCursor(loan.getCreatedAt(), loan.getId()), loanMapper::toAdminDTOs);
     }
 
-    @Transactional(readOnly = true)
-    public List<AdminProjectDTO> getAllProjects() {
-        List<Project> projects = projectRepository.findAll();
-
-        // if (!projects.isEmpty()) {
-        // List<UUID> projectIds = projects.stream()
-        // .map(Project::getId)
-        // .collect(Collectors.toList());
-
-        // // List<Goal> goals = projectRepository.findGoalsByProjectIds(projectIds);
-
-        // // Map<UUID, List<Goal>> goalsByProjectId = goals.stream()
-        // // .collect(Collectors.groupingBy(goal -> goal.getProject().getId()));
-
-        // // projects.forEach(project -> {
-        // // List<Goal> Goals = goalsByProjectId.get(project.getId());
-        // // if (Goals != null) {
-        // // project.setGoals(Goals);
-        // // } else {
-        // // project.setGoals(new ArrayList<>());
-        // // }
-        // // });
-        // }
-
-        return projects.stream()
-                .map(this::mapToAdminProjectDTO)
-                .collect(Collectors.toList());
+    // Progress comes from one grouped query; goals and tasks are only loaded when includeGoals is set
+    public CursorPage<AdminProjectDTO> getProjects(ProjectFilter filter, String cursor, int size,
+            boolean includeGoals) {
+        Specification<Project> spec = Specification.allOf(
+                ProjectSpecifications.fetchUser(),
+                ProjectSpecifications.hasStatus(filter.status()),
+                ProjectSpecifications.belongsTo(filter.userId()),
+                ProjectSpecifications.createdBetween(filter.createdFrom(), filter.createdTo()));
+        return page(projectRepository, spec, cursor, size,
+                project -> new KeysetCursor(project.getCreatedAt(), project.getId()),
+                projects -> toAdminProjectDTOs(projects, includeGoals));
     }
 
-    private AdminProjectDTO mapToAdminProjectDTO(Project project) {
-        ProjectDTO projectDTO = projectMapper.toDTO(project);
-
-        AdminProjectDTO adminDTO = new AdminProjectDTO();
-        adminDTO.setId(projectDTO.getId());
-        adminDTO.setUser(projectDTO.getUser());
-        adminDTO.setName(projectDTO.getName());
-        adminDTO.setDescription(projectDTO.getDescription());
-        adminDTO.setStatus(projectDTO.getStatus());
-        adminDTO.setGoals(projectDTO.getGoals());
-        adminDTO.setCreatedAt(projectDTO.getCreatedAt());
-        adminDTO.setUpdatedAt(projectDTO.getUpdatedAt());
-        adminDTO.setTargetDate(projectDTO.getTargetDate());
-        adminDTO.setCompletedAt(projectDTO.getCompletedAt());
-
-        adminDTO.setProgress(calculateProjectProgress(project));
-
-        return adminDTO;
+    public CursorPage<UserDTO> getUsers(UserFilter filter, String cursor, int size) {
+        Specification<User> spec = Specification.allOf(
+                UserSpecifications.hasRole(filter.role()),
+                UserSpecifications.hasStatus(filter.status()),
+                UserSpecifications.emailStartsWith(filter.email()),
+                UserSpecifications.createdBetween(filter.createdFrom(), filter.createdTo()));
+        return page(userRepository, spec, cursor, size,
+                user -> new KeysetCursor(user.getCreatedAt(), user.getId()), userMapper::toDTOs);
     }
 
-    private int calculateProjectProgress(Project project) {
-        List<Goal> goals = project.getGoals();
-        if (goals == null || goals.isEmpty()) {
-            return 0;
+    // Reads one row past the page to learn whether another page follows
+    private <E, D> CursorPage<D> page(JpaSpecificationExecutor<E> repository, Specification<E> filter,
+            String cursor, int size, Function<E, KeysetCursor> position, Function<List<E>, List<D>> mapper) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
         }
-
-        long totalGoals = goals.size();
-        long completedGoals = goals.stream()
-                .filter(goal -> isGoalCompleted(goal))
-                .count();
-
-        return totalGoals > 0 ? (int) ((completedGoals * 100) / totalGoals) : 0;
-    }
-
-    private boolean isGoalCompleted(Goal goal) {
-        List<Task> tasks = goal.getTasks();
-        if (tasks == null || tasks.isEmpty()) {
-            return false;
+        int limit = Math.min(size, MAX_PAGE_SIZE);
+        Specification<E> spec = cursor == null || cursor.isBlank() ? filter
+                : filter.and(KeysetCursor.decode(cursor).after());
+        List<E> rows = repository.findBy(spec, query -> query.sortBy(KeysetCursor.ORDER).limit(limit + 1).all());
+        if (rows.size() <= limit) {
+            return new CursorPage<>(mapper.apply(rows), null);
         }
-
-        return tasks.stream()
-                .filter(Objects::nonNull)
-                .allMatch(task -> task.getStatus() == TaskStatus.COMPLETED);
+        List<E> items = rows.subList(0, limit);
+        return new CursorPage<>(mapper.apply(items), position.apply(items.get(limit - 1)).encode());
     }
 
-    public List<UserDTO> getAllUsers() {
-        return userMapper.toDTOs(userRepository.findAll());
+    private List<AdminProjectDTO> toAdminProjectDTOs(List<Project> projects, boolean includeGoals) {
+        if (projects.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, ProjectProgress> progress = new HashMap<>();
+        for (ProjectProgress row : projectRepository.findProgress(projects.stream().map(Project::getId).toList())) {
+            progress.put(row.getProjectId(), row);
+        }
+        List<AdminProjectDTO> dtos = new ArrayList<>(projects.size());
+        for (Project project : projects) {
+            AdminProjectDTO dto = new AdminProjectDTO();
+            dto.setId(project.getId().toString());
+            if (project.getUser() != null) {
+                dto.setUserId(project.getUser().getId().toString());
+                dto.setUserEmail(project.getUser().getEmail());
+                dto.setUserFirstName(project.getUser().getFirstName());
+                dto.setUserLastName(project.getUser().getLastName());
+            }
+            dto.setName(project.getName());
+            dto.setDescription(project.getDescription());
+            dto.setStatus(project.getStatus());
+            dto.setCreatedAt(project.getCreatedAt());
+            dto.setUpdatedAt(project.getUpdatedAt());
+            dto.setTargetDate(project.getTargetDate());
+            dto.setCompletedAt(project.getCompletedAt());
+
+            ProjectProgress counts = progress.get(project.getId());
+            long total = counts != null ? counts.getTotalGoals() : 0;
+            long completed = counts != null ? counts.getCompletedGoals() : 0;
+            dto.setTotalGoals(total);
+            dto.setCompletedGoals(completed);
+            dto.setProgress(total > 0 ? (int) (completed * 100 / total) : 0);
+            if (includeGoals) {
+                dto.setGoals(goalMapper.toDTOs(project.getGoals()));
+            }
+            dtos.add(dto);
+        }
+        return dtos;
     }
 
+    @Transactional
     public LoanDTO approveLoan(UUID id) {
         Loan loan = loanRepository.findById(id).orElseThrow();
+        boolean wasActive = loan.getStatus() == LoanStatus.APPROVED;
+        LocalDateTime now = LocalDateTime.now();
         loan.setStatus(LoanStatus.APPROVED);
-        loan.setUpdatedAt(LocalDateTime.now());
+        loan.setUpdatedAt(now);
+        if (!wasActive) {
+            loan.setApprovedAt(now);
+        }
         Loan saved = loanRepository.save(loan);
-        System.out.println("Saved \n\n\n" + saved);
+        if (!wasActive) {
+            loanSummaryService.onLoanActivated(loan.getUser().getId());
+            eventPublisher.publishEvent(LoanActivityEvent.approved(now, 1, loanAmount(loan)));
+        }
+        eventPublisher.publishEvent(new LoanDataChangedEvent(loan.getUser().getId()));
+        eventPublisher.publishEvent(DashboardDeltaEvent.statusChanged(id, loan.getUser().getId(),
+                LoanStatus.APPROVED, now));
         return loanMapper.toDTO(saved);
     }
 
+    @Transactional
     public LoanDTO rejectLoan(UUID id) {
         Loan loan = loanRepository.findById(id).orElseThrow();
+        boolean wasActive = loan.getStatus() == LoanStatus.APPROVED;
+        LocalDateTime approvedAt = loan.getApprovedAt();
         loan.setStatus(LoanStatus.REJECTED);
         loan.setUpdatedAt(LocalDateTime.now());
-        return loanMapper.toDTO(loanRepository.save(loan));
+        loan.setApprovedAt(null);
+        Loan saved = loanRepository.save(loan);
+        if (wasActive) {
+            loanSummaryService.onLoanDeactivated(loan.getUser().getId());
+            // Taken back from the period that counted the approval
+            eventPublisher.publishEvent(LoanActivityEvent.approved(
+                    approvedAt != null ? approvedAt : loan.getUpdatedAt(), -1, -loanAmount(loan)));
+        }
+        eventPublisher.publishEvent(new LoanDataChangedEvent(loan.getUser().getId()));
+        eventPublisher.publishEvent(DashboardDeltaEvent.statusChanged(id, loan.getUser().getId(),
+                LoanStatus.REJECTED, loan.getUpdatedAt()));
+        return loanMapper.toDTO(saved);
+    }
+
+    private double loanAmount(Loan loan) {
+        return loan.getDetails() != null && loan.getDetails().getAmount() != null ? loan.getDetails().getAmount() : 0.0;
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.LOAN_ANALYTICS, allEntries = true)
+    public int rebuildLoanSummaries() {
+        return loanSummaryService.rebuildAll();
     }
 
     public LoanProductDTO addLoanProduct(LoanProductDTO loanProductDTO) {
@@ -173,6 +241,7 @@ public class AdminService {
 
                     // Save and return the updated product
                     updatedProduct = loanProductRepository.save(updatedProduct);
+                    eventPublisher.publishEvent(new LoanProductChangedEvent(id));
                     return loanProductMapper.toDTO(updatedProduct);
                 })
                 .orElseThrow(() -> new RuntimeException("Loan product not found with id: " + id));
@@ -184,17 +253,48 @@ public class AdminService {
             throw new RuntimeException("Loan product not found with id: " + id);
         }
         loanProductRepository.deleteById(id);
+        eventPublisher.publishEvent(new LoanProductChangedEvent(id));
     }
 
+    /**
+     * Builds the admin dashboard from three aggregate queries: user count,
+     * project count and loan totals grouped by status. The total loan amount
+     * is the principal of approved loans; total repaid covers every loan.
+     */
     public AdminDashboardStats getAdminDashboard() {
-        AdminDashboardStats adminDashboardStats = new AdminDashboardStats();
-        List<User> users = userRepository.findAll();
-        List<Loan> loans = loanRepository.findAll();
-        List<Project> projects = projectRepository.findAll();
-        adminDashboardStats.setTotalUsers(users.size());
-        adminDashboardStats.setTotalLoans(loans.size());
-        adminDashboardStats.setTotalProjects(projects.size());
+        Map<LoanStatus, LoanStatusTotals> totalsByStatus = new EnumMap<>(LoanStatus.class);
+        for (LoanStatusTotals totals : loanRepository.sumGroupByStatus()) {
+            if (totals.getStatus() != null) {
+                totalsByStatus.put(totals.getStatus(), totals);
+            }
+        }
 
+        long totalLoans = 0;
+        double totalRepaid = 0;
+        List<LoanStatusDistribution> distribution = new ArrayList<>(LoanStatus.values().length);
+        for (LoanStatus status : LoanStatus.values()) {
+            LoanStatusTotals totals = totalsByStatus.get(status);
+            LoanStatusDistribution entry = new LoanStatusDistribution();
+            entry.setStatus(status);
+            entry.setCount(totals != null ? totals.getLoans().doubleValue() : 0.0);
+            entry.setAmount(totals != null ? totals.getAmount() : 0.0);
+            distribution.add(entry);
+            if (totals != null) {
+                totalLoans += totals.getLoans();
+                totalRepaid += totals.getRepaid();
+            }
+        }
+
+        AdminDashboardStats adminDashboardStats = new AdminDashboardStats();
+        adminDashboardStats.setTotalUsers(Math.toIntExact(userRepository.count()));
+        adminDashboardStats.setTotalProjects(Math.toIntExact(projectRepository.count()));
+        adminDashboardStats.setTotalLoans(Math.toIntExact(totalLoans));
+        adminDashboardStats.setPendingLoans(distribution.get(LoanStatus.PENDING.ordinal()).getCount());
+        adminDashboardStats.setApprovedLoans(distribution.get(LoanStatus.APPROVED.ordinal()).getCount());
+        adminDashboardStats.setRejectedLoans(distribution.get(LoanStatus.REJECTED.ordinal()).getCount());
+        adminDashboardStats.setTotalLoanAmount(distribution.get(LoanStatus.APPROVED.ordinal()).getAmount());
+        adminDashboardStats.setTotalRepaid(totalRepaid);
+        adminDashboardStats.setLoanStatusDistribution(distribution);
         return adminDashboardStats;
     }
 }
@@ -0,0 +1,318 @@
+package com.agrifinance.backend.service.admin;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index from applicant terms to loan applications.
+ * Applications are numbered in the order they are added and a term's
+ * postings are kept as a growing array of those numbers, so an application
+ * costs two longs plus one int per distinct term. Terms sit in a sorted map
+ * for prefix lookups; terms from free-text fields are also registered under
+ * each of their one-character deletions, which finds every term within one
+ * edit of a query token with a handful of hash lookups instead of a scan of
+ * the dictionary.
+ *
+ * A query token matches a term equal to it or starting with it, or failing
+ * that a text term one edit away; every token must match. Matches without
+ * any fuzzy token rank first, newest application first within each tier.
+ */
+public final class ApplicantIndex {
+    // Shorter tokens only match exactly; shorter words have too many neighbours to correct
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_QUERY_TOKENS = 8;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NOT_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+",
+            Pattern.UNICODE_CHARACTER_CLASS);
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[\\s,;/]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    // One-character deletion of a text term -> the terms it came from
+    private final Map<String, List<String>> deletions = new HashMap<>();
+    private long[] mostSignificant = new long[1024];
+    private long[] leastSignificant = new long[1024];
+    private int size;
+
+    public record Matches(int total, List<UUID> loanIds) {
+    }
+
+    private static final class Postings {
+        private final boolean text;
+        private int[] documents = new int[2];
+        private int size;
+
+        Postings(boolean text) {
+            this.text = text;
+        }
+
+        void add(int document) {
+            // Documents arrive in increasing order; a term repeated within one is kept once
+            if (size > 0 && documents[size - 1] == document) {
+                return;
+            }
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+
+        void addTo(BitSet matches) {
+            for (int i = 0; i < size; i++) {
+                matches.set(documents[i]);
+            }
+        }
+    }
+
+    /**
+     * Adds one application. Text values (names, places, farm details) are split
+     * into words and may be matched fuzzily; codes (an ID number) are indexed
+     * whole with punctuation removed and only match exactly or by prefix.
+     */
+    public void add(UUID loanId, Collection<String> texts, Collection<String> codes) {
+        lock.writeLock().lock();
+        try {
+            if (size == mostSignificant.length) {
+                mostSignificant = Arrays.copyOf(mostSignificant, size * 2);
+                leastSignificant = Arrays.copyOf(leastSignificant, size * 2);
+            }
+            int document = size++;
+            mostSignificant[document] = loanId.getMostSignificantBits();
+            leastSignificant[document] = loanId.getLeastSignificantBits();
+            for (String text : texts) {
+                for (String term : textTerms(text)) {
+                    post(term, document, true);
+                }
+            }
+            for (String code : codes) {
+                String term = normalize(code);
+                if (!term.isEmpty()) {
+                    post(term, document, false);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The given loan ids that have an application in the index
+    Set<UUID> indexed(Set<UUID> loanIds) {
+        Set<UUID> result = new HashSet<>();
+        if (loanIds.isEmpty()) {
+            return result;
+        }
+        lock.readLock().lock();
+        try {
+            for (int document = 0; document < size; document++) {
+                UUID loanId = new UUID(mostSignificant[document], leastSignificant[document]);
+                if (loanIds.contains(loanId)) {
+                    result.add(loanId);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int terms() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Matches search(String query, int limit) {
+        List<String> tokens = queryTokens(query);
+        if (tokens.isEmpty()) {
+            return new Matches(0, List.of());
+        }
+        lock.readLock().lock();
+        try {
+            BitSet strict = null;
+            BitSet loose = null;
+            for (String token : tokens) {
+                BitSet exact = prefixMatches(token);
+                BitSet fuzzy = (BitSet) exact.clone();
+                fuzzyMatches(token, fuzzy);
+                strict = intersect(strict, exact);
+                loose = intersect(loose, fuzzy);
+            }
+
+            loose.andNot(strict);
+            Set<UUID> loanIds = new LinkedHashSet<>();
+            collect(strict, limit, loanIds);
+            collect(loose, limit, loanIds);
+            return new Matches(strict.cardinality() + loose.cardinality(), new ArrayList<>(loanIds));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void post(String term, int document, boolean text) {
+        Postings postings = terms.get(term);
+        if (postings == null) {
+            postings = new Postings(text);
+            terms.put(term, postings);
+            if (text && term.length() >= MIN_FUZZY_LENGTH) {
+                for (String deletion : deletionsOf(term)) {
+                    List<String> sources = deletions.computeIfAbsent(deletion, key -> new ArrayList<>(1));
+                    if (!sources.contains(term)) {
+                        sources.add(term);
+                    }
+                }
+            }
+        }
+        postings.add(document);
+    }
+
+    private BitSet prefixMatches(String token) {
+        BitSet matches = new BitSet(size);
+        if (token.length() < MIN_PREFIX_LENGTH) {
+            Postings postings = terms.get(token);
+            if (postings != null) {
+                postings.addTo(matches);
+            }
+            return matches;
+        }
+        for (Postings postings : terms.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+            postings.addTo(matches);
+        }
+        return matches;
+    }
+
+    private void fuzzyMatches(String token, BitSet matches) {
+        if (token.length() < MIN_FUZZY_LENGTH) {
+            return;
+        }
+        Set<String> candidates = new HashSet<>();
+        // The token with one character inserted
+        candidates.addAll(deletions.getOrDefault(token, List.of()));
+        for (String deletion : deletionsOf(token)) {
+            // The token with one character removed
+            candidates.add(deletion);
+            // The token with one character replaced, or two adjacent ones swapped
+            candidates.addAll(deletions.getOrDefault(deletion, List.of()));
+        }
+        for (String candidate : candidates) {
+            Postings postings = terms.get(candidate);
+            if (postings != null && postings.text && withinOneEdit(token, candidate)) {
+                postings.addTo(matches);
+            }
+        }
+    }
+
+    private static BitSet intersect(BitSet current, BitSet matches) {
+        if (current == null) {
+            return matches;
+        }
+        current.and(matches);
+        return current;
+    }
+
+    private void collect(BitSet matches, int limit, Set<UUID> loanIds) {
+        for (int document = matches.length() - 1; document >= 0 && loanIds.size() < limit;
+                document = matches.previousSetBit(document - 1)) {
+            loanIds.add(new UUID(mostSignificant[document], leastSignificant[document]));
+        }
+    }
+
+    // "Mary-Jane O'Brien" -> maryjane, mary, jane, obrien, o, brien
+    static List<String> textTerms(String value) {
+        if (value == null) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>();
+        for (String word : WORD_SEPARATORS.split(stripMarks(value))) {
+            String joined = NOT_ALPHANUMERIC.matcher(word).replaceAll("");
+            if (joined.isEmpty()) {
+                continue;
+            }
+            result.add(joined);
+            String[] parts = NOT_ALPHANUMERIC.split(word);
+            if (parts.length > 1) {
+                for (String part : parts) {
+                    if (!part.isEmpty()) {
+                        result.add(part);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    // Query words are matched in their joined form only, so "o'brien" finds obrien
+    static List<String> queryTokens(String query) {
+        if (query == null) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>();
+        for (String word : WORD_SEPARATORS.split(stripMarks(query))) {
+            String token = NOT_ALPHANUMERIC.matcher(word).replaceAll("");
+            if (!token.isEmpty() && !result.contains(token) && result.size() < MAX_QUERY_TOKENS) {
+                result.add(token);
+            }
+        }
+        return result;
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : NOT_ALPHANUMERIC.matcher(stripMarks(value)).replaceAll("");
+    }
+
+    private static String stripMarks(String value) {
+        // Most values are plain ASCII and have nothing to decompose
+        if (value.chars().allMatch(c -> c < 0x80)) {
+            return value.toLowerCase(Locale.ROOT).trim();
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static List<String> deletionsOf(String term) {
+        List<String> result = new ArrayList<>(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            result.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return result;
+    }
+
+    // True when one insertion, deletion, substitution or adjacent swap turns a into b
+    static boolean withinOneEdit(String a, String b) {
+        if (Math.abs(a.length() - b.length()) > 1) {
+            return false;
+        }
+        int start = 0;
+        while (start < a.length() && start < b.length() && a.charAt(start) == b.charAt(start)) {
+            start++;
+        }
+        int endA = a.length();
+        int endB = b.length();
+        while (endA > start && endB > start && a.charAt(endA - 1) == b.charAt(endB - 1)) {
+            endA--;
+            endB--;
+        }
+        int differentA = endA - start;
+        int differentB = endB - start;
+        if (differentA <= 1 && differentB <= 1) {
+            return true;
+        }
+        return differentA == 2 && differentB == 2
+                && a.charAt(start) == b.charAt(start + 1) && a.charAt(start + 1) == b.charAt(start);
+    }
+}
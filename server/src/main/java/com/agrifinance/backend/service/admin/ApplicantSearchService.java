@@ -0,0 +1,199 @@
+package com.agrifinance.backend.service.admin;
+
+import com.agrifinance.backend.dto.admin.ApplicantSearchResult;
+import com.agrifinance.backend.event.LoanAppliedEvent;
+import com.agrifinance.backend.model.loan.FinancialInfo;
+import com.agrifinance.backend.model.loan.LoanInfo;
+import com.agrifinance.backend.model.loan.PersonalInfo;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.projection.ApplicantSearchHit;
+import com.agrifinance.backend.repository.projection.ApplicantSearchRow;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Applicant search for loan officers over the {@link PersonalInfo} and
+ * {@link FinancialInfo} of every application. The {@link ApplicantIndex} is
+ * built from the database in the background once the application is ready,
+ * and each new application is added after it commits; applications made
+ * while a rebuild runs are replayed into the rebuilt index before it is
+ * swapped in. A search resolves loan ids from the index and loads only the
+ * returned page of applications.
+ */
+@Service
+public class ApplicantSearchService {
+    static final int MAX_LIMIT = 100;
+
+    private final LoanRepository loanRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Timer searchTimer;
+    private final Timer rebuildTimer;
+    private final Counter failedRebuilds;
+    private final boolean rebuildOnStartup;
+    private volatile ApplicantIndex index = new ApplicantIndex();
+    // Non-null while a rebuild runs; guarded by this
+    private List<Application> appliedDuringRebuild;
+
+    private record Application(UUID loanId, List<String> texts, List<String> codes) {
+    }
+
+    public ApplicantSearchService(LoanRepository loanRepository, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${search.applicants.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.loanRepository = loanRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.searchTimer = Timer.builder("applicants.search")
+                .description("Applicant index lookups")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("applicants.index.rebuild")
+                .description("Applicant index rebuilds from the database")
+                .register(meterRegistry);
+        this.failedRebuilds = Counter.builder("applicants.index.rebuild.failures")
+                .description("Background applicant index rebuilds that failed")
+                .register(meterRegistry);
+        Gauge.builder("applicants.index.size", this, service -> service.index.size())
+                .description("Loan applications in the applicant search index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (rebuildOnStartup) {
+            Thread.ofPlatform().name("applicant-index-rebuild").daemon(true).start(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    // Searches keep the index built so far; an admin can retry the rebuild
+                    failedRebuilds.increment();
+                }
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onLoanApplied(LoanAppliedEvent event) {
+        LoanInfo info = event.info();
+        Application application = application(event.loanId(),
+                info != null ? info.getPersonal() : null, info != null ? info.getFinancial() : null);
+        add(index, application);
+        if (appliedDuringRebuild != null) {
+            appliedDuringRebuild.add(application);
+        }
+    }
+
+    /**
+     * Replaces the index with one built from every loan in the database and
+     * returns the number of applications indexed. Searches keep using the
+     * old index until the new one is complete.
+     */
+    public int rebuild() {
+        synchronized (this) {
+            if (appliedDuringRebuild != null) {
+                throw new IllegalStateException("An applicant index rebuild is already running");
+            }
+            appliedDuringRebuild = new ArrayList<>();
+        }
+        try {
+            long started = System.nanoTime();
+            ApplicantIndex rebuilt = new ApplicantIndex();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ApplicantSearchRow> rows = loanRepository.streamApplicantSearchRows()) {
+                    rows.forEach(row -> add(rebuilt, application(row)));
+                }
+            });
+            synchronized (this) {
+                // Applications that committed before the stream read them are already indexed
+                Set<UUID> streamed = rebuilt.indexed(appliedDuringRebuild.stream()
+                        .map(Application::loanId)
+                        .collect(Collectors.toSet()));
+                for (Application application : appliedDuringRebuild) {
+                    if (!streamed.contains(application.loanId())) {
+                        add(rebuilt, application);
+                    }
+                }
+                index = rebuilt;
+            }
+            rebuildTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return rebuilt.size();
+        } finally {
+            synchronized (this) {
+                appliedDuringRebuild = null;
+            }
+        }
+    }
+
+    public ApplicantSearchResult search(String query, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        long started = System.nanoTime();
+        ApplicantIndex.Matches matches = searchTimer.record(() -> index.search(query, limit));
+        List<ApplicantSearchResult.Hit> hits = new ArrayList<>(matches.loanIds().size());
+        if (!matches.loanIds().isEmpty()) {
+            Map<UUID, ApplicantSearchHit> loaded = loanRepository.findApplicantSearchHits(matches.loanIds())
+                    .stream()
+                    .collect(Collectors.toMap(ApplicantSearchHit::getLoanId, Function.identity()));
+            // In index rank order
+            for (UUID loanId : matches.loanIds()) {
+                ApplicantSearchHit hit = loaded.get(loanId);
+                if (hit != null) {
+                    hits.add(new ApplicantSearchResult.Hit(hit.getLoanId(), hit.getUserId(), hit.getFirstName(),
+                            hit.getLastName(), hit.getIdNumber(), hit.getCity(), hit.getState(),
+                            hit.getFarmType(), hit.getStatus(), hit.getAmount(), hit.getCreatedAt()));
+                }
+            }
+        }
+        return new ApplicantSearchResult(query, matches.total(), (System.nanoTime() - started) / 1_000, hits);
+    }
+
+    public int indexedApplications() {
+        return index.size();
+    }
+
+    private static void add(ApplicantIndex target, Application application) {
+        target.add(application.loanId(), application.texts(), application.codes());
+    }
+
+    private static Application application(UUID loanId, PersonalInfo personal, FinancialInfo financial) {
+        List<String> texts = new ArrayList<>();
+        List<String> codes = new ArrayList<>();
+        if (personal != null) {
+            texts.addAll(Arrays.asList(personal.getFirstName(), personal.getLastName(), personal.getCity(),
+                    personal.getState()));
+            codes.add(personal.getIdNumber());
+        }
+        if (financial != null) {
+            texts.addAll(Arrays.asList(financial.getIncomeSource(), financial.getEmploymentStatus(),
+                    financial.getFarmType(), financial.getBankName(), financial.getBankBranch(),
+                    financial.getAccountHolderName()));
+        }
+        return new Application(loanId, texts, codes);
+    }
+
+    private static Application application(ApplicantSearchRow row) {
+        return new Application(row.getLoanId(),
+                Arrays.asList(row.getFirstName(), row.getLastName(), row.getCity(), row.getState(),
+                        row.getIncomeSource(), row.getEmploymentStatus(), row.getFarmType(), row.getBankName(),
+                        row.getBankBranch(), row.getAccountHolderName()),
+                Arrays.asList(row.getIdNumber()));
+    }
+}
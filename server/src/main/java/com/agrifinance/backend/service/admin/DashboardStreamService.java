@@ -0,0 +1,173 @@
+package com.agrifinance.backend.service.admin;
+
+import com.agrifinance.backend.event.DashboardDeltaEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Pushes {@link DashboardDeltaEvent}s to every connected admin dashboard
+ * over Server-Sent Events. Each delta is serialized once and offered to
+ * every subscriber's bounded buffer; a subscriber is written to by its own
+ * virtual thread, so a slow connection only ever delays itself. A subscriber
+ * whose buffer is full is disconnected rather than slowing the publisher or
+ * growing without bound; its client reconnects and reloads the dashboard.
+ */
+@Service
+public class DashboardStreamService {
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ThreadFactory senderFactory = Thread.ofVirtual().name("dashboard-stream-", 0).factory();
+    private final Counter published;
+    private final Counter dropped;
+
+    // Destination of one subscriber's frames
+    interface Sink {
+        void send(Set<DataWithMediaType> frame) throws IOException;
+
+        void complete();
+    }
+
+    public DashboardStreamService(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${admin.events.buffer-size:256}") int bufferSize,
+            @Value("${admin.events.timeout:30m}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.published = Counter.builder("admin.events.published")
+                .description("Dashboard deltas fanned out to subscribers")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("admin.events.dropped")
+                .description("Dashboard subscribers disconnected for falling behind")
+                .register(meterRegistry);
+        Gauge.builder("admin.events.subscribers", subscribers, List::size)
+                .description("Connected dashboard subscribers")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = subscribe(new Sink() {
+            @Override
+            public void send(Set<DataWithMediaType> frame) throws IOException {
+                emitter.send(frame);
+            }
+
+            @Override
+            public void complete() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+        return emitter;
+    }
+
+    Subscriber subscribe(Sink sink) {
+        Subscriber subscriber = new Subscriber(sink, new ArrayBlockingQueue<>(bufferSize));
+        // Tells the client to load the dashboard once; deltas follow
+        subscriber.queue.offer(SseEmitter.event().name("connected").data("{}", MediaType.APPLICATION_JSON).build());
+        // The sender exists before the subscriber is visible to close(); an interrupt before it starts is kept
+        subscribers.add(subscriber);
+        subscriber.sender.start();
+        return subscriber;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDelta(DashboardDeltaEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        broadcast(SseEmitter.event().name(event.type()).data(json, MediaType.APPLICATION_JSON).build());
+        published.increment();
+    }
+
+    // Keeps idle connections open through proxies and finds dead ones
+    @Scheduled(fixedRateString = "${admin.events.heartbeat-interval:15000}")
+    public void heartbeat() {
+        if (!subscribers.isEmpty()) {
+            broadcast(SseEmitter.event().comment("heartbeat").build());
+        }
+    }
+
+    private void broadcast(Set<DataWithMediaType> frame) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.queue.offer(frame)) {
+                dropped.increment();
+                close(subscriber);
+            }
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            // The sender completes the stream itself; completing here could wait on a blocked write
+            subscriber.sender.interrupt();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(this::close);
+    }
+
+    final class Subscriber {
+        private final Sink sink;
+        private final BlockingQueue<Set<DataWithMediaType>> queue;
+        private final Thread sender;
+
+        Subscriber(Sink sink, BlockingQueue<Set<DataWithMediaType>> queue) {
+            this.sink = sink;
+            this.queue = queue;
+            this.sender = senderFactory.newThread(this::drain);
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    sink.send(queue.take());
+                }
+            } catch (InterruptedException | IOException | RuntimeException e) {
+                // Dropped, shut down, or the client went away
+            } finally {
+                close(this);
+                sink.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.agrifinance.backend.service.admin;
+
+import com.agrifinance.backend.dto.admin.BulkLoanDecisionRequest.Decision;
+import com.agrifinance.backend.dto.admin.BulkLoanDecisionResult;
+import com.agrifinance.backend.dto.admin.BulkLoanDecisionResult.Outcome;
+import com.agrifinance.backend.event.DashboardDeltaEvent;
+import com.agrifinance.backend.event.LoanActivityEvent;
+import com.agrifinance.backend.event.LoanDataChangedEvent;
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.projection.LoanDecisionState;
+import com.agrifinance.backend.service.loan.LoanSummaryService;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies approve/reject decisions to many loans at once. Ids are handled
+ * in chunks, each in its own transaction: the chunk's rows are locked and
+ * read as a projection, then every decision moves its pending loans with one
+ * conditional UPDATE. Only {@link LoanStatus#PENDING} loans change; any other
+ * id is reported with its current status and left alone.
+ */
+@Service
+@RequiredArgsConstructor
+public class LoanDecisionService {
+    private final LoanRepository loanRepository;
+    private final LoanSummaryService loanSummaryService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${loans.decisions.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${loans.decisions.max-batch:10000}")
+    private int maxBatch;
+
+    public BulkLoanDecisionResult decide(List<Decision> decisions) {
+        long started = System.nanoTime();
+        if (decisions == null || decisions.isEmpty()) {
+            throw new IllegalArgumentException("No decisions given");
+        }
+        if (decisions.size() > maxBatch) {
+            throw new IllegalArgumentException("At most " + maxBatch + " decisions per request");
+        }
+
+        Outcome[] outcomes = new Outcome[decisions.size()];
+        // Position of the first decision per loan; later ones for the same loan are duplicates
+        Map<UUID, Integer> positions = new LinkedHashMap<>();
+        for (int i = 0; i < decisions.size(); i++) {
+            Decision decision = decisions.get(i);
+            if (decision == null || decision.loanId() == null
+                    || (decision.decision() != LoanStatus.APPROVED && decision.decision() != LoanStatus.REJECTED)) {
+                outcomes[i] = new Outcome(decision != null ? decision.loanId() : null,
+                        decision != null ? decision.decision() : null, Outcome.INVALID_DECISION, null);
+            } else if (positions.putIfAbsent(decision.loanId(), i) != null) {
+                outcomes[i] = new Outcome(decision.loanId(), decision.decision(), Outcome.DUPLICATE, null);
+            }
+        }
+
+        List<UUID> ids = new ArrayList<>(positions.keySet());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> decideChunk(chunk, decisions, positions, outcomes));
+            } catch (RuntimeException e) {
+                // The chunk rolled back as a whole
+                for (UUID id : chunk) {
+                    int position = positions.get(id);
+                    outcomes[position] = new Outcome(id, decisions.get(position).decision(), Outcome.FAILED, null);
+                }
+            }
+        }
+
+        int approved = 0;
+        int rejected = 0;
+        for (Outcome outcome : outcomes) {
+            if (Outcome.APPLIED.equals(outcome.outcome())) {
+                if (outcome.decision() == LoanStatus.APPROVED) {
+                    approved++;
+                } else {
+                    rejected++;
+                }
+            }
+        }
+        return new BulkLoanDecisionResult(decisions.size(), approved, rejected,
+                decisions.size() - approved - rejected, (System.nanoTime() - started) / 1_000_000,
+                Arrays.asList(outcomes));
+    }
+
+    private void decideChunk(List<UUID> chunk, List<Decision> decisions, Map<UUID, Integer> positions,
+            Outcome[] outcomes) {
+        Map<UUID, LoanDecisionState> states = loanRepository.lockDecisionStates(chunk).stream()
+                .collect(Collectors.toMap(LoanDecisionState::getId, Function.identity()));
+        Map<LoanStatus, List<UUID>> pendingByDecision = new EnumMap<>(LoanStatus.class);
+        Map<UUID, Integer> approvalsByUser = new HashMap<>();
+        Set<UUID> users = new HashSet<>();
+        for (UUID id : chunk) {
+            int position = positions.get(id);
+            LoanStatus decision = decisions.get(position).decision();
+            LoanDecisionState state = states.get(id);
+            if (state == null) {
+                outcomes[position] = new Outcome(id, decision, Outcome.NOT_FOUND, null);
+            } else if (state.getStatus() != LoanStatus.PENDING) {
+                outcomes[position] = new Outcome(id, decision, Outcome.NOT_PENDING, state.getStatus());
+            } else {
+                pendingByDecision.computeIfAbsent(decision, status -> new ArrayList<>()).add(id);
+                outcomes[position] = new Outcome(id, decision, Outcome.APPLIED, null);
+                users.add(state.getUserId());
+                if (decision == LoanStatus.APPROVED) {
+                    approvalsByUser.merge(state.getUserId(), 1, Integer::sum);
+                }
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        pendingByDecision.forEach((decision, pending) -> {
+            int updated = loanRepository.decidePending(pending, decision,
+                    decision == LoanStatus.APPROVED ? now : null, now);
+            if (updated != pending.size()) {
+                throw new IllegalStateException("Locked pending loans changed during a bulk decision");
+            }
+        });
+        approvalsByUser.forEach(loanSummaryService::onLoansActivated);
+        users.forEach(userId -> eventPublisher.publishEvent(new LoanDataChangedEvent(userId)));
+        pendingByDecision.forEach((decision, pending) -> eventPublisher.publishEvent(
+                DashboardDeltaEvent.loansDecided(decision, pending.size(), now)));
+        List<UUID> approved = pendingByDecision.get(LoanStatus.APPROVED);
+        if (approved != null) {
+            eventPublisher.publishEvent(LoanActivityEvent.approved(now, approved.size(),
+                    loanRepository.sumAmountByIds(approved)));
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.agrifinance.backend.service.admin;
+
+import com.agrifinance.backend.dto.admin.LoanExportLine;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.projection.LoanExportRow;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the whole loan book, with every installment, to an output stream
+ * while it is read. Rows come from a forward-only scroll and only the rows of
+ * the loan being written are held, so heap use does not depend on the size
+ * of the book. NDJSON has one line per loan with its installments nested;
+ * CSV has one line per installment.
+ */
+@Service
+public class LoanExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "loanId,userEmail,product,status,amount,interest,term,termType,"
+            + "paidAmount,purpose,createdAt,paymentId,dueDate,paymentAmount,paymentPaidAmount,paymentStatus,paidDate";
+
+    private final LoanRepository loanRepository;
+    private final ObjectMapper objectMapper;
+    // Flushing after every loan would push each line through gzip and the socket on its own
+    private final ObjectWriter lineWriter;
+    private final MeterRegistry meterRegistry;
+
+    public enum Format {
+        NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+        CSV("csv", MediaType.parseMediaType("text/csv"));
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        Format(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+    }
+
+    public LoanExportService(LoanRepository loanRepository, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.loanRepository = loanRepository;
+        this.objectMapper = objectMapper;
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Streams the export to {@code target}, gzip-compressed if requested, and
+     * returns the number of loans written. {@code target} is flushed but not
+     * closed.
+     */
+    @Transactional(readOnly = true)
+    public long export(OutputStream target, Format format, boolean gzip) throws IOException {
+        String formatTag = format.name().toLowerCase(Locale.ROOT);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CountingOutputStream counted = new CountingOutputStream(target);
+        OutputStream out = gzip ? new GZIPOutputStream(counted, BUFFER_SIZE) : counted;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long[] rows = new long[1];
+        long loans;
+        try (Stream<LoanExportRow> stream = loanRepository.streamExportRows()) {
+            Iterator<LoanExportRow> iterator = stream.peek(row -> rows[0]++).iterator();
+            loans = format == Format.CSV ? writeCsv(iterator, writer) : writeNdjson(iterator, writer);
+            writer.flush();
+            if (out instanceof GZIPOutputStream compressed) {
+                compressed.finish();
+            }
+            out.flush();
+        } finally {
+            sample.stop(Timer.builder("loan.export")
+                    .description("Duration of loan book exports")
+                    .tag("format", formatTag)
+                    .register(meterRegistry));
+            counter("loan.export.rows", "Installment rows read by loan book exports", formatTag).increment(rows[0]);
+            counter("loan.export.bytes", "Bytes written by loan book exports", formatTag).increment(counted.count);
+        }
+        counter("loan.export.loans", "Loans written by loan book exports", formatTag).increment(loans);
+        return loans;
+    }
+
+    private Counter counter(String name, String description, String format) {
+        return Counter.builder(name).description(description).tag("format", format).register(meterRegistry);
+    }
+
+    private long writeCsv(Iterator<LoanExportRow> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long loans = 0;
+        UUID current = null;
+        while (rows.hasNext()) {
+            LoanExportRow row = rows.next();
+            if (!row.getLoanId().equals(current)) {
+                current = row.getLoanId();
+                loans++;
+            }
+            writer.write(csvLine(row));
+            writer.write('\n');
+        }
+        return loans;
+    }
+
+    private long writeNdjson(Iterator<LoanExportRow> rows, Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        long loans = 0;
+        LoanExportRow first = null;
+        List<LoanExportRow> loanRows = new ArrayList<>();
+        while (rows.hasNext()) {
+            LoanExportRow row = rows.next();
+            if (first != null && !row.getLoanId().equals(first.getLoanId())) {
+                writeLoan(generator, first, loanRows);
+                loans++;
+                loanRows.clear();
+            }
+            if (loanRows.isEmpty()) {
+                first = row;
+            }
+            loanRows.add(row);
+        }
+        if (first != null) {
+            writeLoan(generator, first, loanRows);
+            loans++;
+        }
+        generator.flush();
+        return loans;
+    }
+
+    private void writeLoan(JsonGenerator generator, LoanExportRow loan, List<LoanExportRow> loanRows)
+            throws IOException {
+        List<LoanExportLine.Installment> payments = new ArrayList<>(loanRows.size());
+        for (LoanExportRow row : loanRows) {
+            if (row.getPaymentId() != null) {
+                payments.add(new LoanExportLine.Installment(row.getPaymentId(), row.getDueDate(),
+                        row.getPaymentAmount(), row.getPaymentPaidAmount(), row.getPaymentStatus(),
+                        row.getPaidDate()));
+            }
+        }
+        // The query only keeps a loan's rows together; installments are ordered here
+        payments.sort(Comparator.comparing(LoanExportLine.Installment::dueDate,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        lineWriter.writeValue(generator, new LoanExportLine(loan.getLoanId(), loan.getUserEmail(),
+                loan.getProduct(), loan.getStatus(), loan.getAmount(), loan.getInterest(), loan.getTerm(),
+                loan.getTermType(), loan.getPaidAmount(), loan.getPurpose(), loan.getCreatedAt(), payments));
+        generator.writeRaw('\n');
+    }
+
+    private String csvLine(LoanExportRow row) {
+        StringJoiner line = new StringJoiner(",");
+        for (Object value : new Object[] { row.getLoanId(), row.getUserEmail(), row.getProduct(), row.getStatus(),
+                row.getAmount(), row.getInterest(), row.getTerm(), row.getTermType(), row.getPaidAmount(),
+                row.getPurpose(), row.getCreatedAt(), row.getPaymentId(), row.getDueDate(),
+                row.getPaymentAmount(), row.getPaymentPaidAmount(), row.getPaymentStatus(),
+                row.getPaidDate() }) {
+            line.add(csvField(value));
+        }
+        return line.toString();
+    }
+
+    private String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    // Bytes handed to the client, after compression
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
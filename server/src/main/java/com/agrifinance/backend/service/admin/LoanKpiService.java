@@ -0,0 +1,258 @@
+package com.agrifinance.backend.service.admin;
+
+import com.agrifinance.backend.dto.admin.KpiPoint;
+import com.agrifinance.backend.dto.admin.KpiTimeseries;
+import com.agrifinance.backend.event.LoanActivityEvent;
+import com.agrifinance.backend.model.enums.KpiGrain;
+import com.agrifinance.backend.model.loan.LoanKpiRollup;
+import com.agrifinance.backend.repository.LoanKpiRollupRepository;
+import com.agrifinance.backend.repository.LoanReceiptRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.projection.DailyTotals;
+import com.agrifinance.backend.service.scheduling.SchedulerLockService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Maintains the day, week and month {@link LoanKpiRollup} rows behind the
+ * admin trend charts. Activity is collected after the change that caused it
+ * commits, so rolled-back work is never counted, and merged per rollup row in
+ * memory. A single flusher thread writes the merged deltas with one upsert
+ * per row: loan transactions never wait on a shared rollup row or need a
+ * second connection, and a busy day costs one update per flush interval
+ * instead of one per payment. A nightly rebuild recomputes every row from loans and
+ * receipts, repairing anything lost with an unflushed delta.
+ */
+@Service
+public class LoanKpiService {
+    static final String LOCK_NAME = "loan-kpi-rebuild";
+    private static final Duration LOCK_LEASE = Duration.ofMinutes(30);
+    private static final int MAX_POINTS = 1000;
+
+    private final LoanKpiRollupRepository rollupRepository;
+    private final LoanRepository loanRepository;
+    private final LoanReceiptRepository loanReceiptRepository;
+    private final SchedulerLockService schedulerLockService;
+    private final TransactionTemplate rollupTransaction;
+    private final Counter failedUpdates;
+    // Unwritten applications, approvals, disbursed and repaid per rollup row
+    private final ConcurrentHashMap<LoanKpiRollup.Key, double[]> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("loan-kpi-rollup").daemon(true).factory());
+    private final Duration flushInterval;
+
+    public LoanKpiService(LoanKpiRollupRepository rollupRepository, LoanRepository loanRepository,
+            LoanReceiptRepository loanReceiptRepository, SchedulerLockService schedulerLockService,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${kpis.rollup.flush-interval:PT1S}") Duration flushInterval) {
+        this.rollupRepository = rollupRepository;
+        this.loanRepository = loanRepository;
+        this.loanReceiptRepository = loanReceiptRepository;
+        this.schedulerLockService = schedulerLockService;
+        this.flushInterval = flushInterval;
+        this.rollupTransaction = new TransactionTemplate(transactionManager);
+        this.rollupTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.failedUpdates = Counter.builder("loan.kpi.rollup.failures")
+                .description("KPI rollup flushes that failed and wait for the nightly rebuild")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanActivity(LoanActivityEvent event) {
+        LocalDate day = event.at().toLocalDate();
+        for (KpiGrain grain : KpiGrain.values()) {
+            pending.merge(new LoanKpiRollup.Key(grain, periodStart(grain, day)),
+                    new double[] { event.applications(), event.approvals(), event.disbursed(), event.repaid() },
+                    (merged, delta) -> {
+                        for (int i = 0; i < merged.length; i++) {
+                            merged[i] += delta[i];
+                        }
+                        return merged;
+                    });
+        }
+        // Deltas arriving within the interval are written together
+        if (flushScheduled.compareAndSet(false, true)) {
+            flusher.schedule(this::flush, flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes every pending delta in one transaction. Runs on the flusher
+     * thread one interval after the first unwritten activity; callers that
+     * need the rollups current can invoke it directly.
+     */
+    public synchronized void flush() {
+        // Activity arriving from here on schedules another flush
+        flushScheduled.set(false);
+        Map<LoanKpiRollup.Key, double[]> deltas = new HashMap<>();
+        for (LoanKpiRollup.Key key : pending.keySet()) {
+            double[] delta = pending.remove(key);
+            if (delta != null) {
+                deltas.put(key, delta);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            rollupTransaction.executeWithoutResult(status -> deltas.forEach((key, delta) ->
+                    rollupRepository.addActivity(key.getGrain().name(), key.getPeriodStart(), (long) delta[0],
+                            (long) delta[1], delta[2], delta[3], now)));
+        } catch (RuntimeException e) {
+            // The originating changes have committed; the nightly rebuild restores these deltas
+            failedUpdates.increment();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdownNow();
+        flush();
+    }
+
+    @Scheduled(cron = "${kpis.rollup.rebuild-cron:0 0 3 * * *}")
+    public void scheduledRebuild() {
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, LOCK_LEASE)) {
+            return;
+        }
+        try {
+            rebuild();
+        } finally {
+            schedulerLockService.release(LOCK_NAME);
+        }
+    }
+
+    /**
+     * Replaces every rollup row with totals recomputed from the source
+     * tables and returns the number of rows written. The sources are read
+     * grouped by day; weeks and months are summed from the days. Holds the
+     * flush lock until the rows have committed, and discards the pending
+     * deltas first since the sources already include their activity.
+     */
+    public synchronized int rebuild() {
+        pending.clear();
+        return rollupTransaction.execute(status -> replaceRollups());
+    }
+
+    private int replaceRollups() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<LoanKpiRollup.Key, LoanKpiRollup> rollups = new HashMap<>();
+        for (DailyTotals day : loanRepository.countApplicationsByDay()) {
+            for (KpiGrain grain : KpiGrain.values()) {
+                LoanKpiRollup rollup = rollup(rollups, grain, day.getDay(), now);
+                rollup.setApplications(rollup.getApplications() + day.getCount());
+            }
+        }
+        for (DailyTotals day : loanRepository.sumApprovalsByDay()) {
+            for (KpiGrain grain : KpiGrain.values()) {
+                LoanKpiRollup rollup = rollup(rollups, grain, day.getDay(), now);
+                rollup.setApprovals(rollup.getApprovals() + day.getCount());
+                rollup.setDisbursed(rollup.getDisbursed() + day.getAmount());
+            }
+        }
+        for (DailyTotals day : loanReceiptRepository.sumReceivedByDay()) {
+            for (KpiGrain grain : KpiGrain.values()) {
+                LoanKpiRollup rollup = rollup(rollups, grain, day.getDay(), now);
+                rollup.setRepaid(rollup.getRepaid() + day.getAmount());
+            }
+        }
+        rollupRepository.deleteAllInBatch();
+        rollupRepository.saveAll(rollups.values());
+        return rollups.size();
+    }
+
+    @Transactional(readOnly = true)
+    public KpiTimeseries timeseries(KpiGrain grain, LocalDate from, LocalDate to) {
+        LocalDate last = periodStart(grain, to != null ? to : LocalDate.now());
+        LocalDate first = periodStart(grain, from != null ? from : defaultFrom(grain, last));
+        if (first.isAfter(last)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (periods(grain, first, last) > MAX_POINTS) {
+            throw new IllegalArgumentException("At most " + MAX_POINTS + " points per request");
+        }
+
+        Map<LocalDate, LoanKpiRollup> rows = new HashMap<>();
+        for (LoanKpiRollup rollup : rollupRepository.findByGrainAndPeriodStartBetweenOrderByPeriodStart(grain,
+                first, last)) {
+            rows.put(rollup.getPeriodStart(), rollup);
+        }
+        List<KpiPoint> points = new ArrayList<>();
+        for (LocalDate period = first; !period.isAfter(last); period = next(grain, period)) {
+            LoanKpiRollup rollup = rows.get(period);
+            points.add(rollup == null ? new KpiPoint(period, 0, 0, 0, 0)
+                    : new KpiPoint(period, rollup.getApplications(), rollup.getApprovals(), rollup.getDisbursed(),
+                            rollup.getRepaid()));
+        }
+        return new KpiTimeseries(grain, first, last, points);
+    }
+
+    static LocalDate periodStart(KpiGrain grain, LocalDate day) {
+        return switch (grain) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    private LoanKpiRollup rollup(Map<LoanKpiRollup.Key, LoanKpiRollup> rollups, KpiGrain grain, LocalDate day,
+            LocalDateTime now) {
+        LocalDate periodStart = periodStart(grain, day);
+        return rollups.computeIfAbsent(new LoanKpiRollup.Key(grain, periodStart), key -> LoanKpiRollup.builder()
+                .grain(grain)
+                .periodStart(periodStart)
+                .updatedAt(now)
+                .build());
+    }
+
+    private LocalDate next(KpiGrain grain, LocalDate period) {
+        return switch (grain) {
+            case DAY -> period.plusDays(1);
+            case WEEK -> period.plusWeeks(1);
+            case MONTH -> period.plusMonths(1);
+        };
+    }
+
+    private long periods(KpiGrain grain, LocalDate first, LocalDate last) {
+        return switch (grain) {
+            case DAY -> ChronoUnit.DAYS.between(first, last) + 1;
+            case WEEK -> ChronoUnit.WEEKS.between(first, last) + 1;
+            case MONTH -> ChronoUnit.MONTHS.between(first, last) + 1;
+        };
+    }
+
+    // A month of days, half a year of weeks or a year of months
+    private LocalDate defaultFrom(KpiGrain grain, LocalDate last) {
+        return switch (grain) {
+            case DAY -> last.minusDays(29);
+            case WEEK -> last.minusWeeks(25);
+            case MONTH -> last.minusMonths(11);
+        };
+    }
+}
@@ -0,0 +1,288 @@
+package com.agrifinance.backend.service.admin;
+
+import com.agrifinance.backend.dto.admin.PaymentImportReport;
+import com.agrifinance.backend.dto.admin.PaymentImportRowResult;
+import com.agrifinance.backend.dto.loan.PaymentResult;
+import com.agrifinance.backend.service.loan.LoanService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Applies an end-of-day repayment file. The file is read as a stream and
+ * every row is routed to a single-threaded partition chosen by its loan id,
+ * so one loan's payments are applied in file order while different loans are
+ * applied in parallel. A partition takes its rows in chunks and hands each
+ * loan's rows of a chunk to {@link LoanService#processPayments}, which reads
+ * the loan's schedule once and writes all of those payments in one
+ * transaction. Allocation, versioning and retries are those of a single
+ * payment, and a row that fails never affects other loans.
+ */
+@Service
+@RequiredArgsConstructor
+public class PaymentImportService {
+    // Bounds how far the reader may run ahead of the workers
+    private static final int MAX_IN_FLIGHT_ROWS = 10_000;
+    // Rows a partition receives at a time; each loan's rows within a chunk share one transaction
+    private static final int CHUNK_ROWS = 500;
+
+    private final LoanService loanService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${payments.import.partitions:8}")
+    private int partitions;
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format fromFilename(String filename) {
+            if (filename != null) {
+                String lower = filename.toLowerCase(Locale.ROOT);
+                if (lower.endsWith(".ndjson") || lower.endsWith(".jsonl")) {
+                    return NDJSON;
+                }
+            }
+            return CSV;
+        }
+    }
+
+    private record ImportRow(long line, String loanId, UUID loanUuid, Double amount, String reference,
+            String error) {
+    }
+
+    public PaymentImportReport importPayments(InputStream input, Format format) throws IOException {
+        long started = System.nanoTime();
+        ThreadFactory threadFactory = Thread.ofPlatform().name("payment-import-", 0).factory();
+        List<List<PaymentImportRowResult>> results = new ArrayList<>(partitions);
+        List<ExecutorService> workers = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            results.add(new ArrayList<>());
+            workers.add(Executors.newSingleThreadExecutor(threadFactory));
+        }
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT_ROWS);
+        List<List<ImportRow>> chunks = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            chunks.add(new ArrayList<>(CHUNK_ROWS));
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long line = 0;
+            boolean firstRow = true;
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                if (firstRow && format == Format.CSV && isCsvHeader(text)) {
+                    firstRow = false;
+                    continue;
+                }
+                firstRow = false;
+
+                ImportRow row = format == Format.CSV ? parseCsv(line, text) : parseNdjson(line, text);
+                int partition = row.loanUuid() != null ? Math.floorMod(row.loanUuid().hashCode(), partitions) : 0;
+                List<ImportRow> chunk = chunks.get(partition);
+                chunk.add(row);
+                if (chunk.size() == CHUNK_ROWS) {
+                    submit(workers.get(partition), chunk, results.get(partition), inFlight);
+                    chunks.set(partition, new ArrayList<>(CHUNK_ROWS));
+                }
+            }
+            for (int i = 0; i < partitions; i++) {
+                if (!chunks.get(i).isEmpty()) {
+                    submit(workers.get(i), chunks.get(i), results.get(i), inFlight);
+                }
+            }
+        } finally {
+            // Waits for every queued chunk, including those read before a failure
+            workers.forEach(ExecutorService::close);
+        }
+
+        List<PaymentImportRowResult> rows = new ArrayList<>();
+        results.forEach(rows::addAll);
+        rows.sort(Comparator.comparingLong(PaymentImportRowResult::line));
+
+        int applied = 0;
+        double totalApplied = 0;
+        for (PaymentImportRowResult row : rows) {
+            if (PaymentImportRowResult.APPLIED.equals(row.status())) {
+                applied++;
+                totalApplied += row.amountApplied();
+            }
+        }
+        return new PaymentImportReport(rows.size(), applied, rows.size() - applied, totalApplied,
+                (System.nanoTime() - started) / 1_000_000, rows);
+    }
+
+    private void submit(ExecutorService worker, List<ImportRow> chunk, List<PaymentImportRowResult> sink,
+            Semaphore inFlight) {
+        inFlight.acquireUninterruptibly(chunk.size());
+        worker.execute(() -> {
+            try {
+                apply(chunk, sink);
+            } finally {
+                inFlight.release(chunk.size());
+            }
+        });
+    }
+
+    private void apply(List<ImportRow> chunk, List<PaymentImportRowResult> sink) {
+        Map<UUID, List<ImportRow>> rowsByLoan = new LinkedHashMap<>();
+        for (ImportRow row : chunk) {
+            if (row.error() != null) {
+                sink.add(failed(row, row.error()));
+            } else {
+                rowsByLoan.computeIfAbsent(row.loanUuid(), loanId -> new ArrayList<>()).add(row);
+            }
+        }
+        rowsByLoan.forEach((loanId, rows) -> apply(loanId, rows, sink));
+    }
+
+    private void apply(UUID loanId, List<ImportRow> rows, List<PaymentImportRowResult> sink) {
+        List<PaymentResult> results;
+        try {
+            results = loanService.processPayments(loanId, rows.stream().map(ImportRow::amount).toList());
+        } catch (RuntimeException e) {
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            rows.forEach(row -> sink.add(failed(row, error)));
+            return;
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            if (i < results.size()) {
+                PaymentResult result = results.get(i);
+                sink.add(new PaymentImportRowResult(row.line(), row.loanId(), row.reference(), row.amount(),
+                        PaymentImportRowResult.APPLIED, result.totalPaid(), result.remainingBalance(), null));
+            } else {
+                // An earlier row of the chunk settled the loan
+                sink.add(failed(row, LoanService.NO_PENDING_PAYMENTS));
+            }
+        }
+    }
+
+    private PaymentImportRowResult failed(ImportRow row, String error) {
+        return new PaymentImportRowResult(row.line(), row.loanId(), row.reference(), row.amount(),
+                PaymentImportRowResult.FAILED, null, null, error);
+    }
+
+    private boolean isCsvHeader(String text) {
+        try {
+            return csvFields(text).get(0).equalsIgnoreCase("loanId");
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // loanId,amount[,reference]
+    private ImportRow parseCsv(long line, String text) {
+        List<String> columns;
+        try {
+            columns = csvFields(text);
+        } catch (IllegalArgumentException e) {
+            return new ImportRow(line, null, null, null, null, e.getMessage());
+        }
+        String loanId = columns.get(0);
+        String amount = columns.size() > 1 ? columns.get(1) : "";
+        String reference = columns.size() > 2 ? columns.get(2) : null;
+        return toRow(line, loanId, amount, reference);
+    }
+
+    // {"loanId": "...", "amount": 120.5, "reference": "..."}
+    private ImportRow parseNdjson(long line, String text) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (IOException e) {
+            return new ImportRow(line, null, null, null, null, "Malformed JSON");
+        }
+        return toRow(line, node.path("loanId").asText(""), node.path("amount").asText(""),
+                node.hasNonNull("reference") ? node.get("reference").asText() : null);
+    }
+
+    private ImportRow toRow(long line, String loanId, String amount, String reference) {
+        UUID loanUuid;
+        try {
+            loanUuid = UUID.fromString(loanId);
+        } catch (IllegalArgumentException e) {
+            return new ImportRow(line, loanId, null, null, reference, "Invalid loan id");
+        }
+        double value;
+        try {
+            value = Double.parseDouble(amount);
+        } catch (NumberFormatException e) {
+            return new ImportRow(line, loanId, loanUuid, null, reference, "Invalid amount");
+        }
+        if (!(value > 0) || Double.isInfinite(value)) {
+            return new ImportRow(line, loanId, loanUuid, value, reference, "Amount must be positive");
+        }
+        return new ImportRow(line, loanId, loanUuid, value, reference, null);
+    }
+
+    /**
+     * Splits one CSV line as RFC 4180 quotes it, the way the loan export
+     * writes it: a quoted field may hold commas and doubled quotes. Records
+     * are read a line at a time, so a quoted field left open at the end of the
+     * line is rejected rather than continued on the next one.
+     */
+    static List<String> csvFields(String text) {
+        List<String> fields = new ArrayList<>();
+        int length = text.length();
+        int i = 0;
+        while (true) {
+            int start = i;
+            while (i < length && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (i < length && text.charAt(i) == '"') {
+                StringBuilder value = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= length) {
+                        throw new IllegalArgumentException("Unterminated quoted field");
+                    }
+                    char c = text.charAt(i++);
+                    if (c != '"') {
+                        value.append(c);
+                    } else if (i < length && text.charAt(i) == '"') {
+                        value.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                while (i < length && Character.isWhitespace(text.charAt(i))) {
+                    i++;
+                }
+                if (i < length && text.charAt(i) != ',') {
+                    throw new IllegalArgumentException("Unexpected text after a quoted field");
+                }
+                fields.add(value.toString().trim());
+            } else {
+                int comma = text.indexOf(',', start);
+                i = comma < 0 ? length : comma;
+                fields.add(text.substring(start, i).trim());
+            }
+            if (i >= length) {
+                return fields;
+            }
+            // Past the comma
+            i++;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.agrifinance.backend.service.admin;
+
+import com.agrifinance.backend.utils.AmortizationSchedule;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * One-factor default/recovery simulation over a loan book held in primitive
+ * arrays. In each scenario a systemic factor (a drought, for example) is drawn
+ * once; it raises every risk grade's default probability through the
+ * Vasicek conditional default formula and lowers the recovery rate, then
+ * each loan defaults independently at its grade's conditional probability.
+ *
+ * Scenarios are split across a {@link ForkJoinPool}; every subtask owns a
+ * {@link SplittableRandom} split from its parent before forking, so a run is
+ * reproducible from its seed regardless of parallelism and no random state is
+ * shared between threads.
+ */
+public final class PortfolioSimulation {
+    // Loan-scenario pairs simulated by one leaf task
+    private static final long LEAF_WORK = 1L << 21;
+    private static final double RECOVERY_VOLATILITY = 0.1;
+
+    // Outstanding amounts in cents, so the per-loan sum is a cheap integer add
+    private final long[] exposure;
+    // Loans are ordered by grade; grade g covers [gradeStart[g], gradeStart[g + 1])
+    private final int[] gradeStart;
+    private final double[] gradeThreshold;
+    private final double sqrtCorrelation;
+    private final double sqrtIdiosyncratic;
+    private final double recoveryRate;
+    private final double totalExposure;
+
+    /**
+     * @param exposure       outstanding amount per loan
+     * @param grade          risk grade per loan, indexing {@code gradeDefaultProbability}
+     * @param gradeDefaultProbability unconditional default probability per grade
+     * @param correlation    share of default risk driven by the systemic factor, in [0, 1)
+     * @param recoveryRate   expected share of a defaulted exposure that is recovered
+     */
+    public PortfolioSimulation(double[] exposure, int[] grade, double[] gradeDefaultProbability,
+            double correlation, double recoveryRate) {
+        if (exposure.length != grade.length) {
+            throw new IllegalArgumentException("Every loan needs an exposure and a grade");
+        }
+        if (correlation < 0 || correlation >= 1) {
+            throw new IllegalArgumentException("Correlation must be in [0, 1)");
+        }
+        int grades = gradeDefaultProbability.length;
+        this.gradeStart = new int[grades + 1];
+        for (int g : grade) {
+            gradeStart[g + 1]++;
+        }
+        for (int g = 0; g < grades; g++) {
+            gradeStart[g + 1] += gradeStart[g];
+        }
+        // Counting sort keeps each grade's exposures contiguous for the inner loop
+        this.exposure = new long[exposure.length];
+        int[] next = Arrays.copyOf(gradeStart, grades);
+        double total = 0;
+        for (int i = 0; i < exposure.length; i++) {
+            this.exposure[next[grade[i]]++] = AmortizationSchedule.toMinor(exposure[i]);
+            total += exposure[i];
+        }
+        this.gradeThreshold = new double[grades];
+        for (int g = 0; g < grades; g++) {
+            gradeThreshold[g] = inverseNormal(gradeDefaultProbability[g]);
+        }
+        this.sqrtCorrelation = Math.sqrt(correlation);
+        this.sqrtIdiosyncratic = Math.sqrt(1 - correlation);
+        this.recoveryRate = recoveryRate;
+        this.totalExposure = total;
+    }
+
+    public int loans() {
+        return exposure.length;
+    }
+
+    public double totalExposure() {
+        return totalExposure;
+    }
+
+    /**
+     * Runs {@code scenarios} scenarios on {@code pool} and returns the loss of
+     * each, sorted ascending.
+     */
+    public double[] run(int scenarios, long seed, ForkJoinPool pool) {
+        double[] losses = new double[scenarios];
+        pool.invoke(new ScenarioTask(losses, 0, scenarios, new SplittableRandom(seed)));
+        Arrays.sort(losses);
+        return losses;
+    }
+
+    // Nearest-rank percentile of losses sorted ascending
+    public static double percentile(double[] sortedLosses, double percentile) {
+        if (sortedLosses.length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedLosses.length);
+        return sortedLosses[Math.min(sortedLosses.length, Math.max(1, rank)) - 1];
+    }
+
+    private final class ScenarioTask extends RecursiveAction {
+        private final double[] losses;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        ScenarioTask(double[] losses, int from, int to, SplittableRandom random) {
+            this.losses = losses;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1 || (long) (to - from) * exposure.length <= LEAF_WORK) {
+                long[] gradeCutoff = new long[gradeThreshold.length];
+                for (int s = from; s < to; s++) {
+                    losses[s] = simulate(random, gradeCutoff);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ScenarioTask(losses, from, middle, random.split()),
+                    new ScenarioTask(losses, middle, to, random.split()));
+        }
+    }
+
+    private double simulate(SplittableRandom random, long[] gradeCutoff) {
+        double systemic = random.nextGaussian();
+        for (int g = 0; g < gradeCutoff.length; g++) {
+            double conditional = normal((gradeThreshold[g] - sqrtCorrelation * systemic) / sqrtIdiosyncratic);
+            // Compared against 53 random bits, avoiding a double conversion per loan
+            gradeCutoff[g] = (long) (conditional * (1L << 53));
+        }
+        long defaulted = 0;
+        for (int g = 0; g < gradeCutoff.length; g++) {
+            long cutoff = gradeCutoff[g];
+            if (cutoff <= 0) {
+                continue;
+            }
+            for (int i = gradeStart[g], end = gradeStart[g + 1]; i < end; i++) {
+                // All ones when the loan defaults; branch-free because defaults are unpredictable
+                long mask = ((random.nextLong() >>> 11) - cutoff) >> 63;
+                defaulted += exposure[i] & mask;
+            }
+        }
+        double recovery = Math.min(1, Math.max(0, recoveryRate + RECOVERY_VOLATILITY * systemic));
+        return AmortizationSchedule.toMajor(defaulted) * (1 - recovery);
+    }
+
+    // Standard normal CDF (Abramowitz and Stegun 7.1.26, absolute error below 1.5e-7)
+    static double normal(double x) {
+        double z = Math.abs(x) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * z);
+        double erfc = t * (0.254829592 + t * (-0.284496736 + t * (1.421413741
+                + t * (-1.453152027 + t * 1.061405429)))) * Math.exp(-z * z);
+        return x >= 0 ? 1 - erfc / 2 : erfc / 2;
+    }
+
+    // Standard normal quantile (Acklam's rational approximation, relative error below 1.2e-9)
+    static double inverseNormal(double p) {
+        if (p <= 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (p >= 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double[] a = { -3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00 };
+        double[] b = { -5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01 };
+        double[] c = { -7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00 };
+        double[] d = { 7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00 };
+        double low = 0.02425;
+        if (p < low) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - low) {
+            double q = Math.sqrt(-2 * Math.log(1 - p));
+            return -(((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+}
@@ -0,0 +1,119 @@
+package com.agrifinance.backend.service.admin;
+
+import com.agrifinance.backend.dto.admin.StressTestRequest;
+import com.agrifinance.backend.dto.admin.StressTestResult;
+import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.projection.LoanExposure;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stress-tests the outstanding loan book with {@link PortfolioSimulation}.
+ * Loans are graded by how many installments they already have overdue, and
+ * each overdue installment adds the base default rate again, so the loans
+ * already struggling are the ones a drought pushes over first.
+ */
+@Service
+public class PortfolioStressTestService {
+    private static final int MAX_SCENARIOS = 1_000_000;
+    // Loans with this many or more overdue installments share the riskiest grade
+    private static final int MAX_GRADE = 6;
+    private static final double MAX_DEFAULT_PROBABILITY = 0.99;
+
+    private final LoanPaymentRepository loanPaymentRepository;
+    private final ForkJoinPool pool;
+
+    @Value("${stress-test.scenarios:100000}")
+    private int defaultScenarios;
+
+    @Value("${stress-test.base-default-rate:0.02}")
+    private double defaultBaseDefaultRate;
+
+    @Value("${stress-test.drought-multiplier:1.0}")
+    private double defaultDroughtMultiplier;
+
+    @Value("${stress-test.correlation:0.15}")
+    private double defaultCorrelation;
+
+    @Value("${stress-test.recovery-rate:0.4}")
+    private double defaultRecoveryRate;
+
+    public PortfolioStressTestService(LoanPaymentRepository loanPaymentRepository,
+            @Value("${stress-test.parallelism:0}") int parallelism) {
+        this.loanPaymentRepository = loanPaymentRepository;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public StressTestResult run(StressTestRequest request) {
+        long started = System.nanoTime();
+        int scenarios = valueOr(request.scenarios(), defaultScenarios);
+        double baseDefaultRate = valueOr(request.baseDefaultRate(), defaultBaseDefaultRate);
+        double droughtMultiplier = valueOr(request.droughtMultiplier(), defaultDroughtMultiplier);
+        double correlation = valueOr(request.correlation(), defaultCorrelation);
+        double recoveryRate = valueOr(request.recoveryRate(), defaultRecoveryRate);
+        long seed = request.seed() != null ? request.seed() : ThreadLocalRandom.current().nextLong();
+        if (scenarios <= 0 || scenarios > MAX_SCENARIOS) {
+            throw new IllegalArgumentException("Scenarios must be between 1 and " + MAX_SCENARIOS);
+        }
+        if (baseDefaultRate < 0 || droughtMultiplier < 0 || recoveryRate < 0 || recoveryRate > 1) {
+            throw new IllegalArgumentException("Rates must not be negative and recovery must not exceed 1");
+        }
+
+        PortfolioSimulation simulation = load(baseDefaultRate * droughtMultiplier, correlation, recoveryRate);
+        double[] losses = simulation.run(scenarios, seed, pool);
+
+        double totalLoss = 0;
+        for (double loss : losses) {
+            totalLoss += loss;
+        }
+        return new StressTestResult(
+                simulation.loans(),
+                simulation.totalExposure(),
+                scenarios,
+                seed,
+                totalLoss / scenarios,
+                PortfolioSimulation.percentile(losses, 50),
+                PortfolioSimulation.percentile(losses, 90),
+                PortfolioSimulation.percentile(losses, 95),
+                PortfolioSimulation.percentile(losses, 99),
+                PortfolioSimulation.percentile(losses, 99.9),
+                losses[losses.length - 1],
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private PortfolioSimulation load(double defaultRate, double correlation, double recoveryRate) {
+        List<LoanExposure> book = loanPaymentRepository.findOutstandingExposure();
+        double[] exposure = new double[book.size()];
+        int[] grade = new int[book.size()];
+        for (int i = 0; i < exposure.length; i++) {
+            LoanExposure loan = book.get(i);
+            exposure[i] = loan.getOutstanding();
+            grade[i] = (int) Math.min(MAX_GRADE, loan.getOverdueInstallments());
+        }
+        double[] gradeDefaultProbability = new double[MAX_GRADE + 1];
+        for (int g = 0; g <= MAX_GRADE; g++) {
+            gradeDefaultProbability[g] = Math.min(MAX_DEFAULT_PROBABILITY, defaultRate * (1 + g));
+        }
+        return new PortfolioSimulation(exposure, grade, gradeDefaultProbability, correlation, recoveryRate);
+    }
+
+    private static int valueOr(Integer value, int fallback) {
+        return value != null ? value : fallback;
+    }
+
+    private static double valueOr(Double value, double fallback) {
+        return value != null ? value : fallback;
+    }
+}
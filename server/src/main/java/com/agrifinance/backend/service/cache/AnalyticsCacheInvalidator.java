@@ -0,0 +1,43 @@
+package com.agrifinance.backend.service.cache;
+
+import com.agrifinance.backend.config.CacheConfig;
+import com.agrifinance.backend.event.LoanDataChangedEvent;
+import com.agrifinance.backend.event.ProjectDataChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * Evicts a user's cached analytics once the change that affected them has
+ * committed, so a concurrent read cannot re-cache the pre-commit state.
+ * Changes made outside a transaction are evicted immediately.
+ */
+@Component
+@RequiredArgsConstructor
+public class AnalyticsCacheInvalidator {
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanDataChanged(LoanDataChangedEvent event) {
+        evict(CacheConfig.LOAN_ANALYTICS, event.userId());
+        evict(CacheConfig.REPAYMENT_RECORDS, event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectDataChanged(ProjectDataChangedEvent event) {
+        evict(CacheConfig.PROJECT_DASHBOARD, event.userId());
+    }
+
+    private void evict(String cacheName, UUID userId) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && userId != null) {
+            cache.evict(userId);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.agrifinance.backend.service.loan;
+
+import com.agrifinance.backend.dto.loan.LoanAnalytics;
+import com.agrifinance.backend.dto.loan.LoanBreakdown;
+import com.agrifinance.backend.model.enums.PaymentStatus;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanPayment;
+import com.agrifinance.backend.model.loan.LoanSummary;
+import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.projection.LoanPaymentTotals;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the loan analytics dashboard from the user's {@link LoanSummary}
+ * row, the next due installment and the first payment history page, so its
+ * cost does not depend on how many loans the user has. The per-loan
+ * breakdown costs two more queries over every loan and is only built when
+ * asked for.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class LoanAnalyticsService {
+    private static final int PAYMENT_HISTORY_SIZE = 10;
+
+    private final LoanRepository loanRepository;
+    private final LoanPaymentRepository loanPaymentRepository;
+    private final LoanSummaryService loanSummaryService;
+    private final LoanPaymentService loanPaymentService;
+
+    public LoanAnalytics getLoanAnalytics(UUID userId, boolean includeBreakdown) {
+        LoanSummary summary = loanSummaryService.getSummary(userId);
+        LoanPayment nextPayment = loanPaymentRepository
+                .findFirstByLoanUserIdAndStatusNotOrderByDueDateAsc(userId, PaymentStatus.PAID)
+                .orElse(null);
+
+        double totalAmountBorrowed = summary.getTotalBorrowed();
+        return new LoanAnalytics(
+                summary.getTotalLoans(),
+                summary.getActiveLoans(),
+                totalAmountBorrowed,
+                summary.getTotalRepaid(),
+                summary.getInterestPaid(),
+                nextPayment != null ? nextPayment.getDueDate().toString() : null,
+                nextPayment != null ? nextPayment.getAmount() : null,
+                nextPayment != null ? nextPayment.getLoan().getId().toString() : null,
+                includeBreakdown ? getLoanBreakdown(userId) : List.of(),
+                loanPaymentService.getPaymentHistory(userId, null, PAYMENT_HISTORY_SIZE).items(),
+                summary.getOutstandingBalance(),
+                totalAmountBorrowed > 0 ? (summary.getTotalRepaid() / totalAmountBorrowed) * 100 : 0);
+    }
+
+    public List<LoanBreakdown> getLoanBreakdown(UUID userId) {
+        List<Loan> loans = loanRepository.findWithDetailsByUserId(userId);
+        Map<UUID, LoanPaymentTotals> totalsByLoan = loanPaymentRepository.sumByUserIdGroupByLoan(userId).stream()
+                .collect(Collectors.toMap(LoanPaymentTotals::getLoanId, Function.identity()));
+
+        List<LoanBreakdown> loanBreakdown = new ArrayList<>(loans.size());
+        for (Loan loan : loans) {
+            double principal = loan.getDetails().getAmount();
+            LoanPaymentTotals totals = totalsByLoan.get(loan.getId());
+            loanBreakdown.add(new LoanBreakdown(
+                    loan.getId().toString(),
+                    loan.getDetails(),
+                    principal,
+                    scheduledInterest(totals, principal),
+                    loan.getStatus().name(),
+                    loan.getCreatedAt() != null ? loan.getCreatedAt().toString() : null,
+                    totals != null ? totals.getRepaidAmount() : 0.0,
+                    totals != null ? totals.getRemainingAmount() : 0.0));
+        }
+        return loanBreakdown;
+    }
+
+    private double scheduledInterest(LoanPaymentTotals totals, double principal) {
+        if (totals == null) {
+            return 0.0;
+        }
+        if (totals.getScheduledInterest() != null) {
+            return totals.getScheduledInterest();
+        }
+        // Flat schedules created before amortization carry no interest split
+        return totals.getMaxInstallment() * totals.getInstallments() - principal;
+    }
+}
@@ -1,28 +1,56 @@
 package com.agrifinance.backend.service.loan;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.agrifinance.backend.dto.loan.LoanPaymentDTO;
+import com.agrifinance.backend.dto.loan.PaymentHistoryEntry;
+import com.agrifinance.backend.dto.loan.PaymentHistoryPage;
 import com.agrifinance.backend.mapper.loan.LoanPaymentMapper;
+import com.agrifinance.backend.model.enums.PaymentStatus;
 import com.agrifinance.backend.model.loan.LoanPayment;
+import com.agrifinance.backend.model.loan.LoanReceipt;
 import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.LoanReceiptRepository;
+import com.agrifinance.backend.repository.specification.KeysetCursor;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class LoanPaymentService {
+    public static final int MAX_HISTORY_PAGE_SIZE = 50;
+    private static final int RECEIPT_BACKFILL_LOANS = 500;
+
     private final LoanPaymentRepository loanPaymentRepository;
+    private final LoanReceiptRepository loanReceiptRepository;
     private final LoanPaymentMapper loanPaymentMapper;
+    private final TransactionTemplate transactionTemplate;
 
     public List<LoanPayment> findAllPayments(UUID loanId) {
 
         return loanPaymentRepository.findByLoanId(loanId);
     }
 
+    // Unpaid installments in due-date order
+    public List<LoanPayment> findOutstandingPayments(UUID loanId) {
+        return loanPaymentRepository.findOutstandingByLoanId(loanId);
+    }
+
+    // Sum of the loan's fully paid installments
+    public double getSettledAmount(UUID loanId) {
+        return loanPaymentRepository.sumPaidByLoanId(loanId);
+    }
+
     public List<LoanPaymentDTO> getAllPayments(UUID loanId) {
         return loanPaymentMapper.toDTOs(loanPaymentRepository.findByLoanId(loanId));
     }
@@ -30,4 +58,108 @@ public class LoanPaymentService {
     public LoanPayment save(LoanPayment loanPayment) {
         return loanPaymentRepository.save(loanPayment);
     }
+
+    // Persists a whole schedule; the inserts are flushed together as JDBC batches
+    public List<LoanPayment> saveAll(List<LoanPayment> loanPayments) {
+        return loanPaymentRepository.saveAll(loanPayments);
+    }
+
+    public List<LoanReceipt> saveReceipts(List<LoanReceipt> receipts) {
+        return loanReceiptRepository.saveAll(receipts);
+    }
+
+    /**
+     * Returns one page of the user's payment history, newest first, ordered by
+     * (activityDate, id). Passing the previous page's cursor continues from
+     * where it stopped, so the cost of a page does not depend on its depth.
+     */
+    @Transactional(readOnly = true)
+    public PaymentHistoryPage getPaymentHistory(UUID userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+        List<LoanPayment> payments;
+        if (cursor == null || cursor.isBlank()) {
+            payments = loanPaymentRepository.findHistoryByUserId(userId, limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            payments = loanPaymentRepository.findHistoryByUserIdBefore(userId,
+                    position.timestamp(), position.id(), limit);
+        }
+
+        boolean hasMore = payments.size() > pageSize;
+        List<PaymentHistoryEntry> items = new ArrayList<>(Math.min(payments.size(), pageSize));
+        for (int i = 0; i < payments.size() && i < pageSize; i++) {
+            items.add(toHistoryEntry(payments.get(i)));
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            LoanPayment last = payments.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getActivityDate(), last.getId()).encode();
+        }
+        return new PaymentHistoryPage(items, nextCursor);
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillHistoryColumns() {
+        loanPaymentRepository.backfillActivityDates();
+        loanPaymentRepository.backfillUserIds();
+    }
+
+    /**
+     * Records receipts for loans paid before receipts were kept, one per
+     * installment that received money. The dates are the best the
+     * installments still hold: when one was paid off or, for a partial
+     * receipt, when its loan last changed. A loan is backfilled in one
+     * transaction and only while it has no receipt, so this runs once per loan.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillReceipts() {
+        List<UUID> loanIds = loanPaymentRepository.findLoanIdsWithoutReceipts(Limit.of(RECEIPT_BACKFILL_LOANS));
+        while (!loanIds.isEmpty()) {
+            List<UUID> chunk = loanIds;
+            transactionTemplate.executeWithoutResult(status -> loanReceiptRepository.saveAll(
+                    loanPaymentRepository.findReceivedByLoanIds(chunk).stream()
+                            .map(this::legacyReceipt)
+                            .filter(receipt -> receipt.getAmount() > 0 && receipt.getReceivedAt() != null)
+                            .toList()));
+            if (loanIds.size() < RECEIPT_BACKFILL_LOANS) {
+                break;
+            }
+            loanIds = loanPaymentRepository.findLoanIdsWithoutReceipts(Limit.of(RECEIPT_BACKFILL_LOANS));
+        }
+    }
+
+    // A paid installment without paidAmount only kept its last remainder; it is the closest amount left
+    private LoanReceipt legacyReceipt(LoanPayment payment) {
+        double amount = payment.getPaidAmount() != null ? payment.getPaidAmount()
+                : payment.getAmount() != null ? payment.getAmount() : 0;
+        LocalDateTime receivedAt = payment.getPaidDate() != null ? payment.getPaidDate()
+                : payment.getLoan().getUpdatedAt() != null ? payment.getLoan().getUpdatedAt()
+                : payment.getActivityDate();
+        return LoanReceipt.builder()
+                .loan(payment.getLoan())
+                .amount(amount)
+                .receivedAt(receivedAt)
+                .build();
+    }
+
+    private PaymentHistoryEntry toHistoryEntry(LoanPayment payment) {
+        return new PaymentHistoryEntry(
+                payment.getId().toString(),
+                payment.getLoan().getId().toString(),
+                payment.getAmount(),
+                payment.getDueDate() != null ? payment.getDueDate().toString() : null,
+                payment.getPaidDate() != null ? payment.getPaidDate().toString() : null,
+                toHistoryStatus(payment.getStatus()));
+    }
+
+    private String toHistoryStatus(PaymentStatus status) {
+        if (PaymentStatus.PAID == status) {
+            return "Paid";
+        } else if (PaymentStatus.OVERDUE == status) {
+            return "Overdue";
+        }
+        return "Upcoming";
+    }
 }
@@ -0,0 +1,121 @@
+package com.agrifinance.backend.service.loan;
+
+import com.agrifinance.backend.dto.loan.PayoffQuote;
+import com.agrifinance.backend.model.enums.LoanTermType;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanPayment;
+import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.utils.AmortizationSchedule;
+import com.agrifinance.backend.utils.LoanUtil;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Quotes early payoff and partial prepayment from a loan's outstanding
+ * installments without changing them. Interest already due is charged in
+ * full, the current period's interest is accrued by elapsed time, and every
+ * later period's interest is saved. Amounts are worked in cents.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class LoanPayoffService {
+    private final LoanRepository loanRepository;
+    private final LoanPaymentRepository loanPaymentRepository;
+    private final LoanUtil loanUtil;
+
+    public PayoffQuote quote(UUID userId, UUID loanId, Double prepayment, LocalDateTime asOf) {
+        if (prepayment != null && (!(prepayment > 0) || Double.isInfinite(prepayment))) {
+            throw new IllegalArgumentException("Prepayment must be positive");
+        }
+        LocalDateTime quoteDate = asOf != null ? asOf : LocalDateTime.now();
+        Loan loan = loanRepository.findWithDetailsByIdAndUserId(loanId, userId)
+                .orElseThrow(() -> new RuntimeException("Loan not found"));
+        List<LoanPayment> outstanding = loanPaymentRepository.findOutstandingByLoanId(loanId);
+
+        long principal = 0;
+        long chargedInterest = 0;
+        long remainingInterest = 0;
+        boolean split = true;
+        boolean accruing = false;
+        List<LoanPayment> upcoming = new ArrayList<>();
+        for (LoanPayment payment : outstanding) {
+            long due = AmortizationSchedule.toMinor(payment.getAmount());
+            long interestDue = 0;
+            if (payment.getInterest() != null) {
+                // Money already received on the installment settled its interest first
+                long received = payment.getPaidAmount() != null ? AmortizationSchedule.toMinor(payment.getPaidAmount()) : 0;
+                interestDue = Math.min(due, Math.max(0, AmortizationSchedule.toMinor(payment.getInterest()) - received));
+            } else {
+                split = false;
+            }
+            principal += due - interestDue;
+            remainingInterest += interestDue;
+
+            if (!payment.getDueDate().isAfter(quoteDate)) {
+                chargedInterest += interestDue;
+            } else {
+                if (!accruing) {
+                    chargedInterest += accrued(interestDue, payment.getDueDate(), quoteDate);
+                    accruing = true;
+                }
+                upcoming.add(payment);
+            }
+        }
+
+        long payoff = principal + chargedInterest;
+        if (prepayment == null) {
+            return new PayoffQuote(loanId.toString(), quoteDate,
+                    AmortizationSchedule.toMajor(payoff),
+                    AmortizationSchedule.toMajor(principal),
+                    AmortizationSchedule.toMajor(chargedInterest),
+                    AmortizationSchedule.toMajor(remainingInterest - chargedInterest),
+                    null, 0.0, List.of());
+        }
+
+        long balance = Math.max(0, payoff - AmortizationSchedule.toMinor(prepayment));
+        List<PayoffQuote.ScheduledInstallment> schedule = new ArrayList<>(upcoming.size());
+        long scheduledInterest = 0;
+        if (balance > 0 && !upcoming.isEmpty()) {
+            // Schedules without an interest split already include their interest in the balance
+            double rate = split && loan.getDetails().getInterest() != null ? loan.getDetails().getInterest() : 0.0;
+            AmortizationSchedule reamortized = loanUtil.amortize(AmortizationSchedule.toMajor(balance), rate,
+                    upcoming.size(), LoanTermType.MONTHS);
+            for (int i = 0; i < reamortized.periods(); i++) {
+                schedule.add(new PayoffQuote.ScheduledInstallment(upcoming.get(i).getDueDate(),
+                        reamortized.payment(i), reamortized.principal(i), reamortized.interest(i),
+                        reamortized.balance(i)));
+            }
+            scheduledInterest = reamortized.totalInterestMinor();
+        }
+        return new PayoffQuote(loanId.toString(), quoteDate,
+                AmortizationSchedule.toMajor(payoff),
+                AmortizationSchedule.toMajor(principal),
+                AmortizationSchedule.toMajor(chargedInterest),
+                AmortizationSchedule.toMajor(remainingInterest - chargedInterest - scheduledInterest),
+                prepayment,
+                AmortizationSchedule.toMajor(balance),
+                schedule);
+    }
+
+    // Interest earned so far in the monthly period ending at dueDate
+    private long accrued(long periodInterest, LocalDateTime dueDate, LocalDateTime asOf) {
+        LocalDateTime periodStart = dueDate.minusMonths(1);
+        if (!asOf.isAfter(periodStart)) {
+            return 0;
+        }
+        double elapsed = (double) Duration.between(periodStart, asOf).toMinutes()
+                / Duration.between(periodStart, dueDate).toMinutes();
+        return Math.round(periodInterest * Math.min(1, elapsed));
+    }
+}
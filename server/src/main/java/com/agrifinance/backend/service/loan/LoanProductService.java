@@ -1,12 +1,14 @@
 package com.agrifinance.backend.service.loan;
 
 import com.agrifinance.backend.dto.loan.LoanProductDTO;
+import com.agrifinance.backend.event.LoanProductChangedEvent;
 import com.agrifinance.backend.mapper.loan.LoanProductMapper;
 import com.agrifinance.backend.model.loan.LoanProduct;
 import com.agrifinance.backend.repository.LoanProductRepository;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -17,6 +19,7 @@ import java.util.UUID;
 public class LoanProductService {
     private final LoanProductRepository loanProductRepository;
     private final LoanProductMapper loanProductMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<LoanProductDTO> getAllLoanProducts() {
         return loanProductMapper.toDTOs(loanProductRepository.findAll());
@@ -33,5 +36,6 @@ public class LoanProductService {
 
     public void deleteLoanProduct(UUID id) {
         loanProductRepository.deleteById(id);
+        eventPublisher.publishEvent(new LoanProductChangedEvent(id));
     }
 }
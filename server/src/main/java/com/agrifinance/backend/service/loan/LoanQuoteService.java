@@ -0,0 +1,144 @@
+package com.agrifinance.backend.service.loan;
+
+import com.agrifinance.backend.config.CacheConfig;
+import com.agrifinance.backend.dto.loan.LoanQuote;
+import com.agrifinance.backend.event.LoanProductChangedEvent;
+import com.agrifinance.backend.model.enums.LoanTermType;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.utils.AmortizationSchedule;
+import com.agrifinance.backend.utils.LoanUtil;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Quotes repayments for a loan product. Both the product's terms and the
+ * computed schedules are cached: schedules are keyed by product, amount
+ * bucket, term in months and rate, so repeated browsing of the same
+ * combinations never recomputes one. The amount and term the caller asked
+ * for are set on each quote outside the cache. A product's entries are
+ * dropped once a change to it has committed.
+ */
+@Service
+public class LoanQuoteService {
+    private final LoanProductRepository loanProductRepository;
+    private final LoanUtil loanUtil;
+    private final Cache productTerms;
+    private final Cache quotes;
+    private final long amountBucketMinor;
+    private final int maxMonths;
+
+    private record ProductTerms(double interest, int term, LoanTermType termType) {
+    }
+
+    record QuoteKey(UUID productId, long amountBucket, int months, double interest) {
+    }
+
+    // The part of a quote that depends only on its key; the quote cache weighs it by installments
+    public record QuotedSchedule(double installment, double totalInterest, double totalPayable,
+            List<LoanQuote.QuoteInstallment> installments) {
+    }
+
+    public LoanQuoteService(LoanProductRepository loanProductRepository, LoanUtil loanUtil,
+            CacheManager cacheManager, @Value("${loans.quote.amount-bucket:100}") double amountBucket,
+            @Value("${loans.quote.max-months:360}") int maxMonths) {
+        this.loanProductRepository = loanProductRepository;
+        this.loanUtil = loanUtil;
+        this.productTerms = cacheManager.getCache(CacheConfig.LOAN_PRODUCT_TERMS);
+        this.quotes = cacheManager.getCache(CacheConfig.LOAN_QUOTES);
+        this.amountBucketMinor = Math.max(1, AmortizationSchedule.toMinor(amountBucket));
+        this.maxMonths = maxMonths;
+    }
+
+    /**
+     * Quotes {@code amount} rounded to the nearest amount bucket. The term
+     * defaults to the product's own term when not given and may not exceed
+     * {@code loans.quote.max-months}.
+     */
+    public LoanQuote quote(UUID productId, double amount, Integer term, LoanTermType termType) {
+        if (!(amount > 0) || Double.isInfinite(amount)) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        ProductTerms product = productTerms(productId);
+        int quotedTerm = term != null ? term : product.term();
+        LoanTermType quotedTermType = termType != null ? termType
+                : term != null ? LoanTermType.MONTHS : product.termType();
+        // Checked before converting, so a huge term can neither overflow nor size a schedule
+        if (quotedTerm > maxMonths) {
+            throw new IllegalArgumentException("Loan term must be at most " + maxMonths + " months");
+        }
+        int months = loanUtil.toMonths(quotedTerm, quotedTermType);
+        if (months <= 0) {
+            throw new IllegalArgumentException("Loan term must be positive");
+        }
+        if (months > maxMonths) {
+            throw new IllegalArgumentException("Loan term must be at most " + maxMonths + " months");
+        }
+        long bucket = Math.max(1, Math.round((double) AmortizationSchedule.toMinor(amount) / amountBucketMinor));
+
+        QuoteKey key = new QuoteKey(productId, bucket, months, product.interest());
+        QuotedSchedule schedule = quotes.get(key, () -> compute(key));
+        return new LoanQuote(
+                productId.toString(),
+                amount,
+                quotedTerm,
+                quotedTermType,
+                product.interest(),
+                schedule.installment(),
+                schedule.totalInterest(),
+                schedule.totalPayable(),
+                schedule.installments());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanProductChanged(LoanProductChangedEvent event) {
+        productTerms.evict(event.productId());
+        if (quotes instanceof CaffeineCache caffeine) {
+            caffeine.getNativeCache().asMap().keySet()
+                    .removeIf(key -> key instanceof QuoteKey quoteKey && quoteKey.productId().equals(event.productId()));
+        } else {
+            quotes.clear();
+        }
+    }
+
+    private ProductTerms productTerms(UUID productId) {
+        try {
+            return productTerms.get(productId, () -> loadTerms(productId));
+        } catch (Cache.ValueRetrievalException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private ProductTerms loadTerms(UUID productId) {
+        LoanProduct product = loanProductRepository.findById(productId)
+                .orElseThrow(() -> new RuntimeException("Loan product not found with id: " + productId));
+        return new ProductTerms(
+                product.getInterest() != null ? product.getInterest() : 0.0,
+                product.getTerm() != null ? product.getTerm() : 0,
+                product.getTermType() != null ? product.getTermType() : LoanTermType.MONTHS);
+    }
+
+    private QuotedSchedule compute(QuoteKey key) {
+        double amount = AmortizationSchedule.toMajor(key.amountBucket() * amountBucketMinor);
+        AmortizationSchedule schedule = loanUtil.amortize(amount, key.interest(), key.months(), LoanTermType.MONTHS);
+        List<LoanQuote.QuoteInstallment> installments = new ArrayList<>(schedule.periods());
+        for (int i = 0; i < schedule.periods(); i++) {
+            installments.add(new LoanQuote.QuoteInstallment(i + 1, schedule.payment(i), schedule.principal(i),
+                    schedule.interest(i), schedule.balance(i)));
+        }
+        return new QuotedSchedule(
+                schedule.payment(0),
+                AmortizationSchedule.toMajor(schedule.totalInterestMinor()),
+                AmortizationSchedule.toMajor(schedule.totalPaymentMinor()),
+                List.copyOf(installments));
+    }
+}
@@ -0,0 +1,194 @@
+package com.agrifinance.backend.service.loan;
+
+import com.agrifinance.backend.dto.admin.ReconciliationReport;
+import com.agrifinance.backend.event.LoanDataChangedEvent;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.projection.LoanBalanceCheck;
+import com.agrifinance.backend.service.scheduling.SchedulerLockService;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Checks every loan's {@code paidAmount} against the amounts received by its
+ * installments. Loan ids are walked in keyset order one chunk at a time and
+ * each chunk is aggregated in the database by a bounded pool of workers, so
+ * memory use depends on the chunk size and parallelism, not on the number of
+ * loans or payments. Mismatches are appended to a CSV report as they are
+ * found and, when requested, corrected with a version-checked update that
+ * leaves any loan paid in the meantime untouched. A loan with installments
+ * paid before per-installment tracking is never corrected downward: what
+ * those installments received is unknown, so such mismatches are only
+ * reported. One run at a time across nodes, scheduled or requested.
+ */
+@Service
+@RequiredArgsConstructor
+public class LoanReconciliationService {
+    static final String LOCK_NAME = "loan-reconciliation";
+    private static final Duration LOCK_LEASE = Duration.ofHours(1);
+    private static final double TOLERANCE = 0.005;
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final LoanRepository loanRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLockService schedulerLockService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${reconciliation.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${reconciliation.parallelism:4}")
+    private int parallelism;
+
+    @Value("${reconciliation.report-dir:${java.io.tmpdir}}")
+    private String reportDir;
+
+    @Value("${reconciliation.auto-correct:false}")
+    private boolean scheduledAutoCorrect;
+
+    @Scheduled(cron = "${reconciliation.cron:0 30 2 * * *}")
+    public void scheduledReconcile() {
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, LOCK_LEASE)) {
+            return;
+        }
+        try {
+            run(scheduledAutoCorrect);
+        } finally {
+            schedulerLockService.release(LOCK_NAME);
+        }
+    }
+
+    public ReconciliationReport reconcile(boolean autoCorrect) {
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, LOCK_LEASE)) {
+            throw new IllegalStateException("A loan reconciliation is already running");
+        }
+        try {
+            return run(autoCorrect);
+        } finally {
+            schedulerLockService.release(LOCK_NAME);
+        }
+    }
+
+    private ReconciliationReport run(boolean autoCorrect) {
+        long started = System.nanoTime();
+        Path reportFile = Path.of(reportDir,
+                "loan-reconciliation-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".csv");
+        AtomicLong scanned = new AtomicLong();
+        AtomicLong mismatches = new AtomicLong();
+        AtomicLong corrected = new AtomicLong();
+        AtomicLong legacyMismatches = new AtomicLong();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        try (BufferedWriter writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+            writer.write("loanId,recordedPaid,installmentPaid,difference,corrected,legacyInstallments");
+            writer.newLine();
+
+            ExecutorService workers = Executors.newFixedThreadPool(parallelism,
+                    Thread.ofPlatform().name("loan-reconciliation-", 0).factory());
+            // At most two chunks queued per worker while the next ids are read
+            Semaphore inFlight = new Semaphore(parallelism * 2);
+            try {
+                List<UUID> ids = loanRepository.findIds(Limit.of(chunkSize));
+                while (!ids.isEmpty() && failure.get() == null) {
+                    List<UUID> chunk = ids;
+                    inFlight.acquireUninterruptibly();
+                    workers.execute(() -> {
+                        try {
+                            checkChunk(chunk, autoCorrect, writer, mismatches, corrected, legacyMismatches);
+                            scanned.addAndGet(chunk.size());
+                        } catch (RuntimeException e) {
+                            failure.compareAndSet(null, e);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                    if (ids.size() < chunkSize) {
+                        break;
+                    }
+                    ids = loanRepository.findIdsAfter(ids.get(ids.size() - 1), Limit.of(chunkSize));
+                }
+            } finally {
+                workers.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write reconciliation report " + reportFile, e);
+        }
+        if (failure.get() != null) {
+            throw new RuntimeException("Reconciliation stopped after a failed chunk; partial report at "
+                    + reportFile, failure.get());
+        }
+
+        return new ReconciliationReport(scanned.get(), mismatches.get(), corrected.get(), legacyMismatches.get(),
+                autoCorrect, reportFile.toString(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void checkChunk(List<UUID> ids, boolean autoCorrect, BufferedWriter writer,
+            AtomicLong mismatches, AtomicLong corrected, AtomicLong legacyMismatches) {
+        List<LoanBalanceCheck> checks = transactionTemplate.execute(status -> loanRepository.checkBalances(ids));
+        for (LoanBalanceCheck check : checks) {
+            double difference = check.getRecordedPaid() - check.getInstallmentPaid();
+            if (Math.abs(difference) <= TOLERANCE) {
+                continue;
+            }
+            mismatches.incrementAndGet();
+            long legacy = check.getLegacyInstallments() != null ? check.getLegacyInstallments() : 0;
+            if (legacy > 0) {
+                legacyMismatches.incrementAndGet();
+            }
+            // Legacy installments may have received more than they show, so only a shortfall is certain
+            boolean fixed = autoCorrect && (legacy == 0 || difference < 0) && correct(check);
+            if (fixed) {
+                corrected.incrementAndGet();
+            }
+            writeLine(writer, check.getLoanId() + "," + check.getRecordedPaid() + ","
+                    + check.getInstallmentPaid() + "," + difference + "," + fixed + "," + legacy);
+        }
+    }
+
+    private boolean correct(LoanBalanceCheck check) {
+        Boolean fixed = transactionTemplate.execute(status -> {
+            int updated = loanRepository.correctPaidAmount(check.getLoanId(), check.getVersion(),
+                    check.getInstallmentPaid());
+            if (updated == 0) {
+                // Paid or corrected since the check; the next run will look at it again
+                return false;
+            }
+            eventPublisher.publishEvent(new LoanDataChangedEvent(check.getUserId()));
+            return true;
+        });
+        return Boolean.TRUE.equals(fixed);
+    }
+
+    private void writeLine(BufferedWriter writer, String line) {
+        synchronized (writer) {
+            try {
+                writer.write(line);
+                writer.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.agrifinance.backend.service.loan;
+
+import com.agrifinance.backend.config.CacheConfig;
+import com.agrifinance.backend.dto.admin.LoanRiskAssessment;
+import com.agrifinance.backend.dto.admin.RiskRescoreResult;
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.LoanTermType;
+import com.agrifinance.backend.model.loan.FinancialInfo;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.projection.LoanRiskInput;
+import com.agrifinance.backend.repository.projection.RepaymentHistory;
+import com.agrifinance.backend.service.loan.RiskScorecard.Assessment;
+import com.agrifinance.backend.service.loan.RiskScorecard.RepaymentRecord;
+import com.agrifinance.backend.service.scheduling.SchedulerLockService;
+import com.agrifinance.backend.utils.LoanUtil;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Scores loan applications with the {@link RiskScorecard}. A new application
+ * is scored synchronously as it is saved; the pending queue is re-scored in
+ * batches of ids on a small worker pool, each batch in its own transaction:
+ * one query reads the batch's application columns, one grouped query the
+ * repayment records of its users not already cached, and one UPDATE per
+ * distinct score writes the results.
+ *
+ * Repayment records are cached per user and evicted once a change to the
+ * user's loans commits; the cache's expiry bounds how long an installment
+ * that fell overdue without any change goes unnoticed.
+ */
+@Service
+public class LoanRiskService {
+    static final String LOCK_NAME = "loan-risk-rescore";
+    private static final Duration LOCK_LEASE = Duration.ofHours(1);
+
+    private final LoanRepository loanRepository;
+    private final LoanPaymentRepository loanPaymentRepository;
+    private final LoanUtil loanUtil;
+    private final SchedulerLockService schedulerLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache repaymentRecords;
+    private final RiskScorecard scorecard = new RiskScorecard();
+    private final ExecutorService workers;
+    private final AtomicBoolean rescoring = new AtomicBoolean();
+    private final Counter scored;
+    private final Timer rescoreTimer;
+    private final int batchSize;
+
+    public LoanRiskService(LoanRepository loanRepository, LoanPaymentRepository loanPaymentRepository,
+            LoanUtil loanUtil, SchedulerLockService schedulerLockService,
+            PlatformTransactionManager transactionManager, CacheManager cacheManager, MeterRegistry meterRegistry,
+            @Value("${loans.risk.batch-size:500}") int batchSize,
+            @Value("${loans.risk.parallelism:4}") int parallelism) {
+        this.loanRepository = loanRepository;
+        this.loanPaymentRepository = loanPaymentRepository;
+        this.loanUtil = loanUtil;
+        this.schedulerLockService = schedulerLockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.repaymentRecords = cacheManager.getCache(CacheConfig.REPAYMENT_RECORDS);
+        this.batchSize = batchSize;
+        // Each worker holds a connection for its batch, so this stays well below the pool size
+        this.workers = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("loan-risk-", 0).daemon(true).factory());
+        this.scored = Counter.builder("loan.risk.scored")
+                .description("Loan applications given a risk score")
+                .register(meterRegistry);
+        this.rescoreTimer = Timer.builder("loan.risk.rescore")
+                .description("Re-scoring runs over the pending queue")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Scores an application before it is saved; returns null when the
+     * product has no amount or term to derive an installment from.
+     */
+    public Assessment assess(UUID userId, FinancialInfo financial, LoanProduct product) {
+        if (product == null) {
+            return null;
+        }
+        Assessment assessment = assess(
+                financial != null ? financial.getMonthlyIncome() : null,
+                financial != null ? financial.getFarmingExperience() : null,
+                financial != null ? financial.getFarmType() : null,
+                financial != null ? financial.getEmploymentStatus() : null,
+                product.getAmount(), product.getInterest(), product.getTerm(), product.getTermType(),
+                repaymentRecords(Set.of(userId), LocalDateTime.now()).get(userId));
+        if (assessment != null) {
+            scored.increment();
+        }
+        return assessment;
+    }
+
+    @Transactional
+    public LoanRiskAssessment score(UUID loanId) {
+        LoanRiskInput input = loanRepository.findRiskInputs(List.of(loanId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Loan not found with id: " + loanId));
+        LocalDateTime now = LocalDateTime.now();
+        Assessment assessment = assess(input, repaymentRecords(Set.of(input.getUserId()), now));
+        if (assessment == null) {
+            throw new IllegalArgumentException("Loan has no product amount and term to score");
+        }
+        loanRepository.updateRiskScore(List.of(loanId), assessment.score(), assessment.grade(), now);
+        scored.increment();
+        return new LoanRiskAssessment(loanId, assessment.score(), assessment.grade(),
+                assessment.probabilityOfDefault(), now, assessment.factors().stream()
+                        .map(factor -> new LoanRiskAssessment.Factor(factor.name(), factor.impact()))
+                        .toList());
+    }
+
+    @Scheduled(cron = "${loans.risk.rescore-cron:0 15 * * * *}")
+    public void scheduledRescore() {
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, LOCK_LEASE)) {
+            return;
+        }
+        try {
+            rescorePending();
+        } finally {
+            schedulerLockService.release(LOCK_NAME);
+        }
+    }
+
+    /**
+     * Re-scores every pending loan against the current repayment records.
+     * Batches run in parallel; a failed batch leaves its loans' previous
+     * scores in place and is reported, the others still commit.
+     */
+    public RiskRescoreResult rescorePending() {
+        if (!rescoring.compareAndSet(false, true)) {
+            throw new IllegalStateException("A risk re-score is already running");
+        }
+        long started = System.nanoTime();
+        try {
+            List<UUID> pending = loanRepository.findIdsByStatus(LoanStatus.PENDING);
+            LocalDateTime now = LocalDateTime.now();
+            List<List<UUID>> batches = new ArrayList<>();
+            for (int from = 0; from < pending.size(); from += batchSize) {
+                batches.add(pending.subList(from, Math.min(from + batchSize, pending.size())));
+            }
+            List<Future<int[]>> results = new ArrayList<>(batches.size());
+            for (List<UUID> batch : batches) {
+                results.add(workers.submit(() -> transactionTemplate.execute(status -> scoreBatch(batch, now))));
+            }
+
+            int scoredLoans = 0;
+            int skipped = 0;
+            int failed = 0;
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    int[] result = results.get(i).get();
+                    scoredLoans += result[0];
+                    skipped += result[1];
+                } catch (ExecutionException e) {
+                    failed += batches.get(i).size();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while re-scoring pending loans", e);
+                }
+            }
+            scored.increment(scoredLoans);
+            return new RiskRescoreResult(pending.size(), scoredLoans, skipped, failed, batches.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            rescoreTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            rescoring.set(false);
+        }
+    }
+
+    // Returns {scored, skipped}
+    private int[] scoreBatch(List<UUID> ids, LocalDateTime now) {
+        List<LoanRiskInput> inputs = loanRepository.findRiskInputs(ids);
+        Map<UUID, RepaymentRecord> records = repaymentRecords(
+                inputs.stream().map(LoanRiskInput::getUserId).collect(Collectors.toSet()), now);
+        Map<Integer, List<UUID>> loansByScore = new HashMap<>();
+        int skipped = ids.size() - inputs.size();
+        for (LoanRiskInput input : inputs) {
+            Assessment assessment = assess(input, records);
+            if (assessment == null) {
+                skipped++;
+            } else {
+                loansByScore.computeIfAbsent(assessment.score(), score -> new ArrayList<>()).add(input.getLoanId());
+            }
+        }
+        loansByScore.forEach((score, loans) ->
+                loanRepository.updateRiskScore(loans, score, RiskScorecard.grade(score), now));
+        return new int[] { ids.size() - skipped, skipped };
+    }
+
+    private Assessment assess(LoanRiskInput input, Map<UUID, RepaymentRecord> records) {
+        return assess(input.getMonthlyIncome(), input.getFarmingExperience(), input.getFarmType(),
+                input.getEmploymentStatus(), input.getAmount(), input.getInterest(), input.getTerm(),
+                input.getTermType(), records.getOrDefault(input.getUserId(), RepaymentRecord.NONE));
+    }
+
+    private Assessment assess(Double monthlyIncome, Integer farmingExperience, String farmType,
+            String employmentStatus, Double amount, Double interest, Integer term, LoanTermType termType,
+            RepaymentRecord record) {
+        if (amount == null || term == null || term <= 0) {
+            return null;
+        }
+        LoanTermType type = termType != null ? termType : LoanTermType.MONTHS;
+        double monthlyPayment = loanUtil.calculateMonthlyPayment(amount, interest != null ? interest : 0.0,
+                term, type);
+        return scorecard.assess(new RiskScorecard.Application(monthlyIncome, farmingExperience, farmType,
+                employmentStatus, loanUtil.toMonths(term, type), monthlyPayment), record);
+    }
+
+    // Cached per user; the misses of a whole batch are read with one grouped query
+    private Map<UUID, RepaymentRecord> repaymentRecords(Collection<UUID> userIds, LocalDateTime now) {
+        Map<UUID, RepaymentRecord> records = new HashMap<>();
+        List<UUID> misses = new ArrayList<>();
+        for (UUID userId : userIds) {
+            RepaymentRecord cached = repaymentRecords.get(userId, RepaymentRecord.class);
+            if (cached != null) {
+                records.put(userId, cached);
+            } else {
+                misses.add(userId);
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (RepaymentHistory history : loanPaymentRepository.summarizeRepaymentByUser(misses, now)) {
+                records.put(history.getUserId(), new RepaymentRecord(history.getDueInstallments(),
+                        history.getPaidOnTime(), history.getPaidLate(), history.getOverdueInstallments(),
+                        history.getActiveLoans(), history.getRepaidLoans()));
+            }
+            for (UUID userId : misses) {
+                repaymentRecords.put(userId, records.computeIfAbsent(userId, id -> RepaymentRecord.NONE));
+            }
+        }
+        return records;
+    }
+}
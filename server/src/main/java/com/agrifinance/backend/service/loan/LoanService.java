@@ -1,6 +1,11 @@
 package com.agrifinance.backend.service.loan;
 
+import com.agrifinance.backend.config.CacheConfig;
 import com.agrifinance.backend.dto.loan.*;
+import com.agrifinance.backend.event.DashboardDeltaEvent;
+import com.agrifinance.backend.event.LoanActivityEvent;
+import com.agrifinance.backend.event.LoanAppliedEvent;
+import com.agrifinance.backend.event.LoanDataChangedEvent;
 import com.agrifinance.backend.model.enums.LoanStatus;
 import com.agrifinance.backend.model.enums.PaymentStatus;
 import com.agrifinance.backend.model.loan.*;
@@ -8,20 +13,31 @@ import com.agrifinance.backend.model.user.User;
 import com.agrifinance.backend.mapper.loan.*;
 import com.agrifinance.backend.repository.LoanRepository;
 import com.agrifinance.backend.repository.UserRepository;
+import com.agrifinance.backend.utils.AmortizationSchedule;
 import com.agrifinance.backend.utils.LoanUtil;
 
 import lombok.RequiredArgsConstructor;
 
-import java.util.stream.Collectors;
-
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @RequiredArgsConstructor
 public class LoanService {
+    public static final String NO_PENDING_PAYMENTS = "No pending payments found for this loan";
+    private static final int MAX_PAYMENT_ATTEMPTS = 5;
+    private static final long PAYMENT_RETRY_BACKOFF_MS = 10;
+
     private final LoanRepository loanRepository;
     private final UserRepository userRepository;
     private final LoanMapper loanMapper;
@@ -31,17 +47,20 @@ public class LoanService {
     private final LoanProductMapper loanProductMapper;
     private final LoanUtil loanUtil;
     private final LoanPaymentService loanPaymentService;
+    private final LoanAnalyticsService loanAnalyticsService;
+    private final LoanSummaryService loanSummaryService;
+    private final LoanRiskService loanRiskService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
+    @Transactional(readOnly = true)
     public LoanDTO getCurrentLoan(UUID userId) {
-        List<Loan> loans = loanRepository.findByUserId(userId);
-        if (loans.isEmpty())
+        List<Loan> latest = loanRepository.findLatestWithDetailsByUserId(userId, Limit.of(1));
+        if (latest.isEmpty())
             return null;
-        Loan latestLoan = loans.stream()
-                .max(Comparator.comparing(Loan::getCreatedAt))
-                .orElse(null);
+        Loan latestLoan = latest.get(0);
         LoanDTO result = loanMapper.toDTO(latestLoan);
         result.setPayments(loanPaymentService.getAllPayments(latestLoan.getId()));
-        System.out.println("\n\n\n" + result);
         return result;
     }
 
@@ -49,219 +68,169 @@ public class LoanService {
         return loanMapper.toDTOs(loanRepository.findByUserId(userId));
     }
 
-    public Map<String, Object> getLoanAnalytics(UUID userId) {
-        List<Loan> loans = loanRepository.findByUserId(userId);
-        Map<String, Object> analytics = new HashMap<>();
+    @Cacheable(cacheNames = CacheConfig.LOAN_ANALYTICS, key = "#userId")
+    public LoanAnalytics getLoanAnalytics(UUID userId) {
+        return loanAnalyticsService.getLoanAnalytics(userId, false);
+    }
 
-        // Basic stats
-        analytics.put("totalLoans", loans.size());
-        analytics.put("activeLoans", loans.stream()
-                .filter(l -> l.getStatus() == LoanStatus.APPROVED)
-                .count());
+    // Not cached: the per-loan breakdown is only asked for by the analytics screen
+    public LoanAnalytics getLoanAnalyticsWithBreakdown(UUID userId) {
+        return loanAnalyticsService.getLoanAnalytics(userId, true);
+    }
 
-        // Total amount borrowed (using LoanDetails.amount)
-        double totalAmountBorrowed = loans.stream()
-                .mapToDouble(loan -> loan.getDetails().getAmount())
-                .sum();
-        analytics.put("totalAmountBorrowed", totalAmountBorrowed);
+    /**
+     * Applies a payment to the loan's outstanding installments. Installments
+     * and the loan are versioned, so two payments racing on the same loan
+     * cannot both apply to the same state: the loser's transaction is rolled
+     * back and replayed against the committed result, up to
+     * {@value #MAX_PAYMENT_ATTEMPTS} times. Must not be called inside an
+     * existing transaction, which could not be retried.
+     */
+    public PaymentResult processPayment(UUID loanId, Double paymentAmount) {
+        return processPayments(loanId, List.of(paymentAmount)).get(0);
+    }
 
-        // Total amount repaid (sum of all payments with status 'PAID')
-        double totalAmountRepaid = loans.stream()
-                .flatMap(loan -> loanPaymentService.findAllPayments(loan.getId()).stream())
-                .filter(payment -> PaymentStatus.PAID == payment.getStatus())
-                .mapToDouble(LoanPayment::getAmount)
-                .sum();
-        analytics.put("totalAmountRepaid", totalAmountRepaid);
-
-        // Total interest paid (sum of all interest paid in PAID payments)
-        double totalInterestPaid = 0.0;
-        for (Loan loan : loans) {
-            double principal = loan.getDetails().getAmount();
-            double totalPaid = loanPaymentService.findAllPayments(loan.getId()).stream()
-                    .filter(p -> PaymentStatus.PAID == p.getStatus())
-                    .mapToDouble(LoanPayment::getAmount)
-                    .sum();
-            totalInterestPaid += Math.max(0, totalPaid - principal);
-        }
-        analytics.put("totalInterestPaid", totalInterestPaid);
-
-        // Next payment due (earliest non-PAID payment)
-        Optional<LoanPayment> nextPayment = loans.stream()
-                .flatMap(loan -> loanPaymentService.findAllPayments(loan.getId()).stream())
-                .filter(payment -> PaymentStatus.PAID != payment.getStatus())
-                .min(Comparator.comparing(LoanPayment::getDueDate));
-
-        if (nextPayment.isPresent()) {
-            analytics.put("nextPaymentDueDate", nextPayment.get().getDueDate().toString());
-            analytics.put("nextPaymentAmount", nextPayment.get().getAmount());
-            // analytics.put("nextPaymentLoanId",
-            // nextPayment.get().getLoan().getId().toString());
-        } else {
-            analytics.put("nextPaymentDueDate", null);
-            analytics.put("nextPaymentAmount", null);
-            analytics.put("nextPaymentLoanId", null);
+    /**
+     * Applies several payments to one loan in order, in a single transaction:
+     * the loan and its outstanding installments are read once, every payment
+     * is allocated in memory and the changes are written together. Payments
+     * after the one that settles the loan are not applied, so the result holds
+     * one entry per applied payment, in order. Retried like
+     * {@link #processPayment}.
+     */
+    public List<PaymentResult> processPayments(UUID loanId, List<Double> paymentAmounts) {
+        for (int attempt = 1;; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyPayments(loanId, paymentAmounts));
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_PAYMENT_ATTEMPTS) {
+                    throw e;
+                }
+                backOff(attempt);
+            }
         }
+    }
 
-        // Loan breakdown
-        List<Map<String, Object>> loanBreakdown = new ArrayList<>();
-        for (Loan loan : loans) {
-            double repaidAmount = loanPaymentService.findAllPayments(loan.getId()).stream()
-                    .filter(p -> PaymentStatus.PAID == p.getStatus())
-                    .mapToDouble(LoanPayment::getAmount)
-                    .sum();
-            double remainingAmount = loanPaymentService.findAllPayments(loan.getId()).stream()
-                    .filter(p -> PaymentStatus.PAID != p.getStatus())
-                    .mapToDouble(LoanPayment::getAmount)
-                    .sum();
-
-            Map<String, Object> breakdown = new HashMap<>();
-            breakdown.put("loanId", loan.getId().toString());
-            breakdown.put("type", loan.getDetails());
-            breakdown.put("amount", loan.getDetails().getAmount());
-            breakdown.put("interest",
-                    loanPaymentService.findAllPayments(loan.getId()).isEmpty() ? 0.0
-                            : (loanPaymentService.findAllPayments(loan.getId()).get(0).getAmount()
-                                    * loanPaymentService.findAllPayments(loan.getId()).size())
-                                    - loan.getDetails().getAmount());
-            breakdown.put("status", loan.getStatus().name());
-            breakdown.put("createdAt", loan.getCreatedAt() != null ? loan.getCreatedAt().toString() : null);
-            breakdown.put("repaidAmount", repaidAmount);
-            breakdown.put("remainingAmount", remainingAmount);
-            loanBreakdown.add(breakdown);
+    private void backOff(int attempt) {
+        long delay = PAYMENT_RETRY_BACKOFF_MS << (attempt - 1);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(delay / 2, delay + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while retrying payment", e);
         }
-        analytics.put("loanBreakdown", loanBreakdown);
-
-        // Payment history (last 10 payments)
-        List<Map<String, Object>> paymentHistory = loans.stream()
-                .flatMap(loan -> loanPaymentService.findAllPayments(loan.getId()).stream()
-                        .map(payment -> {
-                            Map<String, Object> ph = new HashMap<>();
-                            ph.put("paymentId", payment.getId().toString());
-                            ph.put("loanId", loan.getId().toString());
-                            ph.put("amount", payment.getAmount());
-                            ph.put("dueDate", payment.getDueDate() != null ? payment.getDueDate().toString() : null);
-                            ph.put("paidDate", payment.getPaidDate() != null ? payment.getPaidDate().toString() : null);
-
-                            String status;
-                            if (PaymentStatus.PAID == payment.getStatus()) {
-                                status = "Paid";
-                            } else if (PaymentStatus.NOT_PAID == payment.getStatus()) {
-                                status = "Overdue";
-                            } else {
-                                status = "Upcoming";
-                            }
-                            ph.put("status", status);
-                            ph.put("sortDate",
-                                    payment.getPaidDate() != null ? payment.getPaidDate() : payment.getDueDate());
-                            return ph;
-                        }))
-                .sorted((a, b) -> {
-                    // Sort by paid date if available, otherwise by due date (descending)
-                    LocalDateTime dateA = (LocalDateTime) a.get("sortDate");
-                    LocalDateTime dateB = (LocalDateTime) b.get("sortDate");
-                    if (dateA == null && dateB == null)
-                        return 0;
-                    if (dateA == null)
-                        return 1;
-                    if (dateB == null)
-                        return -1;
-                    return dateB.compareTo(dateA);
-                })
-                .limit(10) // Limit to last 10 payments
-                .map(payment -> {
-                    payment.remove("sortDate");
-                    return payment;
-                })
-                .collect(Collectors.toList());
-
-        analytics.put("paymentHistory", paymentHistory);
-
-        // Summary stats
-        analytics.put("outstandingBalance", totalAmountBorrowed - totalAmountRepaid);
-        analytics.put("repaymentProgress",
-                totalAmountBorrowed > 0 ? (totalAmountRepaid / totalAmountBorrowed) * 100 : 0);
-
-        return analytics;
     }
 
-    public Map<String, Object> processPayment(UUID loanId, Double paymentAmount) {
+    private List<PaymentResult> applyPayments(UUID loanId, List<Double> paymentAmounts) {
         Loan loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new RuntimeException("Loan not found"));
-System.out.println("Testing .......\n\n\n\n"+loan);
         if (loan.getStatus() != LoanStatus.APPROVED) {
             throw new RuntimeException("Cannot process payment for a  loan that is not approved");
         }
 
-        List<LoanPayment> pendingPayments = loanPaymentService.findAllPayments(loan.getId()).stream()
-                .filter(p -> p.getStatus() == PaymentStatus.PENDING || p.getStatus() == PaymentStatus.NOT_PAID)
-                .sorted(Comparator.comparing(LoanPayment::getDueDate))
-                .collect(Collectors.toList());
+        // Paid installments are never touched again, so only the outstanding ones are loaded
+        List<LoanPayment> pendingPayments = loanPaymentService.findOutstandingPayments(loan.getId());
 
         if (pendingPayments.isEmpty()) {
-            throw new RuntimeException("No pending payments found for this loan");
+            throw new RuntimeException(NO_PENDING_PAYMENTS);
         }
 
-        Map<String, Object> result = new HashMap<>();
-        List<Map<String, Object>> processedPayments = new ArrayList<>();
-        double remainingAmount = paymentAmount;
-        boolean paymentComplete = false;
-
-        for (LoanPayment payment : pendingPayments) {
-            if (remainingAmount <= 0) {
-                paymentComplete = true;
+        // A schedule without the split: the loan's settled total tells how much of a payment was interest
+        boolean unsplit = pendingPayments.get(0).getInterest() == null;
+        double settledBefore = unsplit ? loanPaymentService.getSettledAmount(loan.getId()) : 0;
+
+        List<PaymentResult> results = new ArrayList<>(paymentAmounts.size());
+        List<Object> paymentEvents = new ArrayList<>();
+        List<LoanReceipt> receipts = new ArrayList<>();
+        double loanPaid = 0;
+        double settledAmount = 0;
+        double interestPaid = 0;
+        boolean isFullyPaid = false;
+        // Installments before this one have been paid in full by earlier payments of the batch
+        int next = 0;
+
+        for (Double paymentAmount : paymentAmounts) {
+            if (isFullyPaid) {
                 break;
             }
+            List<ProcessedPayment> processedPayments = new ArrayList<>();
+            double remainingAmount = paymentAmount;
+            boolean paymentComplete = false;
+
+            for (int i = next; i < pendingPayments.size(); i++) {
+                LoanPayment payment = pendingPayments.get(i);
+                if (remainingAmount <= 0) {
+                    paymentComplete = true;
+                    break;
+                }
+
+                Double originalDue = payment.getAmount();
+                double amountPaid = Math.min(originalDue, remainingAmount);
+                double receivedBefore = payment.getPaidAmount() != null ? payment.getPaidAmount() : 0;
+                payment.setPaidAmount(receivedBefore + amountPaid);
+                if (payment.getInterest() != null) {
+                    // An installment's interest is settled before its principal
+                    interestPaid += Math.min(payment.getInterest(), receivedBefore + amountPaid)
+                            - Math.min(payment.getInterest(), receivedBefore);
+                }
+
+                if (remainingAmount >= payment.getAmount()) {
+                    // Full payment for this installment
+                    payment.setStatus(PaymentStatus.PAID);
+                    payment.setPaidDate(LocalDateTime.now());
+                    remainingAmount -= payment.getAmount();
+                    settledAmount += payment.getAmount();
+                    next = i + 1;
+                    processedPayments.add(new ProcessedPayment(payment.getId(), originalDue, amountPaid,
+                            PaymentStatus.PAID, null));
+                } else {
+                    // Partial payment
+                    payment.setAmount(payment.getAmount() - remainingAmount);
+                    remainingAmount = 0;
+                    processedPayments.add(new ProcessedPayment(payment.getId(), originalDue, amountPaid,
+                            payment.getStatus(), payment.getAmount()));
+                }
+            }
 
-            Map<String, Object> paymentResult = new HashMap<>();
-            paymentResult.put("paymentId", payment.getId());
-            paymentResult.put("originalDue", payment.getAmount());
-            paymentResult.put("amountPaid", Math.min(payment.getAmount(), remainingAmount));
-
-            if (remainingAmount >= payment.getAmount()) {
-                // Full payment for this installment
-                payment.setStatus(PaymentStatus.PAID);
-                payment.setPaidDate(LocalDateTime.now());
-                remainingAmount -= payment.getAmount();
-                paymentResult.put("status", PaymentStatus.PAID);
-            } else {
-                // Partial payment
-                payment.setAmount(payment.getAmount() - remainingAmount);
-                paymentResult.put("status", PaymentStatus.NOT_PAID);
-                paymentResult.put("remainingAmount", payment.getAmount());
-                remainingAmount = 0;
+            double totalPaid = paymentAmount - remainingAmount;
+            loanPaid += totalPaid;
+            isFullyPaid = next == pendingPayments.size();
+            if (totalPaid > 0) {
+                // The receipt and the KPI delta carry the same date, so a rebuild books it on the same day
+                LocalDateTime receivedAt = LocalDateTime.now();
+                receipts.add(LoanReceipt.builder().loan(loan).amount(totalPaid).receivedAt(receivedAt).build());
+                paymentEvents.add(LoanActivityEvent.repaid(receivedAt, totalPaid));
+                paymentEvents.add(DashboardDeltaEvent.paymentReceived(loan.getId(), loan.getUser().getId(),
+                        isFullyPaid ? LoanStatus.PAID : loan.getStatus(), totalPaid, receivedAt));
             }
 
-            processedPayments.add(paymentResult);
+            String message = remainingAmount > 0
+                    ? "Payment processed successfully. Remaining amount will be refunded or can be applied to future payments."
+                    : null;
+            results.add(new PaymentResult(processedPayments, totalPaid, remainingAmount, isFullyPaid,
+                    paymentComplete, message));
         }
 
-        // Update loan's paid amount
-        double totalPaid = paymentAmount - remainingAmount;
-        loan.setPaidAmount((loan.getPaidAmount() != null ? loan.getPaidAmount() : 0) + totalPaid);
-
-        // Check if loan is fully paid
-        boolean isFullyPaid = loanPaymentService.findAllPayments(loan.getId()).stream()
-                .allMatch(p -> p.getStatus() == PaymentStatus.PAID);
-
-        if (isFullyPaid) {
-            loan.setStatus(LoanStatus.PAID);
+        loanPaymentService.saveReceipts(receipts);
+        // Flushes the installment changes, then moves the loan on only from the version we read
+        int updated = loanRepository.applyPayment(loan.getId(), loan.getVersion(), loanPaid,
+                isFullyPaid ? LoanStatus.PAID : loan.getStatus(), LocalDateTime.now());
+        if (updated == 0) {
+            throw new ObjectOptimisticLockingFailureException(Loan.class, loan.getId());
         }
-
-        loanRepository.save(loan);
-
-        result.put("processedPayments", processedPayments);
-        result.put("totalPaid", totalPaid);
-        result.put("remainingBalance", remainingAmount);
-        result.put("isLoanFullyPaid", isFullyPaid);
-        result.put("paymentComplete", paymentComplete);
-
-        if (remainingAmount > 0) {
-            result.put("message",
-                    "Payment processed successfully. Remaining amount will be refunded or can be applied to future payments.");
+        if (unsplit && settledAmount > 0) {
+            double principal = loan.getDetails() != null && loan.getDetails().getAmount() != null
+                    ? loan.getDetails().getAmount() : 0.0;
+            interestPaid = LoanSummaryService.unsplitInterestPaid(principal, settledBefore + settledAmount)
+                    - LoanSummaryService.unsplitInterestPaid(principal, settledBefore);
         }
-
-        return result;
+        loanSummaryService.onPaymentProcessed(loan.getUser().getId(), settledAmount, interestPaid, isFullyPaid);
+        eventPublisher.publishEvent(new LoanDataChangedEvent(loan.getUser().getId()));
+        paymentEvents.forEach(eventPublisher::publishEvent);
+        return results;
     }
 
+    @Transactional
     public LoanDTO applyForLoan(UUID userId, LoanRequest request) {
         System.out.println("user id" + request.getDetails());
         User user = userRepository.findById(userId).orElseThrow();
@@ -275,6 +244,8 @@ System.out.println("Testing .......\n\n\n\n"+loan);
                 .documents(documentUploadMapper.toEntity(request.getDocuments()))
                 .build();
 
+        RiskScorecard.Assessment risk = loanRiskService.assess(userId, info.getFinancial(), details);
+
         // Create the loan
         Loan loan = Loan.builder()
                 .user(user)
@@ -285,29 +256,38 @@ System.out.println("Testing .......\n\n\n\n"+loan);
                 .details(details)
                 .purpose(request.getPurpose())
                 .info(info)
+                .riskScore(risk != null ? risk.score() : null)
+                .riskGrade(risk != null ? risk.grade() : null)
+                .riskScoredAt(risk != null ? LocalDateTime.now() : null)
                 .build();
 
-        // Calculate monthly payment and create payment schedule
-        double monthlyPayment = loanUtil.calculateMonthlyPayment(
+        AmortizationSchedule schedule = loanUtil.amortize(
                 details.getAmount(),
                 details.getInterest() != null ? details.getInterest() : 0.0,
-                details.getTerm());
+                details.getTerm(),
+                details.getTermType());
         loan = loanRepository.save(loan);
 
-        List<LoanPayment> payments = new ArrayList<>();
+        List<LoanPayment> payments = new ArrayList<>(schedule.periods());
         LocalDateTime dueDate = loan.getCreatedAt().plusMonths(1);
-        for (int i = 0; i < details.getTerm(); i++) {
+        for (int i = 0; i < schedule.periods(); i++) {
             LoanPayment payment = LoanPayment.builder()
-                    .amount(monthlyPayment)
+                    .amount(schedule.payment(i))
+                    .principal(schedule.principal(i))
+                    .interest(schedule.interest(i))
                     .loan(loan)
                     .dueDate(dueDate.plusMonths(i))
                     .status(PaymentStatus.NOT_PAID)
                     .build();
             payments.add(payment);
         }
-        for (LoanPayment loanPayment : payments) {
-            loanPaymentService.save(loanPayment);
-        }
+        loanPaymentService.saveAll(payments);
+        loanSummaryService.onLoanApplied(userId, details.getAmount());
+        eventPublisher.publishEvent(new LoanDataChangedEvent(userId));
+        eventPublisher.publishEvent(LoanActivityEvent.applied(loan.getCreatedAt()));
+        eventPublisher.publishEvent(new LoanAppliedEvent(loan.getId(), info));
+        eventPublisher.publishEvent(DashboardDeltaEvent.loanApplied(loan.getId(), userId, details.getAmount(),
+                loan.getCreatedAt()));
         return loanMapper.toDTO(loan);
     }
 
@@ -341,14 +321,15 @@ System.out.println("Testing .......\n\n\n\n"+loan);
         return summary;
     }
 
+    // Pays against the user's latest loan by id; the returned loan reflects the payment
     public LoanDTO makePayment(UUID userId, double amount) {
-        LoanDTO loanDTO = this.getCurrentLoan(userId);
-        Loan loan = loanMapper.toEntity(loanDTO);
-        if (loan == null) {
+        List<UUID> latest = loanRepository.findLatestIdByUserId(userId, Limit.of(1));
+        if (latest.isEmpty()) {
             throw new RuntimeException("No current loan found");
         }
-        this.processPayment(loan.getId(), amount);
-        return loanMapper.toDTO(loan);
+        UUID loanId = latest.get(0);
+        this.processPayment(loanId, amount);
+        return transactionTemplate.execute(status -> loanMapper.toDTO(loanRepository.findById(loanId).orElseThrow()));
     }
 
 }
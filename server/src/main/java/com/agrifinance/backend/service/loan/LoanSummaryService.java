@@ -0,0 +1,139 @@
+package com.agrifinance.backend.service.loan;
+
+import com.agrifinance.backend.model.loan.LoanSummary;
+import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.LoanSummaryRepository;
+import com.agrifinance.backend.repository.projection.UnsplitRepayment;
+import com.agrifinance.backend.repository.projection.UserLoanTotals;
+import com.agrifinance.backend.repository.projection.UserPaymentTotals;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the per-user {@link LoanSummary} projection. The loan workflow
+ * calls the {@code on*} hooks inside its own transaction so the projection
+ * commits or rolls back together with the change that caused it.
+ */
+@Service
+@RequiredArgsConstructor
+public class LoanSummaryService {
+    private final LoanSummaryRepository loanSummaryRepository;
+    private final LoanRepository loanRepository;
+    private final LoanPaymentRepository loanPaymentRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onLoanApplied(UUID userId, double amount) {
+        applyDelta(userId, amount, 0, 0, 1, 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onPaymentProcessed(UUID userId, double repaid, double interestPaid, boolean loanClosed) {
+        applyDelta(userId, 0, repaid, loanClosed ? -1 : 0, 0, interestPaid);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onLoanActivated(UUID userId) {
+        applyDelta(userId, 0, 0, 1, 0, 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onLoansActivated(UUID userId, int count) {
+        applyDelta(userId, 0, 0, count, 0, 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onLoanDeactivated(UUID userId) {
+        applyDelta(userId, 0, 0, -1, 0, 0);
+    }
+
+    @Transactional(readOnly = true)
+    public LoanSummary getSummary(UUID userId) {
+        return loanSummaryRepository.findById(userId)
+                .orElseGet(() -> compute(userId));
+    }
+
+    @Transactional
+    public LoanSummary rebuild(UUID userId) {
+        return loanSummaryRepository.save(compute(userId));
+    }
+
+    @Transactional
+    public int rebuildAll() {
+        Map<UUID, UserLoanTotals> loansByUser = loanRepository.sumGroupByUser().stream()
+                .collect(Collectors.toMap(UserLoanTotals::getUserId, Function.identity()));
+        Map<UUID, UserPaymentTotals> paymentsByUser = loanPaymentRepository.sumGroupByUser().stream()
+                .collect(Collectors.toMap(UserPaymentTotals::getUserId, Function.identity()));
+        Map<UUID, Double> unsplitInterestByUser = new HashMap<>();
+        for (UnsplitRepayment loan : loanPaymentRepository.findUnsplitRepayment()) {
+            unsplitInterestByUser.merge(loan.getUserId(), unsplitInterestPaid(loan.getPrincipal(), loan.getRepaid()),
+                    Double::sum);
+        }
+
+        List<LoanSummary> summaries = new ArrayList<>(loansByUser.size());
+        for (UserLoanTotals loans : loansByUser.values()) {
+            summaries.add(toSummary(loans.getUserId(), loans, paymentsByUser.get(loans.getUserId()),
+                    unsplitInterestByUser.getOrDefault(loans.getUserId(), 0.0)));
+        }
+        loanSummaryRepository.deleteAllInBatch();
+        loanSummaryRepository.saveAll(summaries);
+        return summaries.size();
+    }
+
+    /**
+     * Interest a payment settles on a loan whose schedule has no
+     * principal/interest split: money counts as principal until the
+     * principal is repaid, and as interest after that.
+     */
+    public static double unsplitInterestPaid(double principal, double repaid) {
+        return Math.max(0, repaid - principal);
+    }
+
+    private void applyDelta(UUID userId, double borrowed, double repaid, int active, int loans, double interest) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = loanSummaryRepository.applyDelta(userId, borrowed, repaid, active, loans, interest, now);
+        if (updated == 0) {
+            // First change for this user: derive the row from the source tables,
+            // which already include the change being applied
+            loanSummaryRepository.insertOrApplyDelta(compute(userId), borrowed, repaid, active, loans, interest,
+                    now);
+        }
+        loanSummaryRepository.refreshNextDueDate(userId);
+    }
+
+    private LoanSummary compute(UUID userId) {
+        UserLoanTotals loans = loanRepository.sumByUserId(userId).orElse(null);
+        UserPaymentTotals payments = loanPaymentRepository.sumByUserId(userId).orElse(null);
+        double unsplitInterest = 0.0;
+        for (UnsplitRepayment loan : loanPaymentRepository.findUnsplitRepaymentByUserId(userId)) {
+            unsplitInterest += unsplitInterestPaid(loan.getPrincipal(), loan.getRepaid());
+        }
+        return toSummary(userId, loans, payments, unsplitInterest);
+    }
+
+    private LoanSummary toSummary(UUID userId, UserLoanTotals loans, UserPaymentTotals payments,
+            double unsplitInterest) {
+        double totalBorrowed = loans != null ? loans.getTotalBorrowed() : 0.0;
+        double totalRepaid = payments != null ? payments.getTotalRepaid() : 0.0;
+        return LoanSummary.builder()
+                .userId(userId)
+                .totalBorrowed(totalBorrowed)
+                .totalRepaid(totalRepaid)
+                .outstandingBalance(totalBorrowed - totalRepaid)
+                .nextDueDate(payments != null ? payments.getNextDueDate() : null)
+                .activeLoans(loans != null ? loans.getActiveLoans().intValue() : 0)
+                .totalLoans(loans != null ? loans.getTotalLoans().intValue() : 0)
+                .interestPaid((payments != null ? payments.getInterestPaid() : 0.0) + unsplitInterest)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.agrifinance.backend.service.loan;
+
+import com.agrifinance.backend.event.LoanDataChangedEvent;
+import com.agrifinance.backend.model.enums.PaymentStatus;
+import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.projection.OverduePayment;
+import com.agrifinance.backend.service.scheduling.SchedulerLockService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Moves installments of approved loans past their due date to
+ * {@link PaymentStatus#OVERDUE}. Rows are selected and updated in chunks,
+ * each committed separately, so a sweep never holds many row locks or loads
+ * any entities. Only the node holding the scheduler lock runs the sweep.
+ */
+@Service
+public class OverduePaymentSweeper {
+    static final String LOCK_NAME = "overdue-payment-sweep";
+    private static final Duration LOCK_LEASE = Duration.ofMinutes(10);
+    private static final List<PaymentStatus> UNPAID = List.of(PaymentStatus.NOT_PAID, PaymentStatus.PENDING);
+
+    private final LoanPaymentRepository loanPaymentRepository;
+    private final SchedulerLockService schedulerLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter markedCounter;
+    private final Timer sweepTimer;
+    private final int chunkSize;
+
+    // A row paid between the select and the update is selected but not updated
+    private record Chunk(int selected, int updated) {
+    }
+
+    public OverduePaymentSweeper(LoanPaymentRepository loanPaymentRepository,
+            SchedulerLockService schedulerLockService,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${payments.overdue-sweep.chunk-size:500}") int chunkSize) {
+        this.loanPaymentRepository = loanPaymentRepository;
+        this.schedulerLockService = schedulerLockService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.markedCounter = Counter.builder("loan.payments.overdue.marked")
+                .description("Installments moved to OVERDUE by the sweeper")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("loan.payments.overdue.sweep")
+                .description("Duration of overdue installment sweeps")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${payments.overdue-sweep.cron:0 */15 * * * *}")
+    public void scheduledSweep() {
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, LOCK_LEASE)) {
+            return;
+        }
+        try {
+            sweep();
+        } finally {
+            schedulerLockService.release(LOCK_NAME);
+        }
+    }
+
+    /**
+     * Marks every installment due before now and returns how many were changed.
+     */
+    public int sweep() {
+        return sweepTimer.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            int marked = 0;
+            while (true) {
+                Chunk chunk = transactionTemplate.execute(status -> markChunk(now));
+                marked += chunk.updated();
+                if (chunk.selected() < chunkSize) {
+                    return marked;
+                }
+            }
+        });
+    }
+
+    private Chunk markChunk(LocalDateTime now) {
+        List<OverduePayment> overdue = loanPaymentRepository.findOverdue(UNPAID, now, Limit.of(chunkSize));
+        if (overdue.isEmpty()) {
+            return new Chunk(0, 0);
+        }
+        List<UUID> ids = overdue.stream().map(OverduePayment::getPaymentId).toList();
+        int updated = loanPaymentRepository.markOverdue(ids, UNPAID);
+        markedCounter.increment(updated);
+
+        Set<UUID> users = overdue.stream().map(OverduePayment::getUserId).collect(Collectors.toSet());
+        users.forEach(userId -> eventPublisher.publishEvent(new LoanDataChangedEvent(userId)));
+        return new Chunk(overdue.size(), updated);
+    }
+}
@@ -0,0 +1,137 @@
+package com.agrifinance.backend.service.loan;
+
+import com.agrifinance.backend.model.enums.RiskGrade;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Logistic credit scorecard for a loan application. Each feature adds to the
+ * log-odds of default; the probability of default is turned into a score
+ * from 0 (riskiest) to 100 and a {@link RiskGrade}. The weights are expert
+ * judgement, chosen so an employed applicant with a clean record and a
+ * repayment under a third of income lands in grade A or B, and are meant to
+ * be refitted once enough decided loans have an outcome.
+ *
+ * Scoring is a few arithmetic operations on immutable inputs and is safe to
+ * call from any number of threads.
+ */
+public final class RiskScorecard {
+    private static final double INTERCEPT = -3.0;
+    // Installment over monthly income, capped; missing income counts as the cap
+    private static final double DEBT_SERVICE_WEIGHT = 2.0;
+    private static final double MAX_DEBT_SERVICE_RATIO = 2.0;
+    private static final double EXPERIENCE_WEIGHT = -0.06;
+    private static final int MAX_EXPERIENCE_YEARS = 20;
+    // Per month beyond a year; a longer exposure is harder to foresee
+    private static final double TERM_WEIGHT = 0.01;
+    private static final int MAX_TERM_MONTHS = 120;
+    private static final double THIN_FILE = 0.2;
+    private static final double ON_TIME_WEIGHT = -0.04;
+    private static final int MAX_ON_TIME_INSTALLMENTS = 24;
+    private static final double LATE_SHARE_WEIGHT = 1.5;
+    private static final double OVERDUE_WEIGHT = 0.5;
+    private static final int MAX_OVERDUE_INSTALLMENTS = 5;
+    private static final double ACTIVE_LOAN_WEIGHT = 0.3;
+    private static final int MAX_ACTIVE_LOANS = 3;
+    private static final double REPAID_LOAN_WEIGHT = -0.3;
+    private static final int MAX_REPAID_LOANS = 3;
+    // Lowest score of grades A to D; anything lower is E
+    private static final int[] GRADE_FLOOR = { 97, 93, 85, 70 };
+
+    /**
+     * What the applicant asked for and told us. {@code monthlyPayment} is the
+     * level installment of the requested product.
+     */
+    public record Application(Double monthlyIncome, Integer farmingExperience, String farmType,
+            String employmentStatus, int termMonths, double monthlyPayment) {
+    }
+
+    /** Installment and loan counts over the applicant's granted loans. */
+    public record RepaymentRecord(long dueInstallments, long paidOnTime, long paidLate, long overdueInstallments,
+            long activeLoans, long repaidLoans) {
+        public static final RepaymentRecord NONE = new RepaymentRecord(0, 0, 0, 0, 0, 0);
+    }
+
+    /** A feature's contribution to the log-odds of default; positive is riskier. */
+    public record Factor(String name, double impact) {
+    }
+
+    public record Assessment(int score, RiskGrade grade, double probabilityOfDefault, List<Factor> factors) {
+    }
+
+    public Assessment assess(Application application, RepaymentRecord record) {
+        List<Factor> factors = new ArrayList<>(8);
+        double logOdds = INTERCEPT;
+
+        Double income = application.monthlyIncome();
+        double debtService = income != null && income > 0
+                ? Math.min(MAX_DEBT_SERVICE_RATIO, application.monthlyPayment() / income)
+                : MAX_DEBT_SERVICE_RATIO;
+        logOdds += factor(factors, "debtServiceRatio", DEBT_SERVICE_WEIGHT * debtService);
+
+        int experience = application.farmingExperience() != null ? application.farmingExperience() : 0;
+        logOdds += factor(factors, "farmingExperience",
+                EXPERIENCE_WEIGHT * Math.min(MAX_EXPERIENCE_YEARS, Math.max(0, experience)));
+        logOdds += factor(factors, "employmentStatus", employmentWeight(application.employmentStatus()));
+        logOdds += factor(factors, "farmType", farmTypeWeight(application.farmType()));
+        logOdds += factor(factors, "term",
+                TERM_WEIGHT * Math.max(0, Math.min(MAX_TERM_MONTHS, application.termMonths()) - 12));
+
+        if (record.dueInstallments() == 0 && record.repaidLoans() == 0) {
+            logOdds += factor(factors, "noRepaymentHistory", THIN_FILE);
+        } else {
+            logOdds += factor(factors, "paidOnTime",
+                    ON_TIME_WEIGHT * Math.min(MAX_ON_TIME_INSTALLMENTS, record.paidOnTime()));
+            long settled = record.paidOnTime() + record.paidLate();
+            logOdds += factor(factors, "paidLate",
+                    settled > 0 ? LATE_SHARE_WEIGHT * record.paidLate() / settled : 0);
+            logOdds += factor(factors, "overdueInstallments",
+                    OVERDUE_WEIGHT * Math.min(MAX_OVERDUE_INSTALLMENTS, record.overdueInstallments()));
+            logOdds += factor(factors, "repaidLoans",
+                    REPAID_LOAN_WEIGHT * Math.min(MAX_REPAID_LOANS, record.repaidLoans()));
+        }
+        logOdds += factor(factors, "activeLoans",
+                ACTIVE_LOAN_WEIGHT * Math.min(MAX_ACTIVE_LOANS, record.activeLoans()));
+
+        double probabilityOfDefault = 1 / (1 + Math.exp(-logOdds));
+        int score = (int) Math.round(100 * (1 - probabilityOfDefault));
+        return new Assessment(score, grade(score), probabilityOfDefault, factors);
+    }
+
+    public static RiskGrade grade(int score) {
+        for (int g = 0; g < GRADE_FLOOR.length; g++) {
+            if (score >= GRADE_FLOOR[g]) {
+                return RiskGrade.values()[g];
+            }
+        }
+        return RiskGrade.E;
+    }
+
+    private static double factor(List<Factor> factors, String name, double impact) {
+        if (impact != 0) {
+            factors.add(new Factor(name, impact));
+        }
+        return impact;
+    }
+
+    // Values the application form offers; anything else is neutral
+    private static double employmentWeight(String status) {
+        return switch (status == null ? "" : status.toUpperCase(Locale.ROOT)) {
+            case "EMPLOYED" -> -0.3;
+            case "RETIRED" -> 0.2;
+            case "UNEMPLOYED" -> 0.8;
+            default -> 0.0;
+        };
+    }
+
+    private static double farmTypeWeight(String farmType) {
+        return switch (farmType == null ? "" : farmType.toUpperCase(Locale.ROOT)) {
+            // Cooperatives pool inputs and buyers, and their members default less
+            case "COOPERATIVE" -> -0.4;
+            case "OTHER" -> 0.1;
+            default -> 0.0;
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.agrifinance.backend.service.project;
 
+import com.agrifinance.backend.config.CacheConfig;
 import com.agrifinance.backend.dto.project.GoalRequest;
 import com.agrifinance.backend.dto.project.GoalUpdateRequest;
 import com.agrifinance.backend.dto.project.ProjectDTO;
@@ -7,6 +8,7 @@ import com.agrifinance.backend.dto.project.ProjectDashboardDTO;
 import com.agrifinance.backend.dto.project.ProjectRequest;
 import com.agrifinance.backend.dto.project.TaskRequest;
 import com.agrifinance.backend.dto.project.TaskUpdateRequest;
+import com.agrifinance.backend.event.ProjectDataChangedEvent;
 import com.agrifinance.backend.mapper.project.ProjectMapper;
 import com.agrifinance.backend.mapper.project.WorkerMapper;
 import com.agrifinance.backend.model.enums.GoalStatus;
@@ -25,6 +27,8 @@ import com.agrifinance.backend.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -39,14 +43,19 @@ public class ProjectService {
     private final GoalRepository goalRepository;
     private final TaskRepository taskRepository;
     private final WorkerMapper workerMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional
     public List<ProjectDTO> getProjects(UUID userId) {
-        List<Project> projects = projectRepository.findByUserId(userId);
+        List<Project> projects = projectRepository.findWithGoalsByUserIdOrderByCreatedAtAsc(userId);
+        loadTasks(projects);
         return projectMapper.toDTOs(projects);
     }
 
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.PROJECT_DASHBOARD, key = "#userId")
     public ProjectDashboardDTO getProjectDash(UUID userId) {
-        List<Project> projects = projectRepository.findByUserId(userId);
+        List<Project> projects = projectRepository.findWithGoalsByUserIdOrderByCreatedAtAsc(userId);
         ProjectDashboardDTO projectDashboardDTO = new ProjectDashboardDTO();
         List<Project> activeProjects = new ArrayList<>();
         for (Project project : projects) {
@@ -59,16 +68,34 @@ public class ProjectService {
             }
 
         }
+        loadTasks(activeProjects);
         projectDashboardDTO.setActiveProjects(projectMapper.toDTOs(activeProjects));
         return projectDashboardDTO;
     }
 
+    @Transactional
     public ProjectDTO getProjectById(UUID id) {
-        Project project = projectRepository.findById(id).orElse(null);
-        System.out.println(project);
+        Project project = projectRepository.findWithGoalsById(id).orElse(null);
+        if (project != null) {
+            loadTasks(List.of(project));
+        }
         return projectMapper.toDTO(project);
     }
 
+    // One more query for every task and worker under the projects' goals, whatever the size of the tree;
+    // joining them into the project query would repeat each goal's row once per task
+    private void loadTasks(List<Project> projects) {
+        List<UUID> goalIds = new ArrayList<>();
+        for (Project project : projects) {
+            for (Goal goal : project.getGoals()) {
+                goalIds.add(goal.getId());
+            }
+        }
+        if (!goalIds.isEmpty()) {
+            goalRepository.findWithTasksByIdIn(goalIds);
+        }
+    }
+
     public ProjectDTO createNewProject(ProjectRequest projectRequest, String email) {
         User user = userRepository.findByEmail(email).orElseThrow();
         Project project = new Project();
@@ -78,6 +105,7 @@ public class ProjectService {
         project.setTargetDate(projectRequest.getTargetDate());
         project.setStatus(ProjectStatus.NOT_STARTED);
         projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectDataChangedEvent(user.getId()));
         return projectMapper.toDTO(project);
     }
 
@@ -104,6 +132,7 @@ public class ProjectService {
         // Add goal to project and save
         project.getGoals().add(newGoal);
         projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectDataChangedEvent(project.getUser().getId()));
         
         return projectMapper.toDTO(project);
     }
@@ -138,6 +167,9 @@ public class ProjectService {
             project.setCompletedAt(null);
             projectRepository.save(project);
         }
+        if (project != null) {
+            eventPublisher.publishEvent(new ProjectDataChangedEvent(project.getUser().getId()));
+        }
     }
 
     public void updateProject(ProjectDTO projectDTO) {
@@ -147,6 +179,7 @@ public class ProjectService {
         project.setTargetDate(projectDTO.getTargetDate());
         project.setStatus(projectDTO.getStatus());
         projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectDataChangedEvent(project.getUser().getId()));
     }
 
     public void updateGoal(GoalUpdateRequest goalRequest) {
@@ -179,6 +212,7 @@ public class ProjectService {
         Project project = projectRepository.findByGoalId(goal.getId());
         updateProjectStatus(project);
         projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectDataChangedEvent(project.getUser().getId()));
     }
 
     private void updateProjectStatus(Project project) {
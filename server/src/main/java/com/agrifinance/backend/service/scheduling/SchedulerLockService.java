@@ -0,0 +1,72 @@
+package com.agrifinance.backend.service.scheduling;
+
+import com.agrifinance.backend.model.system.SchedulerLock;
+import com.agrifinance.backend.repository.SchedulerLockRepository;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Database-backed leases for scheduled jobs that must run on a single node.
+ * Each call commits on its own so the lease is visible to other nodes
+ * immediately, whatever transaction the caller is in.
+ */
+@Service
+@RequiredArgsConstructor
+public class SchedulerLockService {
+    private static final String OWNER = ownerName();
+
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public boolean tryAcquire(String name, Duration leaseTime) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(leaseTime);
+        Integer updated = transactionTemplate.execute(
+                status -> schedulerLockRepository.acquire(name, OWNER, now, until));
+        if (updated != null && updated > 0) {
+            return true;
+        }
+        try {
+            // First run of this job anywhere: whoever inserts the row holds the lease
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (schedulerLockRepository.existsById(name)) {
+                    return false;
+                }
+                schedulerLockRepository.saveAndFlush(SchedulerLock.builder()
+                        .name(name)
+                        .lockedUntil(until)
+                        .lockedAt(now)
+                        .lockedBy(OWNER)
+                        .build());
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(
+                status -> schedulerLockRepository.release(name, OWNER, LocalDateTime.now()));
+    }
+
+    private static String ownerName() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
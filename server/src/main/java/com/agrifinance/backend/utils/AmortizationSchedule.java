@@ -0,0 +1,84 @@
+package com.agrifinance.backend.utils;
+
+/**
+ * A fully amortized repayment schedule held in primitive arrays of minor
+ * currency units (cents), one entry per period. Principal portions always
+ * add up to the exact loan amount: rounding differences are absorbed by the
+ * final period.
+ */
+public final class AmortizationSchedule {
+    public static final int MINOR_UNITS = 100;
+
+    private final long[] payment;
+    private final long[] principal;
+    private final long[] interest;
+    private final long[] balance;
+
+    AmortizationSchedule(long[] payment, long[] principal, long[] interest, long[] balance) {
+        this.payment = payment;
+        this.principal = principal;
+        this.interest = interest;
+        this.balance = balance;
+    }
+
+    public static long toMinor(double amount) {
+        return Math.round(amount * MINOR_UNITS);
+    }
+
+    public static double toMajor(long minor) {
+        return (double) minor / MINOR_UNITS;
+    }
+
+    public int periods() {
+        return payment.length;
+    }
+
+    public long paymentMinor(int period) {
+        return payment[period];
+    }
+
+    public long principalMinor(int period) {
+        return principal[period];
+    }
+
+    public long interestMinor(int period) {
+        return interest[period];
+    }
+
+    // Balance left after the period's payment
+    public long balanceMinor(int period) {
+        return balance[period];
+    }
+
+    public double payment(int period) {
+        return toMajor(payment[period]);
+    }
+
+    public double principal(int period) {
+        return toMajor(principal[period]);
+    }
+
+    public double interest(int period) {
+        return toMajor(interest[period]);
+    }
+
+    public double balance(int period) {
+        return toMajor(balance[period]);
+    }
+
+    public long totalInterestMinor() {
+        long total = 0;
+        for (long value : interest) {
+            total += value;
+        }
+        return total;
+    }
+
+    public long totalPaymentMinor() {
+        long total = 0;
+        for (long value : payment) {
+            total += value;
+        }
+        return total;
+    }
+}
@@ -1,30 +1,65 @@
 package com.agrifinance.backend.utils;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import org.springframework.stereotype.Service;
 
+import com.agrifinance.backend.model.enums.LoanTermType;
+
 @Service
 public class LoanUtil {
+    // Number of monthly installments for a product term
+    public int toMonths(int term, LoanTermType termType) {
+        return termType == LoanTermType.YEARS ? Math.multiplyExact(term, 12) : term;
+    }
+
     // Calculate fixed monthly payment for a loan
-    public double calculateMonthlyPayment(double amount, double annualInterestRate, int termMonths) {
-        double monthlyRate = annualInterestRate / 12.0 / 100.0;
-        if (monthlyRate == 0) {
-            return amount / termMonths;
-        }
-        return (amount * monthlyRate * Math.pow(1 + monthlyRate, termMonths)) /
-                (Math.pow(1 + monthlyRate, termMonths) - 1);
+    public double calculateMonthlyPayment(double amount, double annualInterestRate, int term, LoanTermType termType) {
+        int months = toMonths(term, termType);
+        return AmortizationSchedule.toMajor(levelPayment(AmortizationSchedule.toMinor(amount),
+                monthlyRate(annualInterestRate), months));
     }
 
-    // Example: Generate a payment schedule (list of monthly payments)
-    public List<Double> generatePaymentSchedule(double amount, double annualInterestRate, int termMonths) {
-        double monthlyPayment = calculateMonthlyPayment(amount, annualInterestRate, termMonths);
-        List<Double> schedule = new ArrayList<>();
-        for (int i = 0; i < termMonths; i++) {
-            schedule.add(monthlyPayment);
+    /**
+     * Builds the monthly schedule for a fixed-rate loan. Balances are kept in
+     * whole cents, each period's interest is rounded to the cent, and the last
+     * period pays off whatever balance remains so the principal portions sum
+     * to the loan amount exactly.
+     */
+    public AmortizationSchedule amortize(double amount, double annualInterestRate, int term, LoanTermType termType) {
+        int months = toMonths(term, termType);
+        if (months <= 0) {
+            throw new IllegalArgumentException("Loan term must be positive");
         }
-        return schedule;
+        long amountMinor = AmortizationSchedule.toMinor(amount);
+        double rate = monthlyRate(annualInterestRate);
+        long level = levelPayment(amountMinor, rate, months);
+
+        long[] payment = new long[months];
+        long[] principal = new long[months];
+        long[] interest = new long[months];
+        long[] balance = new long[months];
+        long remaining = amountMinor;
+        for (int i = 0; i < months; i++) {
+            long periodInterest = Math.round(remaining * rate);
+            long periodPrincipal = i == months - 1 ? remaining : Math.min(remaining, level - periodInterest);
+            remaining -= periodPrincipal;
+            payment[i] = periodPrincipal + periodInterest;
+            principal[i] = periodPrincipal;
+            interest[i] = periodInterest;
+            balance[i] = remaining;
+        }
+        return new AmortizationSchedule(payment, principal, interest, balance);
+    }
+
+    private double monthlyRate(double annualInterestRate) {
+        return annualInterestRate / 12.0 / 100.0;
     }
 
+    private long levelPayment(long amountMinor, double monthlyRate, int months) {
+        if (monthlyRate == 0) {
+            // Round up so the final installment is never the largest
+            return (amountMinor + months - 1) / months;
+        }
+        double growth = Math.pow(1 + monthlyRate, months);
+        return Math.round(amountMinor * monthlyRate * growth / (growth - 1));
+    }
 }
@@ -0,0 +1,62 @@
+package com.agrifinance.backend;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.LoanTermType;
+import com.agrifinance.backend.model.enums.PaymentStatus;
+import com.agrifinance.backend.model.enums.Role;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanPayment;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.model.user.User;
+
+/**
+ * Builders for the entities most tests and benchmarks start from, filled
+ * with valid defaults. Chain further setters to vary a fixture and save it
+ * with the matching repository.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    // The email is unique so tests sharing one application context never collide
+    public static User.UserBuilder user() {
+        return User.builder()
+                .email(UUID.randomUUID() + "@agrifinance.test")
+                .password("secret")
+                .firstName("Test")
+                .lastName("Farmer")
+                .role(Role.USER)
+                .status("ACTIVE");
+    }
+
+    // 1,200 over twelve monthly installments at 18%
+    public static LoanProduct.LoanProductBuilder product() {
+        return LoanProduct.builder()
+                .name("Seasonal crop loan")
+                .amount(1200.0)
+                .interest(18.0)
+                .term(12)
+                .termType(LoanTermType.MONTHS);
+    }
+
+    public static Loan.LoanBuilder loan(User user, LoanProduct product, LoanStatus status) {
+        return Loan.builder()
+                .user(user)
+                .details(product)
+                .status(status)
+                .purpose("Seeds");
+    }
+
+    public static LoanPayment.LoanPaymentBuilder installment(Loan loan, double amount, LocalDateTime dueDate,
+            PaymentStatus status) {
+        return LoanPayment.builder()
+                .loan(loan)
+                .amount(amount)
+                .dueDate(dueDate)
+                .status(status);
+    }
+}
@@ -0,0 +1,66 @@
+package com.agrifinance.backend.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.agrifinance.backend.model.enums.LoanTermType;
+import com.agrifinance.backend.utils.AmortizationSchedule;
+import com.agrifinance.backend.utils.LoanUtil;
+
+/**
+ * Measures building a full amortization schedule against the previous flat
+ * schedule, which repeated one boxed payment per period without a
+ * principal/interest split. Run with {@code -prof gc} to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AmortizationBenchmark {
+
+    @Param({ "12", "36", "120", "240", "360" })
+    private int periods;
+
+    private final LoanUtil loanUtil = new LoanUtil();
+    private final double amount = 250_000.0;
+    private final double annualInterestRate = 18.0;
+
+    @Benchmark
+    public AmortizationSchedule amortizedSchedule() {
+        return loanUtil.amortize(amount, annualInterestRate, periods, LoanTermType.MONTHS);
+    }
+
+    @Benchmark
+    public List<Double> flatBoxedSchedule() {
+        double monthlyPayment = loanUtil.calculateMonthlyPayment(amount, annualInterestRate, periods,
+                LoanTermType.MONTHS);
+        List<Double> schedule = new ArrayList<>();
+        for (int i = 0; i < periods; i++) {
+            schedule.add(monthlyPayment);
+        }
+        return schedule;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AmortizationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,141 @@
+package com.agrifinance.backend.benchmark;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.BackendApplication;
+import com.agrifinance.backend.dto.loan.LoanDTO;
+import com.agrifinance.backend.dto.loan.LoanProductDTO;
+import com.agrifinance.backend.dto.loan.LoanRequest;
+import com.agrifinance.backend.mapper.loan.LoanMapper;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.UserRepository;
+import com.agrifinance.backend.service.loan.LoanPaymentService;
+import com.agrifinance.backend.service.loan.LoanService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Compares {@link LoanService#getCurrentLoan} with the previous lookup, which
+ * loaded the user's whole loan history and picked the newest in memory, for
+ * users with a growing number of loans. Run with {@code -prof gc} for the
+ * allocation difference; the statements each lookup prepares are printed at
+ * setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CurrentLoanBenchmark {
+
+    @Param({ "1", "10", "50" })
+    private int loans;
+
+    private ConfigurableApplicationContext context;
+    private LoanService loanService;
+    private LoanRepository loanRepository;
+    private LoanPaymentService loanPaymentService;
+    private LoanMapper loanMapper;
+    private TransactionTemplate transactionTemplate;
+    private UUID userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplication application = new SpringApplication(BackendApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setAdditionalProfiles("test");
+        context = application.run();
+        loanService = context.getBean(LoanService.class);
+        loanRepository = context.getBean(LoanRepository.class);
+        loanPaymentService = context.getBean(LoanPaymentService.class);
+        loanMapper = context.getBean(LoanMapper.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        userId = context.getBean(UserRepository.class).save(TestFixtures.user().build()).getId();
+        LoanProduct product = context.getBean(LoanProductRepository.class).save(TestFixtures.product()
+                .name("Benchmark loan")
+                .build());
+        LoanProductDTO details = new LoanProductDTO();
+        details.setId(product.getId().toString());
+        details.setName(product.getName());
+        details.setAmount(product.getAmount());
+        details.setInterest(product.getInterest());
+        details.setTerm(product.getTerm());
+        details.setTermType(product.getTermType());
+        LoanRequest request = new LoanRequest();
+        request.setPurpose("Benchmark");
+        request.setDetails(details);
+        for (int i = 0; i < loans; i++) {
+            loanService.applyForLoan(userId, request);
+        }
+
+        Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        previousCurrentLoan();
+        long previous = statistics.getPrepareStatementCount();
+        statistics.clear();
+        currentLoan();
+        System.out.printf("%n%d loans: previous lookup %d statements, indexed lookup %d statements%n",
+                loans, previous, statistics.getPrepareStatementCount());
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public LoanDTO currentLoan() {
+        return loanService.getCurrentLoan(userId);
+    }
+
+    @Benchmark
+    public LoanDTO previousCurrentLoan() {
+        return transactionTemplate.execute(status -> {
+            List<Loan> history = loanRepository.findByUserId(userId);
+            Loan latest = history.stream().max(Comparator.comparing(Loan::getCreatedAt)).orElseThrow();
+            LoanDTO result = loanMapper.toDTO(latest);
+            result.setPayments(loanPaymentService.getAllPayments(latest.getId()));
+            return result;
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CurrentLoanBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
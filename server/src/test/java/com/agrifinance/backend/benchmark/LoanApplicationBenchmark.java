@@ -0,0 +1,98 @@
+package com.agrifinance.backend.benchmark;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.BackendApplication;
+import com.agrifinance.backend.dto.loan.LoanDTO;
+import com.agrifinance.backend.dto.loan.LoanProductDTO;
+import com.agrifinance.backend.dto.loan.LoanRequest;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.repository.UserRepository;
+import com.agrifinance.backend.service.loan.LoanService;
+
+/**
+ * Measures {@link LoanService#applyForLoan} throughput for short, typical and
+ * long schedules against the in-memory test database. Point the "test"
+ * profile at a MySQL instance to include real network round trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanApplicationBenchmark {
+
+    @Param({ "12", "36", "120" })
+    private int installments;
+
+    private ConfigurableApplicationContext context;
+    private LoanService loanService;
+    private UUID userId;
+    private LoanRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplication application = new SpringApplication(BackendApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setAdditionalProfiles("test");
+        context = application.run();
+        loanService = context.getBean(LoanService.class);
+
+        userId = context.getBean(UserRepository.class).save(TestFixtures.user().build()).getId();
+        LoanProduct product = context.getBean(LoanProductRepository.class).save(TestFixtures.product()
+                .name("Benchmark loan")
+                .term(installments)
+                .build());
+
+        LoanProductDTO details = new LoanProductDTO();
+        details.setId(product.getId().toString());
+        details.setName(product.getName());
+        details.setAmount(product.getAmount());
+        details.setInterest(product.getInterest());
+        details.setTerm(product.getTerm());
+        details.setTermType(product.getTermType());
+        request = new LoanRequest();
+        request.setPurpose("Benchmark");
+        request.setDetails(details);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public LoanDTO applyForLoan() {
+        return loanService.applyForLoan(userId, request);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoanApplicationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
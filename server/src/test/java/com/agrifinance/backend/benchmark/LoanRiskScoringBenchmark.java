@@ -0,0 +1,162 @@
+package com.agrifinance.backend.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.BackendApplication;
+import com.agrifinance.backend.dto.admin.RiskRescoreResult;
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.PaymentStatus;
+import com.agrifinance.backend.model.loan.FinancialInfo;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanInfo;
+import com.agrifinance.backend.model.loan.LoanPayment;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.model.user.User;
+import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.UserRepository;
+import com.agrifinance.backend.service.loan.LoanRiskService;
+import com.agrifinance.backend.service.loan.RiskScorecard;
+
+/**
+ * Measures re-scoring a pending queue of {@code pendingLoans} applications
+ * from 1,000 users, half of them with a repayment record, against the
+ * in-memory test database, and the synchronous score of a single
+ * application for a user whose record is cached. Compare the
+ * {@code parallelism} results to see how batches scale across workers.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanRiskScoringBenchmark {
+    private static final int USERS = 1_000;
+
+    @Param({ "10000" })
+    private int pendingLoans;
+
+    @Param({ "1", "4" })
+    private int parallelism;
+
+    private ConfigurableApplicationContext context;
+    private LoanRiskService loanRiskService;
+    private UUID userId;
+    private FinancialInfo financial;
+    private LoanProduct product;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplication application = new SpringApplication(BackendApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setAdditionalProfiles("test");
+        context = application.run("--loans.risk.parallelism=" + parallelism);
+        loanRiskService = context.getBean(LoanRiskService.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        LoanRepository loanRepository = context.getBean(LoanRepository.class);
+        LoanPaymentRepository loanPaymentRepository = context.getBean(LoanPaymentRepository.class);
+
+        product = context.getBean(LoanProductRepository.class).save(TestFixtures.product()
+                .name("Benchmark loan")
+                .build());
+        SplittableRandom random = new SplittableRandom(42);
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(TestFixtures.user().build());
+        }
+        users = userRepository.saveAll(users);
+
+        List<Loan> loans = new ArrayList<>();
+        for (int i = 0; i < pendingLoans; i++) {
+            loans.add(loan(users.get(i % USERS), LoanStatus.PENDING, random));
+        }
+        List<Loan> granted = new ArrayList<>();
+        for (int i = 0; i < USERS; i += 2) {
+            granted.add(loan(users.get(i), LoanStatus.APPROVED, random));
+        }
+        loanRepository.saveAll(loans);
+        granted = loanRepository.saveAll(granted);
+        List<LoanPayment> payments = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().minusMonths(6);
+        for (Loan loan : granted) {
+            for (int month = 0; month < 12; month++) {
+                LocalDateTime due = start.plusMonths(month);
+                boolean past = month < 6;
+                boolean paid = past && random.nextDouble() < 0.85;
+                payments.add(TestFixtures.installment(loan, 110.0, due,
+                                paid ? PaymentStatus.PAID : past ? PaymentStatus.OVERDUE : PaymentStatus.NOT_PAID)
+                        .paidDate(paid ? due.plusDays(random.nextInt(-5, 15)) : null)
+                        .build());
+            }
+        }
+        loanPaymentRepository.saveAll(payments);
+
+        userId = users.get(0).getId();
+        financial = loans.get(0).getInfo().getFinancial();
+    }
+
+    private Loan loan(User user, LoanStatus status, SplittableRandom random) {
+        return TestFixtures.loan(user, product, status)
+                .purpose("Benchmark")
+                .info(LoanInfo.builder()
+                        .financial(FinancialInfo.builder()
+                                .monthlyIncome(200 + random.nextDouble(1_500))
+                                .farmingExperience(random.nextInt(25))
+                                .farmType(random.nextBoolean() ? "INDIVIDUAL" : "COOPERATIVE")
+                                .employmentStatus(random.nextBoolean() ? "SELF_EMPLOYED" : "EMPLOYED")
+                                .build())
+                        .build())
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public RiskRescoreResult rescorePending() {
+        return loanRiskService.rescorePending();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public RiskScorecard.Assessment scoreApplication() {
+        return loanRiskService.assess(userId, financial, product);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoanRiskScoringBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
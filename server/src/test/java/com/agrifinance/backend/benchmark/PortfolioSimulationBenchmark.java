@@ -0,0 +1,80 @@
+package com.agrifinance.backend.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.agrifinance.backend.service.admin.PortfolioSimulation;
+
+/**
+ * Measures a stress-test run over a synthetic book of 50k loans. Compare the
+ * {@code parallelism} results to check scaling with cores; scores are per
+ * 1,000 scenarios, so 100k scenarios take a hundred times as long.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PortfolioSimulationBenchmark {
+    private static final int SCENARIOS = 1_000;
+
+    @Param({ "50000" })
+    private int loans;
+
+    @Param({ "1", "2", "4", "8" })
+    private int parallelism;
+
+    private PortfolioSimulation simulation;
+    private ForkJoinPool pool;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        double[] exposure = new double[loans];
+        int[] grade = new int[loans];
+        for (int i = 0; i < loans; i++) {
+            exposure[i] = 500 + random.nextDouble(5_000);
+            // Most loans are current, a tail has overdue installments
+            grade[i] = random.nextDouble() < 0.8 ? 0 : 1 + random.nextInt(6);
+        }
+        double[] gradeDefaultProbability = { 0.04, 0.08, 0.12, 0.16, 0.20, 0.24, 0.28 };
+        simulation = new PortfolioSimulation(exposure, grade, gradeDefaultProbability, 0.15, 0.4);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public double[] run() {
+        return simulation.run(SCENARIOS, seed++, pool);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PortfolioSimulationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,79 @@
+package com.agrifinance.backend.controller.admin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.Role;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.model.user.User;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.UserRepository;
+import com.agrifinance.backend.security.jwt.JwtUtil;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdminControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanProductRepository loanProductRepository;
+
+    // The body is written on an async dispatch, which goes through the security filters again
+    @Test
+    void streamsTheLoanExportToAnAdmin() throws Exception {
+        User admin = userRepository.save(TestFixtures.user().role(Role.ADMIN).build());
+        LoanProduct product = loanProductRepository.save(TestFixtures.product().build());
+        Loan loan = loanRepository.save(TestFixtures.loan(admin, product, LoanStatus.APPROVED).build());
+        String token = jwtUtil.generateToken(admin.getEmail(), Role.ADMIN.name(), admin.getId());
+
+        MvcResult started = mockMvc.perform(get("/api/admin/loans/export")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString(".ndjson")))
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(body.lines()).anyMatch(line -> line.contains(loan.getId().toString()));
+    }
+
+    @Test
+    void refusesTheLoanExportToAnonymousCallers() throws Exception {
+        mockMvc.perform(get("/api/admin/loans/export"))
+                .andExpect(result -> assertThat(result.getResponse().getStatus()).isIn(401, 403));
+    }
+}
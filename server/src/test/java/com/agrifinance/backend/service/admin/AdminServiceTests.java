@@ -0,0 +1,191 @@
+package com.agrifinance.backend.service.admin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.dto.admin.AdminDashboardStats;
+import com.agrifinance.backend.dto.admin.AdminLoanDTO;
+import com.agrifinance.backend.dto.admin.AdminProjectDTO;
+import com.agrifinance.backend.dto.admin.LoanFilter;
+import com.agrifinance.backend.dto.admin.LoanStatusDistribution;
+import com.agrifinance.backend.dto.admin.ProjectFilter;
+import com.agrifinance.backend.dto.common.CursorPage;
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.TaskStatus;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.model.project.Goal;
+import com.agrifinance.backend.model.project.Project;
+import com.agrifinance.backend.model.project.Task;
+import com.agrifinance.backend.model.user.User;
+import com.agrifinance.backend.repository.GoalRepository;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.ProjectRepository;
+import com.agrifinance.backend.repository.TaskRepository;
+import com.agrifinance.backend.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AdminServiceTests {
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanProductRepository loanProductRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void dashboardIsBuiltFromAggregatesInThreeQueries() {
+        AdminDashboardStats before = adminService.getAdminDashboard();
+        User user = userRepository.save(TestFixtures.user().build());
+        LoanProduct product = loanProductRepository.save(TestFixtures.product()
+                .amount(1000.0)
+                .interest(10.0)
+                .build());
+        createLoan(user, product, LoanStatus.PENDING, null);
+        createLoan(user, product, LoanStatus.APPROVED, 250.0);
+        createLoan(user, product, LoanStatus.APPROVED, 100.0);
+        createLoan(user, product, LoanStatus.REJECTED, null);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        AdminDashboardStats after = adminService.getAdminDashboard();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(after.getTotalUsers() - before.getTotalUsers()).isEqualTo(1);
+        assertThat(after.getTotalLoans() - before.getTotalLoans()).isEqualTo(4);
+        assertThat(after.getPendingLoans() - before.getPendingLoans()).isEqualTo(1.0);
+        assertThat(after.getApprovedLoans() - before.getApprovedLoans()).isEqualTo(2.0);
+        assertThat(after.getRejectedLoans() - before.getRejectedLoans()).isEqualTo(1.0);
+        assertThat(after.getTotalLoanAmount() - before.getTotalLoanAmount()).isEqualTo(2000.0);
+        assertThat(after.getTotalRepaid() - before.getTotalRepaid()).isEqualTo(350.0);
+        assertThat(after.getLoanStatusDistribution())
+                .extracting(LoanStatusDistribution::getStatus)
+                .containsExactly(LoanStatus.values());
+        assertThat(after.getLoanStatusDistribution().stream().mapToDouble(LoanStatusDistribution::getCount).sum())
+                .isEqualTo(after.getTotalLoans().doubleValue());
+    }
+
+    @Test
+    void loanListingPagesByKeysetAndAppliesFilters() {
+        User user = userRepository.save(TestFixtures.user().build());
+        String productName = "Irrigation " + UUID.randomUUID();
+        LoanProduct product = loanProductRepository.save(TestFixtures.product()
+                .name(productName)
+                .amount(5000.0)
+                .interest(10.0)
+                .build());
+        Set<String> created = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(createLoan(user, product, i == 0 ? LoanStatus.APPROVED : LoanStatus.PENDING, null).getId().toString());
+        }
+        LoanFilter byUser = new LoanFilter(null, null, null, null, null, null, user.getId(), null);
+
+        List<AdminLoanDTO> listed = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<AdminLoanDTO> page = adminService.getLoans(byUser, cursor, 2);
+            listed.addAll(page.items());
+            pageSizes.add(page.items().size());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(pageSizes).containsExactly(2, 2, 1);
+        assertThat(listed).extracting(AdminLoanDTO::getId).containsExactlyInAnyOrderElementsOf(created);
+        assertThat(listed).extracting(AdminLoanDTO::getCreatedAt)
+                .isSortedAccordingTo(Comparator.reverseOrder());
+
+        LoanFilter approvedByProduct = new LoanFilter(LoanStatus.APPROVED, 4000.0, 6000.0, null, null,
+                productName.substring(11).toUpperCase(), null, null);
+        assertThat(adminService.getLoans(approvedByProduct, null, 50).items()).hasSize(1);
+        LoanFilter tooLarge = new LoanFilter(null, 6000.0, null, null, null, productName, null, null);
+        assertThat(adminService.getLoans(tooLarge, null, 50).items()).isEmpty();
+        assertThatThrownBy(() -> adminService.getLoans(byUser, "not a cursor", 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void projectListingComputesProgressInOneGroupedQuery() {
+        User user = userRepository.save(TestFixtures.user().build());
+        // Goals: all tasks done, one task open, no tasks
+        UUID projectId = transactionTemplate.execute(status -> {
+            Project project = projectRepository.save(Project.builder().name("Maize").user(user).build());
+            project.getGoals().add(createGoal(TaskStatus.COMPLETED, TaskStatus.COMPLETED));
+            project.getGoals().add(createGoal(TaskStatus.COMPLETED, TaskStatus.IN_PROGRESS));
+            project.getGoals().add(createGoal());
+            return project.getId();
+        });
+        ProjectFilter byUser = new ProjectFilter(null, user.getId(), null, null);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        List<AdminProjectDTO> projects = adminService.getProjects(byUser, null, 50, false).items();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(projects).singleElement().satisfies(project -> {
+            assertThat(project.getId()).isEqualTo(projectId.toString());
+            assertThat(project.getUserEmail()).isEqualTo(user.getEmail());
+            assertThat(project.getTotalGoals()).isEqualTo(3);
+            assertThat(project.getCompletedGoals()).isEqualTo(1);
+            assertThat(project.getProgress()).isEqualTo(33);
+            assertThat(project.getGoals()).isNull();
+        });
+        assertThat(adminService.getProjects(byUser, null, 50, true).items().get(0).getGoals()).hasSize(3);
+    }
+
+    private Goal createGoal(TaskStatus... taskStatuses) {
+        Goal goal = goalRepository.save(Goal.builder().name("Goal").build());
+        for (TaskStatus taskStatus : taskStatuses) {
+            goal.getTasks().add(taskRepository.save(Task.builder().name("Task").status(taskStatus).build()));
+        }
+        return goal;
+    }
+
+    private Loan createLoan(User user, LoanProduct product, LoanStatus status, Double paidAmount) {
+        return loanRepository.save(TestFixtures.loan(user, product, status).paidAmount(paidAmount).build());
+    }
+}
@@ -0,0 +1,153 @@
+package com.agrifinance.backend.service.admin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.dto.admin.ApplicantSearchResult;
+import com.agrifinance.backend.event.LoanAppliedEvent;
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.loan.FinancialInfo;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanInfo;
+import com.agrifinance.backend.model.loan.PersonalInfo;
+import com.agrifinance.backend.model.user.User;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.UserRepository;
+import com.agrifinance.backend.repository.projection.ApplicantSearchRow;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ApplicantSearchServiceTests {
+
+    @Autowired
+    private ApplicantSearchService applicantSearchService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void findsApplicantsByPrefixTypoAndIdNumberAfterRebuildAndNewApplications() {
+        // A surname no other test uses
+        String surname = "Wanjiku" + randomLetters(6);
+        Loan nakuru = createLoan("Grace", surname, "12-345-678", "Nakuru", "Rift Valley Dairy Cooperative");
+        Loan eldoret = createLoan("Mary-Jane", surname, "87654321", "Eldoret", "Maize");
+        applicantSearchService.rebuild();
+
+        assertThat(loanIds(surname.substring(0, 9))).containsExactly(eldoret.getId(), nakuru.getId());
+        assertThat(loanIds(surname + " nakuru")).containsExactly(nakuru.getId());
+        assertThat(loanIds("jane " + surname)).containsExactly(eldoret.getId());
+        assertThat(loanIds("12345678")).contains(nakuru.getId());
+        assertThat(loanIds("12-345 " + surname)).containsExactly(nakuru.getId());
+        assertThat(loanIds("dairy cooperative " + surname)).containsExactly(nakuru.getId());
+
+        // One dropped letter, then two swapped ones
+        String dropped = surname.substring(0, 3) + surname.substring(4);
+        assertThat(loanIds(dropped + " eldoret")).containsExactly(eldoret.getId());
+        String swapped = surname.substring(0, 2) + surname.charAt(3) + surname.charAt(2) + surname.substring(4);
+        assertThat(loanIds(swapped)).containsExactly(eldoret.getId(), nakuru.getId());
+
+        // Indexed as soon as the application is published, without a rebuild
+        Loan kisumu = createLoan("Achieng", surname, "555", "Kisumu", "Fish farming");
+        eventPublisher.publishEvent(new LoanAppliedEvent(kisumu.getId(), kisumu.getInfo()));
+        ApplicantSearchResult result = applicantSearchService.search(surname, 2);
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.hits()).extracting(ApplicantSearchResult.Hit::loanId)
+                .containsExactly(kisumu.getId(), eldoret.getId());
+        assertThat(result.hits().get(0).city()).isEqualTo("Kisumu");
+        assertThat(result.hits().get(0).status()).isEqualTo(LoanStatus.PENDING);
+    }
+
+    @Test
+    void applicationReplayedAfterTheRebuildStreamedItIsCountedOnce() {
+        String surname = "Otieno" + randomLetters(6);
+        Loan loan = createLoan("Brian", surname, "24680", "Kitale", "Wheat");
+        AtomicReference<ApplicantSearchService> service = new AtomicReference<>();
+        AtomicBoolean replayed = new AtomicBoolean();
+        // The application's event arrives while the rebuild is still streaming rows
+        LoanRepository replaying = (LoanRepository) Proxy.newProxyInstance(LoanRepository.class.getClassLoader(),
+                new Class<?>[] { LoanRepository.class }, (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(loanRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (!method.getName().equals("streamApplicantSearchRows")) {
+                        return result;
+                    }
+                    @SuppressWarnings("unchecked")
+                    Stream<ApplicantSearchRow> rows = (Stream<ApplicantSearchRow>) result;
+                    return rows.peek(row -> {
+                        if (replayed.compareAndSet(false, true)) {
+                            service.get().onLoanApplied(new LoanAppliedEvent(loan.getId(), loan.getInfo()));
+                        }
+                    });
+                });
+        service.set(new ApplicantSearchService(replaying, transactionManager, new SimpleMeterRegistry(), false));
+
+        int indexed = service.get().rebuild();
+
+        assertThat(replayed).isTrue();
+        assertThat(indexed).isEqualTo(loanRepository.count());
+        ApplicantSearchResult result = service.get().search(surname, 10);
+        assertThat(result.total()).isEqualTo(1);
+        assertThat(result.hits()).extracting(ApplicantSearchResult.Hit::loanId).containsExactly(loan.getId());
+    }
+
+    private java.util.List<UUID> loanIds(String query) {
+        return applicantSearchService.search(query, ApplicantSearchService.MAX_LIMIT).hits().stream()
+                .map(ApplicantSearchResult.Hit::loanId)
+                .toList();
+    }
+
+    private String randomLetters(int count) {
+        StringBuilder letters = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            letters.append((char) ('a' + ThreadLocalRandom.current().nextInt(26)));
+        }
+        return letters.toString();
+    }
+
+    private Loan createLoan(String firstName, String lastName, String idNumber, String city, String incomeSource) {
+        User user = userRepository.save(TestFixtures.user().build());
+        return loanRepository.save(TestFixtures.loan(user, null, LoanStatus.PENDING)
+                .info(LoanInfo.builder()
+                        .personal(PersonalInfo.builder()
+                                .firstName(firstName)
+                                .lastName(lastName)
+                                .idNumber(idNumber)
+                                .city(city)
+                                .build())
+                        .financial(FinancialInfo.builder()
+                                .incomeSource(incomeSource)
+                                .build())
+                        .build())
+                .build());
+    }
+}
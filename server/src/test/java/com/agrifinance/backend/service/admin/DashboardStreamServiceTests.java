@@ -0,0 +1,113 @@
+package com.agrifinance.backend.service.admin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InterruptedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+
+import com.agrifinance.backend.event.DashboardDeltaEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DashboardStreamServiceTests {
+
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void fansDeltasOutAndDropsASubscriberThatFallsBehind() throws Exception {
+        RecordingSink fast = new RecordingSink();
+        BlockedSink slow = new BlockedSink();
+        int before = dashboardStreamService.subscriberCount();
+        double droppedBefore = meterRegistry.get("admin.events.dropped").counter().count();
+        dashboardStreamService.subscribe(fast);
+        dashboardStreamService.subscribe(slow);
+        assertThat(slow.firstSend.await(5, TimeUnit.SECONDS)).isTrue();
+
+        UUID loanId = UUID.randomUUID();
+        eventPublisher.publishEvent(DashboardDeltaEvent.loanApplied(loanId, UUID.randomUUID(), 1200.0,
+                LocalDateTime.now()));
+        assertThat(fast.awaitFrames(2)).isTrue();
+        assertThat(fast.text(1)).contains("event:" + DashboardDeltaEvent.LOAN_APPLIED)
+                .contains(loanId.toString())
+                .doesNotContain("\"count\"");
+
+        // The blocked subscriber's buffer (256 frames) overflows; the one keeping up stays connected
+        for (int i = 0; i < 300 && dashboardStreamService.subscriberCount() > before + 1; i++) {
+            dashboardStreamService.heartbeat();
+            assertThat(fast.awaitFrames(3 + i)).isTrue();
+        }
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("admin.events.dropped").counter().count() - droppedBefore).isEqualTo(1);
+        assertThat(dashboardStreamService.subscriberCount()).isEqualTo(before + 1);
+    }
+
+    private static class RecordingSink implements DashboardStreamService.Sink {
+        private final List<Set<DataWithMediaType>> frames = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(Set<DataWithMediaType> frame) {
+            frames.add(frame);
+        }
+
+        @Override
+        public void complete() {
+        }
+
+        boolean awaitFrames(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (frames.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            return frames.size() >= count;
+        }
+
+        String text(int index) {
+            StringBuilder text = new StringBuilder();
+            frames.get(index).forEach(part -> text.append(part.getData()));
+            return text.toString();
+        }
+    }
+
+    // Takes the first frame, then never finishes writing, like a stalled client
+    private static class BlockedSink implements DashboardStreamService.Sink {
+        private final CountDownLatch firstSend = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(Set<DataWithMediaType> frame) throws InterruptedIOException {
+            firstSend.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.agrifinance.backend.service.admin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.dto.admin.BulkLoanDecisionRequest.Decision;
+import com.agrifinance.backend.dto.admin.BulkLoanDecisionResult;
+import com.agrifinance.backend.dto.admin.BulkLoanDecisionResult.Outcome;
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.model.user.User;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.UserRepository;
+import com.agrifinance.backend.service.loan.LoanSummaryService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanDecisionServiceTests {
+
+    @Autowired
+    private LoanDecisionService loanDecisionService;
+
+    @Autowired
+    private LoanSummaryService loanSummaryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanProductRepository loanProductRepository;
+
+    @Test
+    void movesOnlyPendingLoansAndReportsEveryId() {
+        User user = userRepository.save(TestFixtures.user().build());
+        LoanProduct product = loanProductRepository.save(TestFixtures.product()
+                .amount(600.0)
+                .interest(0.0)
+                .term(6)
+                .build());
+        Loan toApprove = createLoan(user, product, LoanStatus.PENDING);
+        Loan toReject = createLoan(user, product, LoanStatus.PENDING);
+        Loan untouched = createLoan(user, product, LoanStatus.PENDING);
+        Loan alreadyApproved = createLoan(user, product, LoanStatus.APPROVED);
+        loanSummaryService.rebuild(user.getId());
+        UUID unknown = UUID.randomUUID();
+
+        BulkLoanDecisionResult result = loanDecisionService.decide(List.of(
+                new Decision(toApprove.getId(), LoanStatus.APPROVED),
+                new Decision(toReject.getId(), LoanStatus.REJECTED),
+                new Decision(toApprove.getId(), LoanStatus.REJECTED),
+                new Decision(alreadyApproved.getId(), LoanStatus.REJECTED),
+                new Decision(unknown, LoanStatus.APPROVED),
+                new Decision(untouched.getId(), LoanStatus.PENDING)));
+
+        assertThat(result.approved()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(result.skipped()).isEqualTo(4);
+        assertThat(result.results()).extracting(Outcome::outcome).containsExactly(
+                Outcome.APPLIED, Outcome.APPLIED, Outcome.DUPLICATE, Outcome.NOT_PENDING, Outcome.NOT_FOUND,
+                Outcome.INVALID_DECISION);
+        assertThat(result.results().get(3).currentStatus()).isEqualTo(LoanStatus.APPROVED);
+
+        assertThat(status(toApprove)).isEqualTo(LoanStatus.APPROVED);
+        assertThat(status(toReject)).isEqualTo(LoanStatus.REJECTED);
+        assertThat(status(untouched)).isEqualTo(LoanStatus.PENDING);
+        assertThat(status(alreadyApproved)).isEqualTo(LoanStatus.APPROVED);
+        assertThat(loanRepository.findById(toApprove.getId()).orElseThrow().getVersion())
+                .isEqualTo(toApprove.getVersion() + 1);
+        assertThat(loanSummaryService.getSummary(user.getId()).getActiveLoans()).isEqualTo(2);
+    }
+
+    private LoanStatus status(Loan loan) {
+        return loanRepository.findById(loan.getId()).orElseThrow().getStatus();
+    }
+
+    private Loan createLoan(User user, LoanProduct product, LoanStatus status) {
+        return loanRepository.save(TestFixtures.loan(user, product, status).build());
+    }
+}
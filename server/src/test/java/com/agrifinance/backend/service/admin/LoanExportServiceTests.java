@@ -0,0 +1,128 @@
+package com.agrifinance.backend.service.admin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.PaymentStatus;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanPayment;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.model.user.User;
+import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanExportServiceTests {
+
+    @Autowired
+    private LoanExportService loanExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanProductRepository loanProductRepository;
+
+    @Autowired
+    private LoanPaymentRepository loanPaymentRepository;
+
+    @Test
+    void writesOneNdjsonLinePerLoanWithItsInstallmentsInDueOrder() throws IOException {
+        Loan scheduled = createLoan(3);
+        Loan unscheduled = createLoan(0);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long loans = loanExportService.export(out, LoanExportService.Format.NDJSON, false);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize((int) loans);
+        JsonNode scheduledLine = line(lines, scheduled);
+        assertThat(scheduledLine.get("payments")).hasSize(3);
+        assertThat(scheduledLine.get("payments").get(0).get("dueDate").asText())
+                .isLessThan(scheduledLine.get("payments").get(2).get("dueDate").asText());
+        assertThat(scheduledLine.get("product").asText()).isEqualTo("Seasonal crop loan");
+        assertThat(line(lines, unscheduled).get("payments")).isEmpty();
+        assertThat(meterRegistry.get("loan.export.loans").tag("format", "ndjson").counter().count())
+                .isGreaterThanOrEqualTo(loans);
+    }
+
+    @Test
+    void writesGzippedCsvWithOneLinePerInstallment() throws IOException {
+        Loan loan = createLoan(4);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        loanExportService.export(out, LoanExportService.Format.CSV, true);
+
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        List<String> lines = csv.lines().toList();
+        assertThat(lines.get(0)).startsWith("loanId,userEmail,product,status");
+        assertThat(lines).filteredOn(line -> line.startsWith(loan.getId().toString())).hasSize(4);
+        assertThat(meterRegistry.get("loan.export.bytes").tag("format", "csv").counter().count())
+                .isGreaterThanOrEqualTo(out.size());
+    }
+
+    private JsonNode line(List<String> lines, Loan loan) throws IOException {
+        for (String line : lines) {
+            JsonNode node = objectMapper.readTree(line);
+            if (node.get("id").asText().equals(loan.getId().toString())) {
+                return node;
+            }
+        }
+        throw new AssertionError("Loan " + loan.getId() + " was not exported");
+    }
+
+    private Loan createLoan(int installments) {
+        User user = userRepository.save(TestFixtures.user().build());
+        LoanProduct product = loanProductRepository.save(TestFixtures.product()
+                .amount(600.0)
+                .interest(0.0)
+                .term(6)
+                .build());
+        Loan loan = loanRepository.save(TestFixtures.loan(user, product, LoanStatus.APPROVED)
+                .purpose("Seeds, fertilizer")
+                .build());
+        List<LoanPayment> schedule = new ArrayList<>();
+        // Saved latest first so the export has to order them
+        for (int month = installments; month > 0; month--) {
+            schedule.add(TestFixtures.installment(loan, 100.0, LocalDateTime.now().plusMonths(month),
+                            PaymentStatus.NOT_PAID)
+                    .build());
+        }
+        loanPaymentRepository.saveAll(schedule);
+        return loan;
+    }
+}
@@ -0,0 +1,168 @@
+package com.agrifinance.backend.service.admin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.dto.admin.BulkLoanDecisionRequest.Decision;
+import com.agrifinance.backend.dto.admin.KpiPoint;
+import com.agrifinance.backend.dto.admin.KpiTimeseries;
+import com.agrifinance.backend.model.enums.KpiGrain;
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.PaymentStatus;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanPayment;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.model.user.User;
+import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.UserRepository;
+import com.agrifinance.backend.service.loan.LoanService;
+import com.agrifinance.backend.service.loan.LoanSummaryService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanKpiServiceTests {
+
+    @Autowired
+    private LoanKpiService loanKpiService;
+
+    @Autowired
+    private LoanDecisionService loanDecisionService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private LoanSummaryService loanSummaryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanProductRepository loanProductRepository;
+
+    @Autowired
+    private LoanPaymentRepository loanPaymentRepository;
+
+    @Test
+    void approvalsAndRepaymentsAreAddedToEveryGrainWhenFlushed() {
+        Loan loan = createPendingLoanWithSchedule();
+        List<KpiPoint> before = today();
+
+        loanDecisionService.decide(List.of(new Decision(loan.getId(), LoanStatus.APPROVED)));
+        loanService.processPayment(loan.getId(), 150.0);
+        loanKpiService.flush();
+
+        List<KpiPoint> after = today();
+        for (int grain = 0; grain < KpiGrain.values().length; grain++) {
+            assertThat(after.get(grain).approvals() - before.get(grain).approvals()).isEqualTo(1);
+            assertThat(after.get(grain).disbursed() - before.get(grain).disbursed()).isCloseTo(600.0, within(1e-6));
+            assertThat(after.get(grain).repaid() - before.get(grain).repaid()).isCloseTo(150.0, within(1e-6));
+        }
+    }
+
+    @Test
+    void rebuildRecomputesRollupsFromLoansAndFillsEmptyPeriods() {
+        createPendingLoanWithSchedule();
+
+        loanKpiService.rebuild();
+
+        LocalDate today = LocalDate.now();
+        long appliedToday = loanRepository.findAll().stream()
+                .filter(loan -> loan.getCreatedAt() != null && loan.getCreatedAt().toLocalDate().equals(today))
+                .count();
+        KpiTimeseries days = loanKpiService.timeseries(KpiGrain.DAY, today.minusDays(6), today);
+        assertThat(days.points()).hasSize(7);
+        assertThat(days.points().get(6).applications()).isEqualTo(appliedToday);
+        assertThat(loanKpiService.timeseries(KpiGrain.MONTH, today, today).points().get(0).applications())
+                .isGreaterThanOrEqualTo(appliedToday);
+        assertThat(loanKpiService.timeseries(KpiGrain.WEEK, null, today).from().getDayOfWeek())
+                .isEqualTo(DayOfWeek.MONDAY);
+    }
+
+    @Test
+    void rebuildDiscardsPendingActivityItAlreadyCounted() {
+        Loan loan = createPendingLoanWithSchedule();
+        loanDecisionService.decide(List.of(new Decision(loan.getId(), LoanStatus.APPROVED)));
+        loanService.processPayment(loan.getId(), 150.0);
+
+        loanKpiService.rebuild();
+        loanKpiService.flush();
+        List<KpiPoint> afterFlush = currentPoints();
+
+        loanKpiService.rebuild();
+        assertThat(currentPoints()).isEqualTo(afterFlush);
+    }
+
+    @Test
+    void rebuildBooksPartialRepaymentsOnTheDayTheyWereReceived() {
+        Loan loan = createPendingLoanWithSchedule();
+        loanDecisionService.decide(List.of(new Decision(loan.getId(), LoanStatus.APPROVED)));
+        loanKpiService.rebuild();
+
+        // One installment paid off and half of the next, which falls due next month
+        loanService.processPayment(loan.getId(), 150.0);
+        loanKpiService.flush();
+        List<Double> incremental = repaidByDay();
+
+        loanKpiService.rebuild();
+        assertThat(repaidByDay()).isEqualTo(incremental);
+    }
+
+    // Repaid per day from yesterday to the end of the six-month schedule
+    private List<Double> repaidByDay() {
+        LocalDate today = LocalDate.now();
+        return loanKpiService.timeseries(KpiGrain.DAY, today.minusDays(1), today.plusMonths(7)).points().stream()
+                .map(KpiPoint::repaid)
+                .toList();
+    }
+
+    // Today's point at DAY, WEEK and MONTH grain
+    private List<KpiPoint> today() {
+        loanKpiService.flush();
+        return currentPoints();
+    }
+
+    private List<KpiPoint> currentPoints() {
+        List<KpiPoint> points = new ArrayList<>();
+        for (KpiGrain grain : KpiGrain.values()) {
+            points.add(loanKpiService.timeseries(grain, LocalDate.now(), LocalDate.now()).points().get(0));
+        }
+        return points;
+    }
+
+    private Loan createPendingLoanWithSchedule() {
+        User user = userRepository.save(TestFixtures.user().build());
+        LoanProduct product = loanProductRepository.save(TestFixtures.product()
+                .amount(600.0)
+                .interest(0.0)
+                .term(6)
+                .build());
+        Loan loan = loanRepository.save(TestFixtures.loan(user, product, LoanStatus.PENDING).build());
+        List<LoanPayment> schedule = new ArrayList<>();
+        for (int month = 1; month <= 6; month++) {
+            schedule.add(TestFixtures.installment(loan, 100.0, LocalDateTime.now().plusMonths(month),
+                            PaymentStatus.NOT_PAID)
+                    .build());
+        }
+        loanPaymentRepository.saveAll(schedule);
+        loanSummaryService.rebuild(user.getId());
+        return loan;
+    }
+}
@@ -0,0 +1,172 @@
+package com.agrifinance.backend.service.admin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.dto.admin.PaymentImportReport;
+import com.agrifinance.backend.dto.admin.PaymentImportRowResult;
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.PaymentStatus;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanPayment;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.model.user.User;
+import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.UserRepository;
+import com.agrifinance.backend.service.loan.LoanService;
+import com.agrifinance.backend.service.loan.LoanSummaryService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PaymentImportServiceTests {
+
+    @Autowired
+    private PaymentImportService paymentImportService;
+
+    @Autowired
+    private LoanSummaryService loanSummaryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanProductRepository loanProductRepository;
+
+    @Autowired
+    private LoanPaymentRepository loanPaymentRepository;
+
+    @Test
+    void appliesCsvRowsInFileOrderPerLoanAndReportsEachRow() throws IOException {
+        LoanProduct product = createProduct();
+        List<Loan> loans = List.of(createApprovedLoan(product), createApprovedLoan(product),
+                createApprovedLoan(product));
+
+        StringBuilder csv = new StringBuilder("loanId,amount,reference\n");
+        for (int i = 0; i < 5; i++) {
+            for (Loan loan : loans) {
+                csv.append(loan.getId()).append(",110,ref-").append(i).append('\n');
+            }
+        }
+        csv.append("not-a-loan,110,bad-id\n");
+        csv.append(loans.get(0).getId()).append(",-5,negative\n");
+        csv.append(UUID.randomUUID()).append(",110,unknown\n");
+
+        PaymentImportReport report = paymentImportService.importPayments(stream(csv.toString()),
+                PaymentImportService.Format.CSV);
+
+        assertThat(report.totalRows()).isEqualTo(18);
+        assertThat(report.appliedRows()).isEqualTo(15);
+        assertThat(report.failedRows()).isEqualTo(3);
+        assertThat(report.totalApplied()).isEqualTo(15 * 110.0);
+        assertThat(report.rows()).extracting(PaymentImportRowResult::line)
+                .isSorted()
+                .startsWith(2L);
+        assertThat(report.rows().subList(15, 18)).extracting(PaymentImportRowResult::error)
+                .containsExactly("Invalid loan id", "Amount must be positive", "Loan not found");
+
+        for (Loan loan : loans) {
+            List<LoanPayment> installments = loanPaymentRepository.findByLoanId(loan.getId());
+            assertThat(loanRepository.findById(loan.getId()).orElseThrow().getPaidAmount()).isEqualTo(5 * 110.0);
+            // File order is due-date order: the five earliest installments are the paid ones
+            assertThat(installments.stream()
+                    .sorted((a, b) -> a.getDueDate().compareTo(b.getDueDate()))
+                    .limit(5))
+                    .allMatch(p -> p.getStatus() == PaymentStatus.PAID);
+        }
+    }
+
+    @Test
+    void appliesNdjsonRows() throws IOException {
+        Loan loan = createApprovedLoan(createProduct());
+        String ndjson = "{\"loanId\":\"" + loan.getId() + "\",\"amount\":110,\"reference\":\"a\"}\n"
+                + "{\"loanId\":\"" + loan.getId() + "\",\"amount\":55.5}\n"
+                + "{not json}\n";
+
+        PaymentImportReport report = paymentImportService.importPayments(stream(ndjson),
+                PaymentImportService.Format.NDJSON);
+
+        assertThat(report.appliedRows()).isEqualTo(2);
+        assertThat(report.rows().get(2).error()).isEqualTo("Malformed JSON");
+        assertThat(loanRepository.findById(loan.getId()).orElseThrow().getPaidAmount()).isEqualTo(165.5);
+    }
+
+    @Test
+    void quotedCsvFieldsKeepTheirCommasAndQuotes() throws IOException {
+        Loan loan = createApprovedLoan(createProduct());
+        String csv = "\"loanId\",\"amount\",\"reference\"\n"
+                + "\"" + loan.getId() + "\",\"110\",\"M-Pesa, till 5521\"\n"
+                + loan.getId() + ",55,\"Paid by \"\"Mama Njeri\"\"\"\n"
+                + loan.getId() + ",20,\"unterminated, ref\n";
+
+        PaymentImportReport report = paymentImportService.importPayments(stream(csv),
+                PaymentImportService.Format.CSV);
+
+        assertThat(report.totalRows()).isEqualTo(3);
+        assertThat(report.appliedRows()).isEqualTo(2);
+        assertThat(report.rows()).extracting(PaymentImportRowResult::reference)
+                .startsWith("M-Pesa, till 5521", "Paid by \"Mama Njeri\"");
+        assertThat(report.rows().get(2).error()).isEqualTo("Unterminated quoted field");
+        assertThat(loanRepository.findById(loan.getId()).orElseThrow().getPaidAmount()).isEqualTo(165.0);
+    }
+
+    @Test
+    void rowsAfterTheLoanIsSettledAreRejected() throws IOException {
+        Loan loan = createApprovedLoan(createProduct());
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 14; i++) {
+            csv.append(loan.getId()).append(",110\n");
+        }
+
+        PaymentImportReport report = paymentImportService.importPayments(stream(csv.toString()),
+                PaymentImportService.Format.CSV);
+
+        assertThat(report.appliedRows()).isEqualTo(12);
+        assertThat(report.rows().subList(12, 14)).extracting(PaymentImportRowResult::error)
+                .containsOnly(LoanService.NO_PENDING_PAYMENTS);
+        Loan settled = loanRepository.findById(loan.getId()).orElseThrow();
+        assertThat(settled.getStatus()).isEqualTo(LoanStatus.PAID);
+        assertThat(settled.getPaidAmount()).isEqualTo(12 * 110.0);
+        assertThat(loanPaymentRepository.findByLoanId(loan.getId()))
+                .allMatch(p -> p.getStatus() == PaymentStatus.PAID);
+    }
+
+    private ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private LoanProduct createProduct() {
+        return loanProductRepository.save(TestFixtures.product().build());
+    }
+
+    private Loan createApprovedLoan(LoanProduct product) {
+        User user = userRepository.save(TestFixtures.user().build());
+        Loan loan = loanRepository.save(TestFixtures.loan(user, product, LoanStatus.APPROVED).build());
+        LocalDateTime firstDue = loan.getCreatedAt().plusMonths(1);
+        List<LoanPayment> schedule = new ArrayList<>();
+        for (int month = 0; month < 12; month++) {
+            schedule.add(TestFixtures.installment(loan, 110.0, firstDue.plusMonths(month), PaymentStatus.NOT_PAID)
+                    .build());
+        }
+        loanPaymentRepository.saveAll(schedule);
+        loanSummaryService.rebuild(user.getId());
+        return loan;
+    }
+}
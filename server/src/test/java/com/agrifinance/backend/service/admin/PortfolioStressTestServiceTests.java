@@ -0,0 +1,103 @@
+package com.agrifinance.backend.service.admin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.dto.admin.StressTestRequest;
+import com.agrifinance.backend.dto.admin.StressTestResult;
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.PaymentStatus;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanPayment;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.model.user.User;
+import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PortfolioStressTestServiceTests {
+
+    @Autowired
+    private PortfolioStressTestService portfolioStressTestService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanProductRepository loanProductRepository;
+
+    @Autowired
+    private LoanPaymentRepository loanPaymentRepository;
+
+    @Test
+    void lossDistributionIsOrderedAndReproducibleFromSeed() {
+        LoanProduct product = loanProductRepository.save(TestFixtures.product().interest(0.0).build());
+        for (int i = 0; i < 20; i++) {
+            createApprovedLoan(product, i % 4);
+        }
+        StressTestRequest drought = new StressTestRequest(2_000, 0.05, 3.0, 0.2, 0.4, 7L);
+
+        StressTestResult result = portfolioStressTestService.run(drought);
+
+        assertThat(result.loans()).isGreaterThanOrEqualTo(20);
+        assertThat(result.p50Loss()).isLessThanOrEqualTo(result.p90Loss());
+        assertThat(result.p90Loss()).isLessThanOrEqualTo(result.p99Loss());
+        assertThat(result.p99Loss()).isLessThanOrEqualTo(result.maxLoss());
+        assertThat(result.maxLoss()).isLessThanOrEqualTo(result.totalExposure());
+        assertThat(result.expectedLoss()).isPositive();
+        assertThat(portfolioStressTestService.run(drought)).usingRecursiveComparison()
+                .ignoringFields("durationMs").isEqualTo(result);
+
+        StressTestResult noDefaults = portfolioStressTestService.run(new StressTestRequest(100, 0.0, 1.0, 0.2, 0.4, 7L));
+        assertThat(noDefaults.maxLoss()).isZero();
+    }
+
+    @Test
+    void simulationMatchesExpectedLossAndIgnoresParallelism() {
+        double[] exposure = new double[1_000];
+        int[] grade = new int[exposure.length];
+        Arrays.fill(exposure, 100.0);
+        for (int i = 0; i < grade.length; i++) {
+            grade[i] = i % 2;
+        }
+        PortfolioSimulation simulation = new PortfolioSimulation(exposure, grade, new double[] { 0.05, 0.15 }, 0.0, 0.4);
+
+        double[] serial = simulation.run(4_000, 11L, new ForkJoinPool(1));
+        double[] parallel = simulation.run(4_000, 11L, new ForkJoinPool(4));
+
+        assertThat(parallel).containsExactly(serial);
+        // Without correlation the mean loss is sum(exposure * pd) * (1 - recovery), up to recovery noise
+        double mean = Arrays.stream(serial).average().orElseThrow();
+        assertThat(mean).isCloseTo(500 * 100 * (0.05 + 0.15) * 0.6, within(200.0));
+    }
+
+    private void createApprovedLoan(LoanProduct product, int overdue) {
+        User user = userRepository.save(TestFixtures.user().build());
+        Loan loan = loanRepository.save(TestFixtures.loan(user, product, LoanStatus.APPROVED).build());
+        List<LoanPayment> schedule = new ArrayList<>();
+        for (int month = 0; month < 12; month++) {
+            schedule.add(TestFixtures.installment(loan, 100.0, LocalDateTime.now().plusMonths(month - overdue),
+                            month < overdue ? PaymentStatus.OVERDUE : PaymentStatus.NOT_PAID)
+                    .build());
+        }
+        loanPaymentRepository.saveAll(schedule);
+    }
+}
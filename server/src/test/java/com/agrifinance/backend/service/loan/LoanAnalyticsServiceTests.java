@@ -0,0 +1,125 @@
+package com.agrifinance.backend.service.loan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.dto.loan.LoanAnalytics;
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.PaymentStatus;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.model.user.User;
+import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanAnalyticsServiceTests {
+
+    @Autowired
+    private LoanAnalyticsService loanAnalyticsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanProductRepository loanProductRepository;
+
+    @Autowired
+    private LoanPaymentRepository loanPaymentRepository;
+
+    @Autowired
+    private LoanSummaryService loanSummaryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void queryCountDoesNotGrowWithNumberOfLoans() {
+        UUID singleLoanUser = createUserWithLoans(1);
+        UUID manyLoansUser = createUserWithLoans(10);
+
+        long singleLoanQueries = countQueries(singleLoanUser, false);
+        long manyLoansQueries = countQueries(manyLoansUser, false);
+
+        // The summary row, the next installment and the first history page
+        assertThat(singleLoanQueries).isLessThanOrEqualTo(3);
+        assertThat(manyLoansQueries).isEqualTo(singleLoanQueries);
+        // The breakdown adds the loans and one grouped aggregate over their installments
+        assertThat(countQueries(manyLoansUser, true)).isEqualTo(singleLoanQueries + 2);
+    }
+
+    @Test
+    void computesTotalsFromGroupedPayments() {
+        UUID userId = createUserWithLoans(3);
+
+        LoanAnalytics analytics = loanAnalyticsService.getLoanAnalytics(userId, true);
+
+        assertThat(analytics.totalLoans()).isEqualTo(3);
+        assertThat(analytics.activeLoans()).isEqualTo(3L);
+        assertThat(analytics.totalAmountBorrowed()).isEqualTo(3 * 1200.0);
+        assertThat(analytics.totalAmountRepaid()).isEqualTo(3 * 2 * 110.0);
+        assertThat(analytics.outstandingBalance()).isEqualTo(3 * 1200.0 - 3 * 2 * 110.0);
+        // Flat schedules count interest once the principal is repaid
+        assertThat(analytics.totalInterestPaid()).isZero();
+        assertThat(analytics.loanBreakdown()).hasSize(3)
+                .allSatisfy(breakdown -> {
+                    assertThat(breakdown.repaidAmount()).isEqualTo(220.0);
+                    assertThat(breakdown.remainingAmount()).isEqualTo(10 * 110.0);
+                    assertThat(breakdown.interest()).isEqualTo(12 * 110.0 - 1200.0);
+                });
+        assertThat(analytics.paymentHistory()).hasSize(10);
+        assertThat(analytics.nextPaymentAmount()).isEqualTo(110.0);
+    }
+
+    private long countQueries(UUID userId, boolean includeBreakdown) {
+        statistics.clear();
+        loanAnalyticsService.getLoanAnalytics(userId, includeBreakdown);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private UUID createUserWithLoans(int loanCount) {
+        User user = userRepository.save(TestFixtures.user().build());
+        LoanProduct product = loanProductRepository.save(TestFixtures.product().build());
+
+        for (int i = 0; i < loanCount; i++) {
+            Loan loan = loanRepository.save(TestFixtures.loan(user, product, LoanStatus.APPROVED).build());
+            LocalDateTime firstDue = loan.getCreatedAt().plusMonths(1);
+            for (int month = 0; month < 12; month++) {
+                boolean paid = month < 2;
+                loanPaymentRepository.save(TestFixtures.installment(loan, 110.0, firstDue.plusMonths(month),
+                                paid ? PaymentStatus.PAID : PaymentStatus.NOT_PAID)
+                        .paidDate(paid ? firstDue.plusMonths(month) : null)
+                        .build());
+            }
+        }
+        loanSummaryService.rebuild(user.getId());
+        return user.getId();
+    }
+}
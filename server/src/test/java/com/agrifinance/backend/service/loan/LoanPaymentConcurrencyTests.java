@@ -0,0 +1,124 @@
+package com.agrifinance.backend.service.loan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.PaymentStatus;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanPayment;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.model.user.User;
+import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.LoanSummaryRepository;
+import com.agrifinance.backend.repository.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanPaymentConcurrencyTests {
+    private static final int LOANS = 40;
+    private static final int PAYMENTS_PER_LOAN = 10;
+    private static final int INSTALLMENTS = 12;
+    private static final double INSTALLMENT = 110.0;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private LoanSummaryService loanSummaryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanProductRepository loanProductRepository;
+
+    @Autowired
+    private LoanPaymentRepository loanPaymentRepository;
+
+    @Autowired
+    private LoanSummaryRepository loanSummaryRepository;
+
+    @Test
+    void concurrentPaymentsAreNeverLost() throws InterruptedException {
+        LoanProduct product = loanProductRepository.save(TestFixtures.product().term(INSTALLMENTS).build());
+        List<Loan> loans = new ArrayList<>();
+        for (int i = 0; i < LOANS; i++) {
+            loans.add(createApprovedLoan(product));
+        }
+
+        // Every loan receives several installment-sized payments at once, interleaved with other loans
+        List<UUID> submissions = new ArrayList<>();
+        for (Loan loan : loans) {
+            for (int i = 0; i < PAYMENTS_PER_LOAN; i++) {
+                submissions.add(loan.getId());
+            }
+        }
+        Collections.shuffle(submissions);
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        for (UUID loanId : submissions) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    loanService.processPayment(loanId, INSTALLMENT);
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(failures).isEmpty();
+        for (Loan loan : loans) {
+            Loan reloaded = loanRepository.findById(loan.getId()).orElseThrow();
+            List<LoanPayment> installments = loanPaymentRepository.findByLoanId(loan.getId());
+
+            assertThat(reloaded.getPaidAmount()).isEqualTo(PAYMENTS_PER_LOAN * INSTALLMENT);
+            assertThat(installments).filteredOn(p -> p.getStatus() == PaymentStatus.PAID)
+                    .hasSize(PAYMENTS_PER_LOAN);
+            assertThat(loanSummaryRepository.findById(loan.getUser().getId()).orElseThrow().getTotalRepaid())
+                    .isEqualTo(PAYMENTS_PER_LOAN * INSTALLMENT);
+        }
+    }
+
+    private Loan createApprovedLoan(LoanProduct product) {
+        User user = userRepository.save(TestFixtures.user().build());
+        Loan loan = loanRepository.save(TestFixtures.loan(user, product, LoanStatus.APPROVED).build());
+        LocalDateTime firstDue = loan.getCreatedAt().plusMonths(1);
+        List<LoanPayment> schedule = new ArrayList<>();
+        for (int month = 0; month < INSTALLMENTS; month++) {
+            schedule.add(TestFixtures.installment(loan, INSTALLMENT, firstDue.plusMonths(month),
+                            PaymentStatus.NOT_PAID)
+                    .build());
+        }
+        loanPaymentRepository.saveAll(schedule);
+        loanSummaryService.rebuild(user.getId());
+        return loan;
+    }
+}
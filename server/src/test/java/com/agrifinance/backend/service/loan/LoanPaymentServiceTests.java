@@ -0,0 +1,130 @@
+package com.agrifinance.backend.service.loan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.dto.loan.PaymentHistoryEntry;
+import com.agrifinance.backend.dto.loan.PaymentHistoryPage;
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.PaymentStatus;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanPayment;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.model.loan.LoanReceipt;
+import com.agrifinance.backend.model.user.User;
+import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.repository.LoanReceiptRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanPaymentServiceTests {
+
+    @Autowired
+    private LoanPaymentService loanPaymentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanProductRepository loanProductRepository;
+
+    @Autowired
+    private LoanPaymentRepository loanPaymentRepository;
+
+    @Autowired
+    private LoanReceiptRepository loanReceiptRepository;
+
+    @Test
+    void historyPagesAcrossLoansInActivityOrder() {
+        LoanProduct product = loanProductRepository.save(TestFixtures.product().build());
+        User user = userRepository.save(TestFixtures.user().build());
+        User other = userRepository.save(TestFixtures.user().build());
+        LocalDateTime start = LocalDateTime.now().minusMonths(3);
+        List<LoanPayment> saved = new ArrayList<>();
+        for (int l = 0; l < 2; l++) {
+            Loan loan = loanRepository.save(TestFixtures.loan(user, product, LoanStatus.APPROVED).build());
+            for (int i = 0; i < 4; i++) {
+                saved.add(loanPaymentRepository.save(TestFixtures.installment(loan, 100.0,
+                        start.plusDays(10L * i + l), PaymentStatus.NOT_PAID).build()));
+            }
+        }
+        Loan otherLoan = loanRepository.save(TestFixtures.loan(other, product, LoanStatus.APPROVED).build());
+        loanPaymentRepository.save(TestFixtures.installment(otherLoan, 100.0, start, PaymentStatus.NOT_PAID).build());
+
+        assertThat(saved).extracting(LoanPayment::getUserId).containsOnly(user.getId());
+
+        List<String> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaymentHistoryPage page = loanPaymentService.getPaymentHistory(user.getId(), cursor, 3);
+            page.items().stream().map(PaymentHistoryEntry::paymentId).forEach(paged::add);
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        List<String> expected = saved.stream()
+                .sorted((a, b) -> b.getActivityDate().compareTo(a.getActivityDate()))
+                .map(payment -> payment.getId().toString())
+                .toList();
+        assertThat(paged).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void receiptsAreBackfilledOnceForLoansPaidBeforeReceiptsWereKept() {
+        LoanProduct product = loanProductRepository.save(TestFixtures.product().build());
+        User user = userRepository.save(TestFixtures.user().build());
+        Loan loan = loanRepository.save(TestFixtures.loan(user, product, LoanStatus.APPROVED).build());
+        LocalDateTime paidDate = LocalDateTime.now().minusDays(20);
+        loanPaymentRepository.save(TestFixtures.installment(loan, 100.0, paidDate.plusDays(5), PaymentStatus.PAID)
+                .paidDate(paidDate)
+                .build());
+        loanPaymentRepository.save(TestFixtures.installment(loan, 60.0, paidDate.plusMonths(1),
+                        PaymentStatus.NOT_PAID)
+                .paidAmount(40.0)
+                .build());
+        loanPaymentRepository.save(TestFixtures.installment(loan, 100.0, paidDate.plusMonths(2),
+                        PaymentStatus.NOT_PAID)
+                .build());
+
+        loanPaymentService.backfillReceipts();
+        loanPaymentService.backfillReceipts();
+
+        List<LoanReceipt> receipts = loanReceiptRepository.findAll().stream()
+                .filter(receipt -> receipt.getLoan().getId().equals(loan.getId()))
+                .toList();
+        assertThat(receipts).extracting(LoanReceipt::getAmount).containsExactlyInAnyOrder(100.0, 40.0);
+        assertThat(receipts).extracting(LoanReceipt::getReceivedAt).allMatch(at -> !at.isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        UUID userId = UUID.randomUUID();
+        String badDate = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("yesterday|" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+        String badId = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((LocalDateTime.now() + "|not-an-id").getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : List.of("%%%", badDate, badId)) {
+            assertThatThrownBy(() -> loanPaymentService.getPaymentHistory(userId, cursor, 5))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
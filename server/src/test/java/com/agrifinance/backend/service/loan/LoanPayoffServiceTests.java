@@ -0,0 +1,94 @@
+package com.agrifinance.backend.service.loan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.dto.loan.LoanDTO;
+import com.agrifinance.backend.dto.loan.LoanProductDTO;
+import com.agrifinance.backend.dto.loan.LoanRequest;
+import com.agrifinance.backend.dto.loan.PayoffQuote;
+import com.agrifinance.backend.model.loan.LoanPayment;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.repository.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanPayoffServiceTests {
+
+    @Autowired
+    private LoanPayoffService loanPayoffService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanProductRepository loanProductRepository;
+
+    @Autowired
+    private LoanPaymentRepository loanPaymentRepository;
+
+    @Test
+    void quotesPayoffAndPrepaymentWithoutChangingInstallments() {
+        UUID userId = userRepository.save(TestFixtures.user().build()).getId();
+        LoanDTO loan = loanService.applyForLoan(userId, loanRequest());
+        UUID loanId = UUID.fromString(loan.getId());
+        List<LoanPayment> before = loanPaymentRepository.findOutstandingByLoanId(loanId);
+        double scheduledInterest = before.stream().mapToDouble(LoanPayment::getInterest).sum();
+        LocalDateTime firstDue = before.get(0).getDueDate();
+
+        // Settling right at the start costs only the principal
+        PayoffQuote atStart = loanPayoffService.quote(userId, loanId, null, firstDue.minusMonths(1));
+        assertThat(atStart.payoffAmount()).isEqualTo(1200.0);
+        assertThat(atStart.interestSaved()).isCloseTo(scheduledInterest, within(0.001));
+
+        // Half way through the first period, half of its 18.00 interest has accrued
+        LocalDateTime midPeriod = firstDue.minusMonths(1).plusSeconds(
+                Duration.between(firstDue.minusMonths(1), firstDue).toSeconds() / 2);
+        PayoffQuote halfway = loanPayoffService.quote(userId, loanId, null, midPeriod);
+        assertThat(halfway.accruedInterest()).isCloseTo(9.0, within(0.01));
+        assertThat(halfway.payoffAmount()).isCloseTo(1209.0, within(0.01));
+
+        PayoffQuote prepaid = loanPayoffService.quote(userId, loanId, 600.0, firstDue.minusMonths(1));
+        assertThat(prepaid.balanceAfterPrepayment()).isEqualTo(600.0);
+        assertThat(prepaid.schedule()).hasSize(12);
+        assertThat(prepaid.schedule().get(0).dueDate()).isEqualTo(firstDue);
+        assertThat(prepaid.schedule().get(11).balance()).isZero();
+        assertThat(prepaid.interestSaved()).isCloseTo(scheduledInterest / 2, within(0.05));
+
+        assertThat(loanPaymentRepository.findOutstandingByLoanId(loanId))
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("loan")
+                .containsExactlyElementsOf(before);
+    }
+
+    private LoanRequest loanRequest() {
+        LoanProduct product = loanProductRepository.save(TestFixtures.product().build());
+        LoanProductDTO details = new LoanProductDTO();
+        details.setId(product.getId().toString());
+        details.setName(product.getName());
+        details.setAmount(product.getAmount());
+        details.setInterest(product.getInterest());
+        details.setTerm(product.getTerm());
+        details.setTermType(product.getTermType());
+
+        LoanRequest request = new LoanRequest();
+        request.setPurpose("Seeds");
+        request.setDetails(details);
+        return request;
+    }
+}
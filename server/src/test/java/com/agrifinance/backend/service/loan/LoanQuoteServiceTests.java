@@ -0,0 +1,98 @@
+package com.agrifinance.backend.service.loan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.config.CacheConfig;
+import com.agrifinance.backend.dto.loan.LoanProductDTO;
+import com.agrifinance.backend.dto.loan.LoanQuote;
+import com.agrifinance.backend.model.enums.LoanTermType;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.service.admin.AdminService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanQuoteServiceTests {
+
+    @Autowired
+    private LoanQuoteService loanQuoteService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private LoanProductRepository loanProductRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void servesRepeatedQuotesFromCacheUntilTheRateChanges() {
+        LoanProduct product = loanProductRepository.save(TestFixtures.product()
+                .amount(5000.0)
+                .term(3)
+                .termType(LoanTermType.YEARS)
+                .build());
+        UUID productId = product.getId();
+
+        LoanQuote quote = loanQuoteService.quote(productId, 1200.0, null, null);
+
+        assertThat(quote.schedule()).hasSize(36);
+        assertThat(quote.installment()).isEqualTo(43.38);
+        assertThat(quote.totalPayable()).isEqualTo(1200.0 + quote.totalInterest());
+        // Amounts in the same bucket share one cached schedule, but each quote keeps what was asked for
+        LoanQuote sameBucket = loanQuoteService.quote(productId, 1200.2, null, null);
+        assertThat(sameBucket.schedule()).isSameAs(quote.schedule());
+        assertThat(sameBucket.amount()).isEqualTo(1200.2);
+        LoanQuote inMonths = loanQuoteService.quote(productId, 1200.0, 36, LoanTermType.MONTHS);
+        assertThat(inMonths.schedule()).isSameAs(quote.schedule());
+        assertThat(inMonths.term()).isEqualTo(36);
+        assertThat(inMonths.termType()).isEqualTo(LoanTermType.MONTHS);
+        assertThat(quote.term()).isEqualTo(3);
+        assertThat(quote.termType()).isEqualTo(LoanTermType.YEARS);
+        assertThat(loanQuoteService.quote(productId, 1200.0, 12, LoanTermType.MONTHS).schedule()).hasSize(12);
+
+        LoanProductDTO update = new LoanProductDTO();
+        update.setName(product.getName());
+        update.setAmount(product.getAmount());
+        update.setInterest(0.0);
+        update.setTerm(product.getTerm());
+        update.setTermType(product.getTermType());
+        adminService.updateLoanProduct(productId, update);
+
+        LoanQuote requoted = loanQuoteService.quote(productId, 1200.0, null, null);
+        assertThat(requoted.interestRate()).isZero();
+        assertThat(requoted.totalInterest()).isZero();
+        assertThat(requoted.installment()).isEqualTo(33.34);
+    }
+
+    @Test
+    void rejectsTermsBeyondTheMaximumAndBoundsCachedSchedulesByInstallments() {
+        UUID productId = loanProductRepository.save(TestFixtures.product().build()).getId();
+
+        assertThat(loanQuoteService.quote(productId, 1200.0, 30, LoanTermType.YEARS).schedule()).hasSize(360);
+        for (int term : new int[] { 361, 2_000_000_000 }) {
+            assertThatThrownBy(() -> loanQuoteService.quote(productId, 1200.0, term, LoanTermType.MONTHS))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        // 31 years, and a count of years whose months would overflow to 8
+        for (int term : new int[] { 31, 357_913_942 }) {
+            assertThatThrownBy(() -> loanQuoteService.quote(productId, 1200.0, term, LoanTermType.YEARS))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        CaffeineCache quotes = (CaffeineCache) cacheManager.getCache(CacheConfig.LOAN_QUOTES);
+        assertThat(quotes.getNativeCache().policy().eviction().orElseThrow().isWeighted()).isTrue();
+    }
+}
@@ -0,0 +1,132 @@
+package com.agrifinance.backend.service.loan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.dto.admin.ReconciliationReport;
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.PaymentStatus;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanPayment;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.model.user.User;
+import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.UserRepository;
+import com.agrifinance.backend.service.scheduling.SchedulerLockService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanReconciliationServiceTests {
+
+    @Autowired
+    private LoanReconciliationService loanReconciliationService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanProductRepository loanProductRepository;
+
+    @Autowired
+    private LoanPaymentRepository loanPaymentRepository;
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    @Test
+    void reportsDriftedLoansAndCorrectsThemOnRequest() throws IOException {
+        Loan consistent = createApprovedLoan();
+        Loan drifted = createApprovedLoan();
+        // A full and a partial payment keep the balances in step
+        loanService.processPayment(consistent.getId(), 150.0);
+        loanService.processPayment(drifted.getId(), 100.0);
+        Loan stale = loanRepository.findById(drifted.getId()).orElseThrow();
+        stale.setPaidAmount(250.0);
+        loanRepository.save(stale);
+
+        ReconciliationReport dryRun = loanReconciliationService.reconcile(false);
+
+        assertThat(dryRun.loansScanned()).isGreaterThanOrEqualTo(2);
+        assertThat(dryRun.corrected()).isZero();
+        List<String> lines = Files.readAllLines(Path.of(dryRun.reportFile()));
+        assertThat(lines).anyMatch(line -> line.startsWith(drifted.getId() + ",250.0,100.0,150.0,false"));
+        assertThat(lines).noneMatch(line -> line.startsWith(consistent.getId().toString()));
+        assertThat(loanRepository.findById(drifted.getId()).orElseThrow().getPaidAmount()).isEqualTo(250.0);
+
+        ReconciliationReport corrected = loanReconciliationService.reconcile(true);
+
+        assertThat(corrected.corrected()).isGreaterThanOrEqualTo(1);
+        assertThat(Files.readAllLines(Path.of(corrected.reportFile())))
+                .anyMatch(line -> line.startsWith(drifted.getId() + ",250.0,100.0,150.0,true"));
+        assertThat(loanRepository.findById(drifted.getId()).orElseThrow().getPaidAmount()).isEqualTo(100.0);
+    }
+
+    @Test
+    void neverLowersALoanWithLegacyInstallments() throws IOException {
+        Loan legacy = createApprovedLoan();
+        // Paid in two parts before per-installment tracking: 100 received, only the last 40 left in amount
+        LoanPayment installment = loanPaymentRepository.findByLoanId(legacy.getId()).get(0);
+        installment.setAmount(40.0);
+        installment.setStatus(PaymentStatus.PAID);
+        installment.setPaidDate(LocalDateTime.now());
+        loanPaymentRepository.save(installment);
+        Loan recorded = loanRepository.findById(legacy.getId()).orElseThrow();
+        recorded.setPaidAmount(100.0);
+        loanRepository.save(recorded);
+
+        ReconciliationReport report = loanReconciliationService.reconcile(true);
+
+        assertThat(report.legacyMismatches()).isGreaterThanOrEqualTo(1);
+        assertThat(Files.readAllLines(Path.of(report.reportFile())))
+                .anyMatch(line -> line.equals(legacy.getId() + ",100.0,40.0,60.0,false,1"));
+        assertThat(loanRepository.findById(legacy.getId()).orElseThrow().getPaidAmount()).isEqualTo(100.0);
+    }
+
+    @Test
+    void refusesToRunAlongsideAnotherReconciliation() {
+        assertThat(schedulerLockService.tryAcquire(LoanReconciliationService.LOCK_NAME, Duration.ofMinutes(1)))
+                .isTrue();
+        try {
+            assertThatThrownBy(() -> loanReconciliationService.reconcile(false))
+                    .isInstanceOf(IllegalStateException.class);
+        } finally {
+            schedulerLockService.release(LoanReconciliationService.LOCK_NAME);
+        }
+    }
+
+    private Loan createApprovedLoan() {
+        User user = userRepository.save(TestFixtures.user().build());
+        LoanProduct product = loanProductRepository.save(TestFixtures.product().interest(0.0).build());
+        Loan loan = loanRepository.save(TestFixtures.loan(user, product, LoanStatus.APPROVED).build());
+        List<LoanPayment> schedule = new ArrayList<>();
+        for (int month = 0; month < 12; month++) {
+            schedule.add(TestFixtures.installment(loan, 100.0, LocalDateTime.now().plusMonths(month + 1),
+                            PaymentStatus.NOT_PAID)
+                    .build());
+        }
+        loanPaymentRepository.saveAll(schedule);
+        return loan;
+    }
+}
@@ -0,0 +1,171 @@
+package com.agrifinance.backend.service.loan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.config.CacheConfig;
+import com.agrifinance.backend.dto.admin.AdminLoanDTO;
+import com.agrifinance.backend.dto.admin.LoanFilter;
+import com.agrifinance.backend.dto.admin.LoanRiskAssessment;
+import com.agrifinance.backend.dto.admin.RiskRescoreResult;
+import com.agrifinance.backend.event.LoanDataChangedEvent;
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.PaymentStatus;
+import com.agrifinance.backend.model.enums.RiskGrade;
+import com.agrifinance.backend.model.loan.FinancialInfo;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanInfo;
+import com.agrifinance.backend.model.loan.LoanPayment;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.model.user.User;
+import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.UserRepository;
+import com.agrifinance.backend.service.admin.AdminService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanRiskServiceTests {
+
+    @Autowired
+    private LoanRiskService loanRiskService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanProductRepository loanProductRepository;
+
+    @Autowired
+    private LoanPaymentRepository loanPaymentRepository;
+
+    @Test
+    void rescoresPendingLoansFromRepaymentRecords() {
+        LoanProduct product = createProduct();
+        User reliable = createUser();
+        User struggling = createUser();
+        createHistory(reliable, product, false);
+        createHistory(struggling, product, true);
+        Loan reliablePending = createPendingLoan(reliable, product);
+        Loan strugglingPending = createPendingLoan(struggling, product);
+
+        RiskRescoreResult result = loanRiskService.rescorePending();
+
+        assertThat(result.scored()).isGreaterThanOrEqualTo(2);
+        assertThat(result.failed()).isZero();
+        Loan good = loanRepository.findById(reliablePending.getId()).orElseThrow();
+        Loan bad = loanRepository.findById(strugglingPending.getId()).orElseThrow();
+        assertThat(good.getRiskScore()).isGreaterThan(bad.getRiskScore());
+        assertThat(good.getRiskGrade()).isLessThan(bad.getRiskGrade());
+        assertThat(good.getRiskScoredAt()).isNotNull();
+        // The score refresh does not bump the version officers decide against
+        assertThat(good.getVersion()).isEqualTo(reliablePending.getVersion());
+
+        // Records are cached per user until the user's loans change
+        assertThat(cacheManager.getCache(CacheConfig.REPAYMENT_RECORDS).get(struggling.getId())).isNotNull();
+        eventPublisher.publishEvent(new LoanDataChangedEvent(struggling.getId()));
+        assertThat(cacheManager.getCache(CacheConfig.REPAYMENT_RECORDS).get(struggling.getId())).isNull();
+
+        LoanRiskAssessment assessment = loanRiskService.score(strugglingPending.getId());
+        assertThat(assessment.score()).isEqualTo(bad.getRiskScore());
+        assertThat(assessment.factors()).extracting(LoanRiskAssessment.Factor::name)
+                .contains("overdueInstallments", "paidLate");
+
+        List<AdminLoanDTO> listed = adminService.getLoans(new LoanFilter(LoanStatus.PENDING, null, null, null, null,
+                null, struggling.getId(), bad.getRiskGrade()), null, 50).items();
+        assertThat(listed).extracting(AdminLoanDTO::getId).containsExactly(strugglingPending.getId().toString());
+        assertThat(listed.get(0).getRiskScore()).isEqualTo(bad.getRiskScore());
+    }
+
+    @Test
+    void scorecardRanksIncomeAndHistory() {
+        RiskScorecard scorecard = new RiskScorecard();
+        RiskScorecard.Application affordable = new RiskScorecard.Application(1000.0, 8, "COOPERATIVE",
+                "EMPLOYED", 12, 110.0);
+        RiskScorecard.Application unaffordable = new RiskScorecard.Application(100.0, 0, "INDIVIDUAL",
+                "UNEMPLOYED", 12, 110.0);
+        RiskScorecard.RepaymentRecord clean = new RiskScorecard.RepaymentRecord(12, 12, 0, 0, 0, 1);
+
+        RiskScorecard.Assessment best = scorecard.assess(affordable, clean);
+        RiskScorecard.Assessment firstLoan = scorecard.assess(affordable, RiskScorecard.RepaymentRecord.NONE);
+        RiskScorecard.Assessment worst = scorecard.assess(unaffordable, RiskScorecard.RepaymentRecord.NONE);
+
+        assertThat(best.grade()).isEqualTo(RiskGrade.A);
+        assertThat(best.score()).isGreaterThan(firstLoan.score());
+        assertThat(worst.grade()).isEqualTo(RiskGrade.E);
+        assertThat(worst.probabilityOfDefault()).isGreaterThan(0.5);
+    }
+
+    // A repaid loan, then an approved one whose first six installments are paid on time or left overdue
+    private void createHistory(User user, LoanProduct product, boolean overdue) {
+        LocalDateTime start = LocalDateTime.now().minusMonths(20);
+        Loan repaid = loanRepository.save(loan(user, product, LoanStatus.PAID));
+        Loan active = loanRepository.save(loan(user, product, LoanStatus.APPROVED));
+        List<LoanPayment> payments = new ArrayList<>();
+        for (int month = 0; month < 12; month++) {
+            LocalDateTime due = start.plusMonths(month);
+            payments.add(payment(repaid, due, PaymentStatus.PAID, overdue ? due.plusDays(20) : due.minusDays(1)));
+        }
+        for (int month = 0; month < 12; month++) {
+            LocalDateTime due = LocalDateTime.now().minusMonths(6).plusMonths(month);
+            boolean past = month < 6;
+            payments.add(past && !overdue
+                    ? payment(active, due, PaymentStatus.PAID, due.minusDays(1))
+                    : payment(active, due, past ? PaymentStatus.OVERDUE : PaymentStatus.NOT_PAID, null));
+        }
+        loanPaymentRepository.saveAll(payments);
+    }
+
+    private Loan createPendingLoan(User user, LoanProduct product) {
+        return loanRepository.save(loan(user, product, LoanStatus.PENDING));
+    }
+
+    private Loan loan(User user, LoanProduct product, LoanStatus status) {
+        return TestFixtures.loan(user, product, status)
+                .info(LoanInfo.builder()
+                        .financial(FinancialInfo.builder()
+                                .monthlyIncome(600.0)
+                                .farmingExperience(6)
+                                .farmType("INDIVIDUAL")
+                                .employmentStatus("SELF_EMPLOYED")
+                                .build())
+                        .build())
+                .build();
+    }
+
+    private LoanPayment payment(Loan loan, LocalDateTime due, PaymentStatus status, LocalDateTime paidDate) {
+        return TestFixtures.installment(loan, 110.0, due, status).paidDate(paidDate).build();
+    }
+
+    private User createUser() {
+        return userRepository.save(TestFixtures.user().build());
+    }
+
+    private LoanProduct createProduct() {
+        return loanProductRepository.save(TestFixtures.product().build());
+    }
+}
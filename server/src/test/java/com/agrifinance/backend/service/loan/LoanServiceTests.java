@@ -0,0 +1,227 @@
+package com.agrifinance.backend.service.loan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.dto.loan.LoanDTO;
+import com.agrifinance.backend.dto.loan.LoanProductDTO;
+import com.agrifinance.backend.dto.loan.LoanRequest;
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.LoanTermType;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanPayment;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.model.loan.LoanSummary;
+import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.LoanSummaryRepository;
+import com.agrifinance.backend.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanServiceTests {
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanProductRepository loanProductRepository;
+
+    @Autowired
+    private LoanPaymentRepository loanPaymentRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanSummaryRepository loanSummaryRepository;
+
+    @Autowired
+    private LoanSummaryService loanSummaryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void applyForLoanWritesScheduleInBatches() {
+        long shortTermStatements = countStatementsForApplication(12);
+        long longTermStatements = countStatementsForApplication(36);
+
+        assertThat(longTermStatements).isEqualTo(shortTermStatements);
+    }
+
+    @Test
+    void applyForLoanPersistsFullSchedule() {
+        LoanDTO loan = loanService.applyForLoan(createUser(), loanRequest(createProduct(36)));
+
+        assertThat(loanPaymentRepository.findByLoanId(UUID.fromString(loan.getId()))).hasSize(36);
+    }
+
+    @Test
+    void applyForLoanAmortizesYearTermsToTheCent() {
+        LoanProduct product = createProduct(3);
+        product.setTermType(LoanTermType.YEARS);
+        LoanDTO loan = loanService.applyForLoan(createUser(), loanRequest(loanProductRepository.save(product)));
+
+        List<LoanPayment> schedule = loanPaymentRepository.findByLoanId(UUID.fromString(loan.getId())).stream()
+                .sorted(Comparator.comparing(LoanPayment::getDueDate))
+                .toList();
+
+        assertThat(schedule).hasSize(36);
+        // 1200 at 18% over 36 months: level payment 43.38, first month's interest 18.00
+        assertThat(schedule.get(0).getAmount()).isEqualTo(43.38);
+        assertThat(schedule.get(0).getInterest()).isEqualTo(18.0);
+        assertThat(schedule.get(0).getPrincipal()).isEqualTo(25.38);
+        assertThat(schedule).allMatch(p -> Math.round(p.getAmount() * 100)
+                == Math.round(p.getPrincipal() * 100) + Math.round(p.getInterest() * 100));
+        assertThat(schedule.stream().mapToLong(p -> Math.round(p.getPrincipal() * 100)).sum()).isEqualTo(120_000);
+        assertThat(schedule.get(35).getInterest()).isLessThan(schedule.get(0).getInterest());
+    }
+
+    @Test
+    void currentLoanLookupDoesNotGrowWithLoanHistory() {
+        UUID userId = createUser();
+        LoanRequest request = loanRequest(createProduct(12));
+        loanService.applyForLoan(userId, request);
+        statistics.clear();
+        loanService.getCurrentLoan(userId);
+        long firstLoanStatements = statistics.getPrepareStatementCount();
+
+        LoanDTO latest = null;
+        for (int i = 0; i < 5; i++) {
+            latest = loanService.applyForLoan(userId, request);
+        }
+        statistics.clear();
+        LoanDTO current = loanService.getCurrentLoan(userId);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(firstLoanStatements);
+        assertThat(statistics.getEntityLoadCount()).isLessThanOrEqualTo(2 + 12 + 1);
+        assertThat(current.getId()).isEqualTo(latest.getId());
+        assertThat(current.getPayments()).hasSize(12);
+    }
+
+    @Test
+    void makePaymentPaysTheLatestLoanAndReturnsItsUpdatedState() {
+        UUID userId = createUser();
+        LoanRequest request = loanRequest(createProduct(12));
+        loanService.applyForLoan(userId, request);
+        LoanDTO latest = loanService.applyForLoan(userId, request);
+        Loan loan = loanRepository.findById(UUID.fromString(latest.getId())).orElseThrow();
+        loan.setStatus(LoanStatus.APPROVED);
+        loanRepository.save(loan);
+
+        LoanDTO paid = loanService.makePayment(userId, 50.0);
+
+        assertThat(paid.getId()).isEqualTo(latest.getId());
+        assertThat(paid.getPaidAmount()).isEqualTo(50.0);
+    }
+
+    @Test
+    void concurrentFirstApplicationsShareOneSummaryRow() throws Exception {
+        UUID userId = createUser();
+        LoanRequest request = loanRequest(createProduct(12));
+        int applications = 6;
+        ExecutorService executor = Executors.newFixedThreadPool(applications);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<LoanDTO>> results = new ArrayList<>();
+        for (int i = 0; i < applications; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return loanService.applyForLoan(userId, request);
+            }));
+        }
+        start.countDown();
+        for (Future<LoanDTO> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        LoanSummary incremental = loanSummaryRepository.findById(userId).orElseThrow();
+        assertThat(incremental.getTotalLoans()).isEqualTo(applications);
+        assertThat(incremental.getTotalBorrowed()).isEqualTo(applications * 1200.0);
+        assertThat(incremental.getTotalBorrowed()).isEqualTo(loanSummaryService.rebuild(userId).getTotalBorrowed());
+    }
+
+    @Test
+    void paymentsKeepTheSummaryInterestInStepWithTheSchedule() {
+        UUID userId = createUser();
+        LoanDTO applied = loanService.applyForLoan(userId, loanRequest(createProduct(12)));
+        Loan loan = loanRepository.findById(UUID.fromString(applied.getId())).orElseThrow();
+        loan.setStatus(LoanStatus.APPROVED);
+        loanRepository.save(loan);
+
+        // A partial installment, then the rest of it and most of the next
+        loanService.processPayment(loan.getId(), 10.0);
+        loanService.processPayment(loan.getId(), 150.0);
+
+        LoanSummary incremental = loanSummaryRepository.findById(userId).orElseThrow();
+        LoanSummary rebuilt = loanSummaryService.rebuild(userId);
+        assertThat(incremental.getInterestPaid()).isPositive()
+                .isCloseTo(rebuilt.getInterestPaid(), within(1e-9));
+        assertThat(incremental.getTotalRepaid()).isEqualTo(rebuilt.getTotalRepaid());
+    }
+
+    private long countStatementsForApplication(int term) {
+        UUID userId = createUser();
+        LoanRequest request = loanRequest(createProduct(term));
+        statistics.clear();
+        loanService.applyForLoan(userId, request);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private UUID createUser() {
+        return userRepository.save(TestFixtures.user().build()).getId();
+    }
+
+    private LoanProduct createProduct(int term) {
+        return loanProductRepository.save(TestFixtures.product().term(term).build());
+    }
+
+    private LoanRequest loanRequest(LoanProduct product) {
+        LoanProductDTO details = new LoanProductDTO();
+        details.setId(product.getId().toString());
+        details.setName(product.getName());
+        details.setAmount(product.getAmount());
+        details.setInterest(product.getInterest());
+        details.setTerm(product.getTerm());
+        details.setTermType(product.getTermType());
+
+        LoanRequest request = new LoanRequest();
+        request.setPurpose("Seeds");
+        request.setDetails(details);
+        return request;
+    }
+}
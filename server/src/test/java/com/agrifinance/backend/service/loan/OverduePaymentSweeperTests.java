@@ -0,0 +1,126 @@
+package com.agrifinance.backend.service.loan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.model.enums.LoanStatus;
+import com.agrifinance.backend.model.enums.PaymentStatus;
+import com.agrifinance.backend.model.loan.Loan;
+import com.agrifinance.backend.model.loan.LoanPayment;
+import com.agrifinance.backend.model.loan.LoanProduct;
+import com.agrifinance.backend.model.user.User;
+import com.agrifinance.backend.repository.LoanPaymentRepository;
+import com.agrifinance.backend.repository.LoanProductRepository;
+import com.agrifinance.backend.repository.LoanRepository;
+import com.agrifinance.backend.repository.UserRepository;
+import com.agrifinance.backend.service.scheduling.SchedulerLockService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OverduePaymentSweeperTests {
+
+    @Autowired
+    private OverduePaymentSweeper overduePaymentSweeper;
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanProductRepository loanProductRepository;
+
+    @Autowired
+    private LoanPaymentRepository loanPaymentRepository;
+
+    @Test
+    void marksOnlyPastDueInstallmentsOfApprovedLoans() {
+        LocalDateTime now = LocalDateTime.now();
+        Loan approved = createLoan(LoanStatus.APPROVED);
+        Loan rejected = createLoan(LoanStatus.REJECTED);
+        List<LoanPayment> approvedSchedule = createSchedule(approved, now.minusMonths(3).minusDays(1));
+        createSchedule(rejected, now.minusMonths(3).minusDays(1));
+        double markedBefore = meterRegistry.get("loan.payments.overdue.marked").counter().count();
+
+        int marked = overduePaymentSweeper.sweep();
+
+        // Installments 0-3 are past due, installment 0 was already paid
+        assertThat(marked).isGreaterThanOrEqualTo(3);
+        assertThat(statuses(approved)).containsExactly(
+                PaymentStatus.PAID, PaymentStatus.OVERDUE, PaymentStatus.OVERDUE, PaymentStatus.OVERDUE,
+                PaymentStatus.NOT_PAID, PaymentStatus.NOT_PAID);
+        assertThat(statuses(rejected)).doesNotContain(PaymentStatus.OVERDUE);
+        assertThat(meterRegistry.get("loan.payments.overdue.marked").counter().count() - markedBefore)
+                .isEqualTo(marked);
+        assertThat(loanPaymentRepository.findById(approvedSchedule.get(1).getId()).orElseThrow().getVersion())
+                .isEqualTo(approvedSchedule.get(1).getVersion() + 1);
+
+        // Overdue installments are settled first
+        loanService.processPayment(approved.getId(), 100.0);
+        assertThat(statuses(approved).get(1)).isEqualTo(PaymentStatus.PAID);
+    }
+
+    @Test
+    void schedulerLockIsHeldByOneCallerUntilReleased() {
+        String name = "test-lock-" + UUID.randomUUID();
+
+        assertThat(schedulerLockService.tryAcquire(name, Duration.ofMinutes(1))).isTrue();
+        assertThat(schedulerLockService.tryAcquire(name, Duration.ofMinutes(1))).isFalse();
+
+        schedulerLockService.release(name);
+        assertThat(schedulerLockService.tryAcquire(name, Duration.ofMinutes(1))).isTrue();
+    }
+
+    private List<PaymentStatus> statuses(Loan loan) {
+        return loanPaymentRepository.findByLoanId(loan.getId()).stream()
+                .sorted((a, b) -> a.getDueDate().compareTo(b.getDueDate()))
+                .map(LoanPayment::getStatus)
+                .toList();
+    }
+
+    private Loan createLoan(LoanStatus status) {
+        User user = userRepository.save(TestFixtures.user().build());
+        LoanProduct product = loanProductRepository.save(TestFixtures.product()
+                .amount(600.0)
+                .interest(0.0)
+                .term(6)
+                .build());
+        return loanRepository.save(TestFixtures.loan(user, product, status).build());
+    }
+
+    // Six monthly installments of 100 starting at firstDue; the first one is paid
+    private List<LoanPayment> createSchedule(Loan loan, LocalDateTime firstDue) {
+        List<LoanPayment> schedule = new ArrayList<>();
+        for (int month = 0; month < 6; month++) {
+            boolean paid = month == 0;
+            schedule.add(TestFixtures.installment(loan, 100.0, firstDue.plusMonths(month),
+                            paid ? PaymentStatus.PAID : PaymentStatus.NOT_PAID)
+                    .paidDate(paid ? firstDue : null)
+                    .build());
+        }
+        return loanPaymentRepository.saveAll(schedule);
+    }
+}
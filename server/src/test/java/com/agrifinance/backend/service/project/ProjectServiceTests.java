@@ -0,0 +1,131 @@
+package com.agrifinance.backend.service.project;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.agrifinance.backend.TestFixtures;
+import com.agrifinance.backend.dto.project.GoalDTO;
+import com.agrifinance.backend.dto.project.ProjectDTO;
+import com.agrifinance.backend.dto.project.TaskDTO;
+import com.agrifinance.backend.model.project.Goal;
+import com.agrifinance.backend.model.project.Project;
+import com.agrifinance.backend.model.project.Task;
+import com.agrifinance.backend.model.project.Worker;
+import com.agrifinance.backend.model.user.User;
+import com.agrifinance.backend.repository.GoalRepository;
+import com.agrifinance.backend.repository.ProjectRepository;
+import com.agrifinance.backend.repository.TaskRepository;
+import com.agrifinance.backend.repository.UserRepository;
+import com.agrifinance.backend.repository.WorkerRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProjectServiceTests {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private WorkerRepository workerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void projectTreeLoadsInConstantStatements() {
+        User small = createUser();
+        createProject(small, 1, 1);
+        User large = createUser();
+        for (int i = 0; i < 4; i++) {
+            createProject(large, 3, 5);
+        }
+
+        statistics.clear();
+        projectService.getProjects(small.getId());
+        long smallTreeStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<ProjectDTO> projects = projectService.getProjects(large.getId());
+
+        // Projects with owner and goals, the owner's workers, then every task with its worker
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(smallTreeStatements).isLessThanOrEqualTo(3);
+        assertThat(projects).hasSize(4);
+        assertThat(projects).allSatisfy(project -> {
+            assertThat(project.getGoals()).hasSize(3);
+            assertThat(project.getGoals()).flatExtracting(GoalDTO::getTasks).hasSize(15)
+                    .allSatisfy(task -> assertThat(task.getWorker().getNames()).isNotBlank());
+        });
+
+        statistics.clear();
+        ProjectDTO project = projectService.getProjectById(UUID.fromString(projects.get(0).getId()));
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        assertThat(project.getGoals()).flatExtracting(GoalDTO::getTasks).extracting(TaskDTO::getName)
+                .hasSize(15).doesNotHaveDuplicates();
+        assertThat(projectService.getProjectById(UUID.randomUUID())).isNull();
+    }
+
+    // Goals and tasks are linked after they are saved, as the service does, since saving resets their collections
+    private void createProject(User user, int goals, int tasksPerGoal) {
+        Project project = new Project();
+        project.setUser(user);
+        project.setName("Maize season");
+        project = projectRepository.save(project);
+        List<Goal> projectGoals = new ArrayList<>();
+        for (int g = 0; g < goals; g++) {
+            List<Task> tasks = new ArrayList<>();
+            for (int t = 0; t < tasksPerGoal; t++) {
+                tasks.add(Task.builder().name("Task " + g + "." + t).worker(createWorker()).build());
+            }
+            Goal goal = goalRepository.save(Goal.builder().name("Goal " + g).build());
+            goal.setTasks(new ArrayList<>(taskRepository.saveAll(tasks)));
+            projectGoals.add(goalRepository.save(goal));
+        }
+        project.setGoals(projectGoals);
+        projectRepository.save(project);
+    }
+
+    private Worker createWorker() {
+        Worker worker = new Worker();
+        worker.setNames("Field hand");
+        worker.setEmail(UUID.randomUUID() + "@agrifinance.test");
+        return workerRepository.save(worker);
+    }
+
+    private User createUser() {
+        return userRepository.save(TestFixtures.user().build());
+    }
+}